@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(
 		exclude = {
@@ -21,6 +22,7 @@ import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
 		basePackages = "com.gdbrdb.test.repository.neo4j",
 		transactionManagerRef = "neo4jTransactionManager"
 )
+@EnableScheduling
 public class TestApplication {
 
 	public static void main(String[] args) {
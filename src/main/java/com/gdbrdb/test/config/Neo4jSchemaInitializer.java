@@ -0,0 +1,58 @@
+package com.gdbrdb.test.config;
+
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Neo4j 스키마 부트스트랩.
+ * - nodeId 유니크 제약 (VersionNew, DagVersion) -> 뒤에 범위 인덱스가 자동으로 생김
+ *   제약이 없으면 MERGE (p {nodeId}) 가 매번 라벨 전체 스캔이라 적재가 O(n^2)
+ * - generation 인덱스 (도달성 가지치기 / 계층별 적재용)
+ * - IF NOT EXISTS 이므로 매 기동마다 실행해도 됨 (neo4j.schema.bootstrap=false 로 끌 수 있음)
+ */
+@Component
+@RequiredArgsConstructor
+public class Neo4jSchemaInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(Neo4jSchemaInitializer.class);
+
+    private static final List<String> SCHEMA = List.of(
+            "CREATE CONSTRAINT version_new_node_id IF NOT EXISTS FOR (v:VersionNew) REQUIRE v.nodeId IS UNIQUE",
+            "CREATE CONSTRAINT dag_version_node_id IF NOT EXISTS FOR (v:DagVersion) REQUIRE v.nodeId IS UNIQUE",
+            "CREATE INDEX version_new_generation IF NOT EXISTS FOR (v:VersionNew) ON (v.generation)",
+            "CREATE INDEX dag_version_generation IF NOT EXISTS FOR (v:DagVersion) ON (v.generation)"
+    );
+
+    private final Driver driver;
+
+    @Value("${neo4j.schema.bootstrap:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            ensureSchema();
+        }
+    }
+
+    public void ensureSchema() {
+        long start = System.currentTimeMillis();
+        try (Session session = driver.session()) {
+            for (String statement : SCHEMA) {
+                // 스키마 명령은 명시적 트랜잭션 안에서 다른 쓰기와 섞을 수 없으므로 auto-commit 으로 실행
+                session.run(statement).consume();
+            }
+            session.run("CALL db.awaitIndexes(300)").consume();
+        }
+        log.info("[Neo4j Schema] constraints/indexes ready, time={}ms", System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,18 @@
+package com.gdbrdb.test.entity.mysql;
+
+import com.gdbrdb.test.graph.DepthCursor;
+
+/**
+ * 클로저 테이블 페이지 조회용 프로젝션 (id, depth).
+ * - 네이티브 쿼리에서 컬럼 별칭을 id / depth 로 맞출 것
+ */
+public interface ClosureDepthRow {
+
+    Long getId();
+
+    Integer getDepth();
+
+    default DepthCursor toCursor() {
+        return new DepthCursor(getDepth(), getId());
+    }
+}
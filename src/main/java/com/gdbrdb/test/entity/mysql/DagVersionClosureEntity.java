@@ -0,0 +1,36 @@
+package com.gdbrdb.test.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 다중부모 DAG(dag_version)용 클로저 테이블.
+ * - (ancestor_id, descendant_id) 쌍은 경로 수와 무관하게 한 번만 저장
+ * - depth 는 두 노드 사이의 최단 거리(최소 depth)
+ */
+@Entity
+@Table(
+        name = "dag_version_closure",
+        indexes = {
+                @Index(name = "idx_dag_version_closure_desc", columnList = "descendant_id, depth"),
+                @Index(name = "idx_dag_version_closure_anc_depth", columnList = "ancestor_id, depth, descendant_id")
+        }
+)
+@IdClass(VersionClosureId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DagVersionClosureEntity {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(name = "depth", nullable = false)
+    private int depth;
+}
@@ -27,6 +27,9 @@ public class DagVersionEntity {
     private String author;
     private LocalDateTime createdTime;
 
+    /** generation number (루트=1, 그 외 max(부모)+1) */
+    private Integer generation;
+
     @ManyToMany
     @JoinTable(
             name = "dag_version_parents",
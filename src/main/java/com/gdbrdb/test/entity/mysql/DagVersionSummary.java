@@ -0,0 +1,22 @@
+package com.gdbrdb.test.entity.mysql;
+
+import java.time.LocalDateTime;
+
+/**
+ * dag_version 조회용 닫힌(closed) 프로젝션.
+ * - content 컬럼과 parents 컬렉션 없이 필요한 컬럼만 SELECT
+ * - 영속성 컨텍스트에 올라가지 않음 (더티 체킹 / 지연 로딩 프록시 없음)
+ * - 네이티브 쿼리에서는 컬럼 별칭이 getter 이름과 같아야 함 (created_time AS createdTime)
+ */
+public interface DagVersionSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    String getAuthor();
+
+    LocalDateTime getCreatedTime();
+
+    Integer getGeneration();
+}
@@ -0,0 +1,29 @@
+package com.gdbrdb.test.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 복제 체크포인트 (복제 대상마다 한 행).
+ * - lastOutboxId 까지는 대상 스토어에 반영이 끝났음을 뜻함
+ */
+@Entity
+@Table(name = "replication_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationCheckpointEntity {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "last_outbox_id", nullable = false)
+    private Long lastOutboxId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
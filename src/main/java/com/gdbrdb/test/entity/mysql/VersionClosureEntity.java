@@ -0,0 +1,40 @@
+package com.gdbrdb.test.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * versions 의 조상/자손 관계를 미리 펼쳐 둔 클로저 테이블.
+ * - (ancestor_id, descendant_id, depth) 한 행 = "ancestor 는 descendant 의 depth 단계 위 조상"
+ * - 자기 자신도 depth=0 으로 한 행을 가짐
+ * - 자손 조회는 PK (ancestor_id, ...) 범위 스캔,
+ *   조상 조회는 (descendant_id, depth) 인덱스 범위 스캔으로 끝남
+ * - (ancestor_id, depth, descendant_id) 인덱스 = 자손을 (depth, id) 순으로 키셋 페이지 조회
+ *   (조상 쪽은 (descendant_id, depth) 인덱스 뒤에 PK 의 ancestor_id 가 붙어 있어 그대로 씀)
+ */
+@Entity
+@Table(
+        name = "version_closure",
+        indexes = {
+                @Index(name = "idx_version_closure_desc", columnList = "descendant_id, depth"),
+                @Index(name = "idx_version_closure_anc_depth", columnList = "ancestor_id, depth, descendant_id")
+        }
+)
+@IdClass(VersionClosureId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionClosureEntity {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(name = "depth", nullable = false)
+    private int depth;
+}
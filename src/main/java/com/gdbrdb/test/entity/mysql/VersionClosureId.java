@@ -0,0 +1,19 @@
+package com.gdbrdb.test.entity.mysql;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 클로저 테이블 복합키 (ancestor_id, descendant_id)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class VersionClosureId implements Serializable {
+
+    private Long ancestorId;
+    private Long descendantId;
+}
@@ -23,6 +23,12 @@ public class VersionEntity {
 
     private String content;  // 버전 내용(혹은 스냅샷 정보)
 
+    /**
+     * git 방식 generation number (루트=1, 그 외 max(부모)+1).
+     * 부모 중 하나라도 generation 을 모르면 null (pruning 에 쓰지 않음)
+     */
+    private Integer generation;
+
     @ManyToMany
     @JoinTable(
             name = "version_parents",
@@ -0,0 +1,43 @@
+package com.gdbrdb.test.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * MySQL -> Neo4j 복제용 트랜잭셔널 아웃박스.
+ * - versions / dag_version 삽입과 같은 트랜잭션에서 한 행씩 기록
+ *   (커밋되면 둘 다, 롤백되면 둘 다 없음)
+ * - id 순서 = 반영 순서, OutboxReplicator 가 id 키셋으로 뒤따라가며 읽음
+ * - payload 는 Neo4jChunkedLoader 행 형식의 JSON (nodeId, parents, 나머지 속성)
+ */
+@Entity
+@Table(name = "version_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionOutboxEntity {
+
+    /** Neo4j 라벨 (Neo4jChunkedLoader.Label 이름과 같게) */
+    public static final String VERSION = "VERSION";
+    public static final String DAG = "DAG";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 16)
+    private String aggregateType;
+
+    @Column(name = "node_id", nullable = false)
+    private Long nodeId;
+
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
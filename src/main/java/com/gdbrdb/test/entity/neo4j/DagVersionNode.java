@@ -28,6 +28,9 @@ public class DagVersionNode {
     @Property("createdTime")
     private OffsetDateTime createdTime;
 
+    /** generation number (루트=1, 그 외 max(부모)+1) */
+    private Integer generation;
+
     @Relationship(type = "PARENT_OF", direction = Relationship.Direction.INCOMING)
     private List<DagVersionNode> parents = new ArrayList<>();
 
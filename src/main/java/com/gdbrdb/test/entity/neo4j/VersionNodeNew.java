@@ -29,6 +29,9 @@ public class VersionNodeNew {
 
     private String content;
 
+    /** generation number (루트=1, 그 외 max(부모)+1) */
+    private Integer generation;
+
     /**
      * "PARENT_OF" 관계가
      * parent (OUTGOING) -> child 이므로,
@@ -0,0 +1,38 @@
+package com.gdbrdb.test.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * 합성 히스토리의 모양(노드 id 의 부모를 정하는 규칙) SPI.
+ * - 반드시 id 보다 작은 ID 만 부모로 고를 것 (ID 순서 = 위상 순서)
+ * - 상태를 들고 있지 않아야 함: 같은 (seed, id) 면 언제 어느 스레드에서 불러도 같은 부모
+ *   (앞 노드의 결과가 필요하면 Context.firstParentOf 로 다시 계산)
+ * - 구현은 GraphShapes 참고
+ */
+public interface GraphShape {
+
+    /** 로그 / 설정용 이름 (GraphShapes.parse 로 되돌릴 수 있는 형태) */
+    String name();
+
+    /** 한 노드가 가질 수 있는 최대 부모 수 (out 배열 크기) */
+    int maxParents();
+
+    /**
+     * @param id  firstId 보다 큰 노드 ID (루트는 호출하지 않음)
+     * @param out 부모 ID 를 채울 배열 (길이 maxParents)
+     * @return 채운 부모 수 (1 이상)
+     */
+    int parents(long id, Context ctx, long[] out);
+
+    interface Context {
+
+        /** 루트 ID */
+        long firstId();
+
+        /** 이 노드 전용 난수 ((seed, id) 로 결정) */
+        SplittableRandom random();
+
+        /** 앞쪽 노드 u 의 첫 번째 부모 (루트면 -1). 필요할 때만 다시 계산하므로 비용이 듦 */
+        long firstParentOf(long u);
+    }
+}
@@ -0,0 +1,244 @@
+package com.gdbrdb.test.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 GraphShape 구현 모음.
+ *
+ * <pre>
+ * chain                      직선 히스토리
+ * kary:K                     완전 K진 트리 (BFS 번호)
+ * heap:K                     루트 아래 1 기반 힙 번호 K진 트리 (오프셋 o 의 부모 = o / K, 기존 이진 트리 구간)
+ * random-tree                랜덤 재귀 트리 (앞 노드 중 균등하게 부모 1개)
+ * uniform-dag:P              부모 1..P 개를 앞 노드 중 균등하게 (기존 DAG)
+ * fanout:W                   허브 체인 + 허브마다 자식 W 개 (릴리스 태그 / 넓은 형제)
+ * branches:B:M               장수 브랜치 B 개를 번갈아 커밋, main 은 M 커밋마다 다른 브랜치를 머지
+ * octopus:A:I:W              최근 W 개 중 부모 1개, I 번째마다 부모 A 개짜리 문어 머지
+ * preferential:P             선호적 연결 (확률 P 로 고른 노드의 부모로 redirect -> 멱법칙 자식 수)
+ * </pre>
+ */
+public final class GraphShapes {
+
+    private GraphShapes() {
+    }
+
+    /** "kary:3", "branches:8:50" 같은 문자열을 GraphShape 로 */
+    public static GraphShape parse(String spec) {
+        String[] p = spec.trim().split(":");
+        return switch (p[0]) {
+            case "chain" -> chain();
+            case "kary" -> karyTree(intArg(p, 1, 2));
+            case "heap" -> heapTree(intArg(p, 1, 2));
+            case "random-tree" -> randomTree();
+            case "uniform-dag" -> uniformDag(intArg(p, 1, 3));
+            case "fanout" -> fanOut(intArg(p, 1, 100));
+            case "branches" -> longLivedBranches(intArg(p, 1, 4), intArg(p, 2, 20));
+            case "octopus" -> octopus(intArg(p, 1, 8), intArg(p, 2, 100), intArg(p, 3, 50));
+            case "preferential" -> preferential(p.length > 1 ? Double.parseDouble(p[1]) : 0.5);
+            default -> throw new IllegalArgumentException("unknown graph shape: " + spec);
+        };
+    }
+
+    private static int intArg(String[] parts, int index, int defaultValue) {
+        return parts.length > index ? Integer.parseInt(parts[index]) : defaultValue;
+    }
+
+    public static GraphShape chain() {
+        return single("chain", (id, ctx) -> id - 1);
+    }
+
+    public static GraphShape karyTree(int k) {
+        requirePositive(k, "k");
+        return single("kary:" + k, (id, ctx) -> ctx.firstId() + (id - ctx.firstId() - 1) / k);
+    }
+
+    /**
+     * 오프셋 o(>= 1) 의 부모 = o / k. 오프셋 1 은 루트의 유일한 자식, 그 아래는 K진 힙 번호
+     * (versions 이진 트리 구간(BINARY_START + offset / 2)과 같은 구조)
+     */
+    public static GraphShape heapTree(int k) {
+        if (k < 2) throw new IllegalArgumentException("k must be >= 2: " + k);
+        return single("heap:" + k, (id, ctx) -> ctx.firstId() + (id - ctx.firstId()) / k);
+    }
+
+    public static GraphShape randomTree() {
+        return single("random-tree", (id, ctx) -> ctx.firstId() + ctx.random().nextLong(id - ctx.firstId()));
+    }
+
+    public static GraphShape uniformDag(int maxParents) {
+        requirePositive(maxParents, "maxParents");
+        return new GraphShape() {
+            @Override
+            public String name() {
+                return "uniform-dag:" + maxParents;
+            }
+
+            @Override
+            public int maxParents() {
+                return maxParents;
+            }
+
+            @Override
+            public int parents(long id, Context ctx, long[] out) {
+                SplittableRandom rnd = ctx.random();
+                int want = rnd.nextInt(maxParents) + 1;
+                int count = 0;
+                for (int c = 0; c < want; c++) {
+                    count = addDistinct(out, count, ctx.firstId() + rnd.nextLong(id - ctx.firstId()));
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * 오프셋 0, W+1, 2(W+1) ... 은 허브 (이전 허브의 자식), 나머지 W 개는 직전 허브의 자식
+     */
+    public static GraphShape fanOut(int width) {
+        requirePositive(width, "width");
+        long period = width + 1L;
+        return single("fanout:" + width, (id, ctx) -> {
+            long offset = id - ctx.firstId();
+            long hub = offset / period * period;
+            if (hub == offset) hub -= period;
+            return ctx.firstId() + hub;
+        });
+    }
+
+    /**
+     * 오프셋 o 는 브랜치 o % B 의 커밋 (브랜치 0 = main).
+     * - 부모 = 같은 브랜치의 직전 커밋 (없으면 루트)
+     * - main 의 mergeEvery 번째 커밋마다 다른 브랜치 하나의 최신 커밋을 두 번째 부모로
+     */
+    public static GraphShape longLivedBranches(int branches, int mergeEvery) {
+        requirePositive(branches, "branches");
+        requirePositive(mergeEvery, "mergeEvery");
+        return new GraphShape() {
+            @Override
+            public String name() {
+                return "branches:" + branches + ":" + mergeEvery;
+            }
+
+            @Override
+            public int maxParents() {
+                return 2;
+            }
+
+            @Override
+            public int parents(long id, Context ctx, long[] out) {
+                long first = ctx.firstId();
+                long offset = id - first;
+                long prev = offset - branches;
+                out[0] = prev > 0 ? first + prev : first;
+                int count = 1;
+
+                long branch = offset % branches;
+                long commitOnBranch = offset / branches;
+                if (branches > 1 && branch == 0 && commitOnBranch > 0 && commitOnBranch % mergeEvery == 0) {
+                    long other = 1 + ctx.random().nextInt(branches - 1);
+                    // offset 보다 작은 것 중 branch == other 인 가장 큰 오프셋
+                    long latest = offset - Math.floorMod(offset - other, branches);
+                    if (latest == offset) latest -= branches;
+                    if (latest > 0) {
+                        count = addDistinct(out, count, first + latest);
+                    }
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * 최근 window 개 노드 중 부모 1개, interval 번째 노드마다 부모 arity 개 (문어 머지)
+     */
+    public static GraphShape octopus(int arity, int interval, int window) {
+        requirePositive(arity, "arity");
+        requirePositive(interval, "interval");
+        requirePositive(window, "window");
+        return new GraphShape() {
+            @Override
+            public String name() {
+                return "octopus:" + arity + ":" + interval + ":" + window;
+            }
+
+            @Override
+            public int maxParents() {
+                return arity;
+            }
+
+            @Override
+            public int parents(long id, Context ctx, long[] out) {
+                long low = Math.max(ctx.firstId(), id - window);
+                long span = id - low;
+                SplittableRandom rnd = ctx.random();
+                int want = (id - ctx.firstId()) % interval == 0 ? arity : 1;
+                int count = 0;
+                // 후보가 want 보다 적으면 있는 만큼만
+                for (int tries = 0; count < Math.min(want, span) && tries < want * 4; tries++) {
+                    count = addDistinct(out, count, low + rnd.nextLong(span));
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Krapivsky-Redner 방식 선호적 연결 (redirection).
+     * 앞 노드 u 를 균등하게 고른 뒤, 확률 p 로 u 대신 u 의 부모를 부모로 삼음.
+     * 자식이 많은 노드일수록 redirect 로 다시 뽑힐 확률이 커져 자식 수가 멱법칙을 따름.
+     * 상태 없이 u 의 부모만 다시 계산하면 되므로 구간 병렬 생성과도 맞음.
+     */
+    public static GraphShape preferential(double redirectProbability) {
+        if (redirectProbability < 0 || redirectProbability >= 1) {
+            throw new IllegalArgumentException("redirectProbability must be in [0, 1): " + redirectProbability);
+        }
+        return single("preferential:" + redirectProbability, (id, ctx) -> {
+            SplittableRandom rnd = ctx.random();
+            long u = ctx.firstId() + rnd.nextLong(id - ctx.firstId());
+            if (u > ctx.firstId() && rnd.nextDouble() < redirectProbability) {
+                return ctx.firstParentOf(u);
+            }
+            return u;
+        });
+    }
+
+    /* ======================= */
+    /*         내부 유틸          */
+    /* ======================= */
+
+    private interface SingleParent {
+        long parent(long id, GraphShape.Context ctx);
+    }
+
+    private static GraphShape single(String name, SingleParent rule) {
+        return new GraphShape() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int maxParents() {
+                return 1;
+            }
+
+            @Override
+            public int parents(long id, Context ctx, long[] out) {
+                out[0] = rule.parent(id, ctx);
+                return 1;
+            }
+        };
+    }
+
+    private static int addDistinct(long[] values, int count, long value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return count;
+        }
+        values[count] = value;
+        return count + 1;
+    }
+
+    private static void requirePositive(int value, String name) {
+        if (value <= 0) throw new IllegalArgumentException(name + " must be > 0: " + value);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gdbrdb.test.generator;
+
+/**
+ * 합성 히스토리를 받아 적재하는 곳 (MySQL, Neo4j, neo4j-admin CSV ...).
+ * - 스트림 대신 생성기 자체를 넘김: 생성기는 순수 함수라 싱크가 원하는 만큼
+ *   다시 흘려보내거나 ID 구간을 나눠 병렬로 읽을 수 있음
+ * - 어떤 GraphShape 로 만든 생성기든 같은 싱크에 넣을 수 있음
+ */
+@FunctionalInterface
+public interface HistorySink {
+
+    /**
+     * @param generations generator.computeGenerations(toId) 결과 (싱크끼리 공유)
+     */
+    void accept(SyntheticHistoryGenerator generator, long fromId, long toId, int[] generations);
+}
@@ -0,0 +1,171 @@
+package com.gdbrdb.test.generator;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 시드 고정 합성 히스토리 생성기.
+ * - 노드 id 의 모든 속성(부모, title, author, createdTime)은 (seed, id) 만으로 결정
+ *   -> 그래프를 힙에 들고 있지 않아도 MySQL / Neo4j 에 똑같은 데이터를 몇 번이든 다시 흘려보낼 수 있음
+ *   -> ID 구간을 나눠 코어마다 따로 생성해도 순차 생성과 결과가 같음
+ * - 노드마다 SplittableRandom(mix(seed, id)) 하나만 사용 (호출마다 new Random() 하지 않음)
+ * - generation 은 부모 generation 이 필요하므로 computeGenerations() 로 int[] 를 먼저 만들어 넘김
+ *   (노드당 4 byte, 간선/문자열은 들고 있지 않음)
+ * - 그래프 모양은 GraphShape 로 교체 (GraphShapes 참고)
+ */
+public final class SyntheticHistoryGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** createdTime 범위: 2025-02-01 00:00 ~ 2025-03-31 23:59 (UTC) */
+    private static final long TIME_START = LocalDateTime.of(2025, 2, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long TIME_END = LocalDateTime.of(2025, 3, 31, 23, 59).toEpochSecond(ZoneOffset.UTC);
+
+    private final long seed;
+    private final long firstId;
+    private final GraphShape shape;
+
+    public SyntheticHistoryGenerator(long seed, long firstId, GraphShape shape) {
+        this.seed = seed;
+        this.firstId = firstId;
+        this.shape = shape;
+    }
+
+    public long firstId() {
+        return firstId;
+    }
+
+    public GraphShape shape() {
+        return shape;
+    }
+
+    /**
+     * 노드 하나 생성 (순수 함수)
+     *
+     * @param generations computeGenerations 결과, null 이면 generation = 0(모름)
+     */
+    public SyntheticNode node(long id, int[] generations) {
+        if (id < firstId) throw new IllegalArgumentException("id " + id + " < firstId " + firstId);
+        SplittableRandom rnd = random(id);
+        int titleIndex = rnd.nextInt(SyntheticNode.TITLES.size());
+        int authorIndex = rnd.nextInt(SyntheticNode.AUTHORS.size());
+        long createdEpochSecond = TIME_START + rnd.nextLong(TIME_END - TIME_START);
+
+        long[] parents;
+        if (id == firstId) {
+            parents = new long[0];
+        } else {
+            long[] buf = new long[shape.maxParents()];
+            parents = Arrays.copyOf(buf, shape.parents(id, new NodeContext(rnd), buf));
+        }
+
+        int generation = 0;
+        if (generations != null) {
+            int index = Math.toIntExact(id - firstId);
+            if (index < generations.length) generation = generations[index];
+        }
+        return new SyntheticNode(id, parents, titleIndex, authorIndex, createdEpochSecond, generation);
+    }
+
+    /**
+     * 노드 id 의 부모만 (node() 와 같은 값, 문자열 / 시각은 만들지 않음). 루트면 빈 배열
+     */
+    public long[] parents(long id) {
+        if (id < firstId) throw new IllegalArgumentException("id " + id + " < firstId " + firstId);
+        if (id == firstId) return new long[0];
+        long[] buf = new long[shape.maxParents()];
+        return Arrays.copyOf(buf, shape.parents(id, new NodeContext(parentRandom(id)), buf));
+    }
+
+    /** [fromId..toId] 를 ID 순서대로 (지연 생성) */
+    public Stream<SyntheticNode> stream(long fromId, long toId, int[] generations) {
+        return LongStream.rangeClosed(fromId, toId).mapToObj(id -> node(id, generations));
+    }
+
+    /**
+     * [firstId..toId] 전체의 generation (순차, 부모만 다시 뽑고 문자열은 만들지 않음)
+     */
+    public int[] computeGenerations(long toId) {
+        int[] generations = new int[Math.toIntExact(toId - firstId + 1)];
+        long[] buf = new long[shape.maxParents()];
+        for (long id = firstId; id <= toId; id++) {
+            int max = 0;
+            if (id > firstId) {
+                int count = shape.parents(id, new NodeContext(parentRandom(id)), buf);
+                for (int k = 0; k < count; k++) {
+                    max = Math.max(max, generations[(int) (buf[k] - firstId)]);
+                }
+            }
+            generations[(int) (id - firstId)] = max + 1;
+        }
+        return generations;
+    }
+
+    /** [fromId..toId] 를 거의 같은 크기의 구간 parts 개로 나눔 ({from, to} 배열 목록) */
+    public static List<long[]> partitions(long fromId, long toId, int parts) {
+        List<long[]> ranges = new ArrayList<>();
+        long total = toId - fromId + 1;
+        if (total <= 0) return ranges;
+        int n = (int) Math.max(1, Math.min(parts, total));
+        for (int i = 0; i < n; i++) {
+            long from = fromId + total * i / n;
+            long to = fromId + total * (i + 1) / n - 1;
+            ranges.add(new long[]{from, to});
+        }
+        return ranges;
+    }
+
+    private SplittableRandom random(long id) {
+        return new SplittableRandom(mix(seed + id * GOLDEN_GAMMA));
+    }
+
+    /** node() 와 같은 순서로 속성용 난수를 소비한 뒤의 난수 (부모만 필요할 때) */
+    private SplittableRandom parentRandom(long id) {
+        SplittableRandom rnd = random(id);
+        rnd.nextInt(SyntheticNode.TITLES.size());
+        rnd.nextInt(SyntheticNode.AUTHORS.size());
+        rnd.nextLong(TIME_END - TIME_START);
+        return rnd;
+    }
+
+    /** GraphShape 에 넘기는 노드별 컨텍스트 */
+    private final class NodeContext implements GraphShape.Context {
+
+        private final SplittableRandom rnd;
+
+        private NodeContext(SplittableRandom rnd) {
+            this.rnd = rnd;
+        }
+
+        @Override
+        public long firstId() {
+            return firstId;
+        }
+
+        @Override
+        public SplittableRandom random() {
+            return rnd;
+        }
+
+        @Override
+        public long firstParentOf(long u) {
+            if (u <= firstId) return -1;
+            long[] buf = new long[shape.maxParents()];
+            shape.parents(u, new NodeContext(parentRandom(u)), buf);
+            return buf[0];
+        }
+    }
+
+    /** SplitMix64 finalizer */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
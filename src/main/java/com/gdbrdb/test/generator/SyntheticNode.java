@@ -0,0 +1,33 @@
+package com.gdbrdb.test.generator;
+
+import java.util.List;
+
+/**
+ * 생성기가 내보내는 노드 한 건 (문자열 대신 인덱스/epoch 초만 들고 있음)
+ *
+ * @param generation 0 이면 모름
+ */
+public record SyntheticNode(long id, long[] parentIds, int titleIndex, int authorIndex,
+                            long createdEpochSecond, int generation) {
+
+    public static final List<String> TITLES = List.of(
+            "hwp 파일 수정", "pdf 파일 수정", "문서 작업", "기획서 수정", "ppt 슬라이드 변경"
+    );
+    public static final List<String> AUTHORS = List.of("kanguk", "youngjin", "chulsu", "younghee");
+
+    public String title() {
+        return TITLES.get(titleIndex);
+    }
+
+    public String author() {
+        return AUTHORS.get(authorIndex);
+    }
+
+    public String content() {
+        return "임의 내용.. nodeId=" + id;
+    }
+
+    public Integer generationOrNull() {
+        return generation == 0 ? null : generation;
+    }
+}
@@ -0,0 +1,124 @@
+package com.gdbrdb.test.graph;
+
+/**
+ * CSR(Compressed Sparse Row) 형태의 버전 그래프.
+ * - 부모 방향 / 자식 방향 각각 offsets[capacity+1] + ids[edgeCount] 의 int 배열 두 개
+ * - 1천만 간선 기준 약 (4 * 2 * 1천만) + offsets 정도의 메모리,
+ *   Map&lt;Long, List&lt;Long&gt;&gt; 처럼 노드/간선마다 객체가 생기지 않음
+ */
+public final class CsrGraph implements VersionGraph {
+
+    private final int[] parentOffsets;
+    private final int[] parentIds;
+    private final int[] childOffsets;
+    private final int[] childIds;
+
+    CsrGraph(int[] parentOffsets, int[] parentIds, int[] childOffsets, int[] childIds) {
+        this.parentOffsets = parentOffsets;
+        this.parentIds = parentIds;
+        this.childOffsets = childOffsets;
+        this.childIds = childIds;
+    }
+
+    /**
+     * (child, parent) 간선 목록으로부터 CSR 생성 (counting sort 2회, O(V + E))
+     */
+    public static CsrGraph fromEdges(int[] children, int[] parents, int edgeCount, int capacity) {
+        int[] parentOffsets = new int[capacity + 1];
+        int[] childOffsets = new int[capacity + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            parentOffsets[children[e] + 1]++;
+            childOffsets[parents[e] + 1]++;
+        }
+        for (int i = 0; i < capacity; i++) {
+            parentOffsets[i + 1] += parentOffsets[i];
+            childOffsets[i + 1] += childOffsets[i];
+        }
+
+        int[] parentIds = new int[edgeCount];
+        int[] childIds = new int[edgeCount];
+        int[] parentCursor = new int[capacity];
+        int[] childCursor = new int[capacity];
+        System.arraycopy(parentOffsets, 0, parentCursor, 0, capacity);
+        System.arraycopy(childOffsets, 0, childCursor, 0, capacity);
+        for (int e = 0; e < edgeCount; e++) {
+            parentIds[parentCursor[children[e]]++] = parents[e];
+            childIds[childCursor[parents[e]]++] = children[e];
+        }
+        return new CsrGraph(parentOffsets, parentIds, childOffsets, childIds);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public int capacity() {
+        return parentOffsets.length - 1;
+    }
+
+    @Override
+    public long edgeCount() {
+        return parentIds.length;
+    }
+
+    @Override
+    public int parentCount(int id) {
+        if (id < 0 || id >= capacity()) return 0;
+        return parentOffsets[id + 1] - parentOffsets[id];
+    }
+
+    @Override
+    public int parent(int id, int k) {
+        return parentIds[parentOffsets[id] + k];
+    }
+
+    @Override
+    public int childCount(int id) {
+        if (id < 0 || id >= capacity()) return 0;
+        return childOffsets[id + 1] - childOffsets[id];
+    }
+
+    @Override
+    public int child(int id, int k) {
+        return childIds[childOffsets[id] + k];
+    }
+
+    int[] parentOffsets() { return parentOffsets; }
+    int[] parentIds() { return parentIds; }
+    int[] childOffsets() { return childOffsets; }
+    int[] childIds() { return childIds; }
+
+    /** 사용 중인 배열 메모리(byte) */
+    public long memoryBytes() {
+        return 4L * (parentOffsets.length + parentIds.length + childOffsets.length + childIds.length);
+    }
+
+    /**
+     * 간선을 하나씩 받아 CSR 로 만드는 빌더 (JDBC 결과를 스트리밍으로 흘려 넣는 용도)
+     */
+    public static final class Builder {
+        private final IntList children = new IntList(1 << 16);
+        private final IntList parents = new IntList(1 << 16);
+        private int maxId = 0;
+
+        public Builder addEdge(long childId, long parentId) {
+            int c = Math.toIntExact(childId);
+            int p = Math.toIntExact(parentId);
+            children.add(c);
+            parents.add(p);
+            maxId = Math.max(maxId, Math.max(c, p));
+            return this;
+        }
+
+        /** 간선이 없는 노드(루트 등)도 capacity 에 포함되도록 */
+        public Builder addNode(long id) {
+            maxId = Math.max(maxId, Math.toIntExact(id));
+            return this;
+        }
+
+        public CsrGraph build() {
+            return fromEdges(children.toArray(), parents.toArray(), children.size(), maxId + 1);
+        }
+    }
+}
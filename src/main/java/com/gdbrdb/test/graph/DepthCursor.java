@@ -0,0 +1,33 @@
+package com.gdbrdb.test.graph;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 조상/자손 페이지 조회의 정렬 키 (depth, id).
+ * - depth = 시작 노드에서의 최단 거리 (클로저 테이블의 depth 와 같음)
+ * - 한 시작 노드 안에서 (depth, id) 는 유일 -> 마지막 키 다음부터 읽으면 페이지가 겹치거나 빠지지 않음
+ * - 페이지 토큰 = "depth:id" 의 URL-safe Base64 (클라이언트는 그대로 돌려주기만 하면 됨)
+ */
+public record DepthCursor(int depth, long id) {
+
+    /** 첫 페이지 (depth 0 = 시작 노드 자신이므로 그 다음부터) */
+    public static final DepthCursor FIRST = new DepthCursor(0, 0);
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((depth + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /** null / 빈 토큰 = 첫 페이지 */
+    public static DepthCursor decode(String token) {
+        if (token == null || token.isBlank()) return FIRST;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int sep = raw.indexOf(':');
+            return new DepthCursor(Integer.parseInt(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("invalid page token: " + token, e);
+        }
+    }
+}
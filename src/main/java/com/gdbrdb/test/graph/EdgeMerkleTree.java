@@ -0,0 +1,112 @@
+package com.gdbrdb.test.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * (child, parent) 간선 집합의 머클 트리.
+ * - child ID 공간 [firstId, firstId + leafCount * leafWidth) 를 leafWidth 폭의 잎으로 나눔
+ * - 잎 해시 = 잎에 속한 간선 해시의 합 (mod 2^64) + 간선 수
+ *   -> 순서와 무관한 멀티셋 해시라서 정렬 없이 스트리밍 / 병렬로 누적 가능
+ * - 내부 노드 = mix(왼쪽, 오른쪽) 이진 트리, 두 트리를 루트부터 비교해 다른 가지만 내려감
+ * - addEdge 는 잎 단위로 스레드를 나눠 쓸 것 (한 잎을 여러 스레드가 동시에 쓰면 안 됨)
+ */
+public final class EdgeMerkleTree {
+
+    private final long firstId;
+    private final int leafWidth;
+    private final int leafCount;
+    /** 완전 이진 트리 배열 (1 = 루트, 잎은 [size, size + leafCount)) */
+    private final int size;
+    private final long[] hash;
+    private final long[] count;
+
+    public EdgeMerkleTree(long firstId, long lastId, int leafWidth) {
+        if (leafWidth <= 0) throw new IllegalArgumentException("leafWidth must be > 0");
+        this.firstId = firstId;
+        this.leafWidth = leafWidth;
+        this.leafCount = Math.toIntExact(Math.max(1, (lastId - firstId) / leafWidth + 1));
+        this.size = Integer.highestOneBit(Math.max(1, leafCount - 1) * 2);
+        this.hash = new long[size * 2];
+        this.count = new long[size * 2];
+    }
+
+    public void addEdge(long child, long parent) {
+        int leaf = leafOf(child);
+        hash[size + leaf] += edgeHash(child, parent);
+        count[size + leaf]++;
+    }
+
+    /** 잎을 다 채운 뒤 한 번 호출 */
+    public EdgeMerkleTree seal() {
+        for (int i = size - 1; i >= 1; i--) {
+            hash[i] = combine(hash[2 * i], hash[2 * i + 1]);
+            count[i] = count[2 * i] + count[2 * i + 1];
+        }
+        return this;
+    }
+
+    /**
+     * 다른 트리와 내용이 다른 잎 번호 (오름차순).
+     * 같은 부분 트리는 루트에서 바로 건너뛰므로 비교 횟수 = O(다른 잎 수 * 높이)
+     */
+    public List<Integer> diffLeaves(EdgeMerkleTree other) {
+        if (other.firstId != firstId || other.leafWidth != leafWidth || other.leafCount != leafCount) {
+            throw new IllegalArgumentException("trees cover different ranges");
+        }
+        List<Integer> leaves = new ArrayList<>();
+        diff(other, 1, leaves);
+        return leaves;
+    }
+
+    private void diff(EdgeMerkleTree other, int node, List<Integer> out) {
+        if (hash[node] == other.hash[node] && count[node] == other.count[node]) return;
+        if (node >= size) {
+            out.add(node - size);
+            return;
+        }
+        diff(other, 2 * node, out);
+        diff(other, 2 * node + 1, out);
+    }
+
+    public int leafOf(long child) {
+        long leaf = (child - firstId) / leafWidth;
+        if (child < firstId || leaf >= leafCount) {
+            throw new IllegalArgumentException("child id out of range: " + child);
+        }
+        return (int) leaf;
+    }
+
+    /** 잎이 담당하는 child ID 구간 {from, to} (양 끝 포함) */
+    public long[] leafRange(int leaf) {
+        long from = firstId + (long) leaf * leafWidth;
+        return new long[]{from, from + leafWidth - 1};
+    }
+
+    public int leafCount() {
+        return leafCount;
+    }
+
+    public long edgeCount() {
+        return count[1];
+    }
+
+    public long rootHash() {
+        return hash[1];
+    }
+
+    static long edgeHash(long child, long parent) {
+        return mix(mix(child) ^ (parent * 0x9E3779B97F4A7C15L));
+    }
+
+    private static long combine(long left, long right) {
+        return mix(left * 31 + mix(right));
+    }
+
+    /** SplitMix64 finalizer */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,59 @@
+package com.gdbrdb.test.graph;
+
+import java.util.List;
+
+/**
+ * git 의 generation number 계산.
+ * - 루트 = 1, 그 외 = max(부모 generation) + 1
+ * - 부모가 자식보다 먼저 처리되도록 위상 정렬(Kahn) 순서로 계산
+ * - 노드가 없는(간선이 없는) 슬롯도 루트로 취급해 1
+ */
+public final class GenerationNumbers {
+
+    private GenerationNumbers() {
+    }
+
+    /**
+     * 새 노드 하나의 generation = max(부모 generation) + 1 (부모 없으면 1).
+     * 부모 중 하나라도 generation 을 모르면(null) null -> 가지치기에 쓰지 않음
+     */
+    public static Integer next(List<Integer> parentGenerations) {
+        int max = 0;
+        for (Integer g : parentGenerations) {
+            if (g == null) return null;
+            max = Math.max(max, g);
+        }
+        return max + 1;
+    }
+
+    public static int[] compute(VersionGraph graph) {
+        int capacity = graph.capacity();
+        int[] generation = new int[capacity];
+        int[] remainingParents = new int[capacity];
+        int[] queue = new int[capacity];
+        int head = 0;
+        int tail = 0;
+
+        for (int id = 0; id < capacity; id++) {
+            remainingParents[id] = graph.parentCount(id);
+            if (remainingParents[id] == 0) {
+                generation[id] = 1;
+                queue[tail++] = id;
+            }
+        }
+        while (head < tail) {
+            int cur = queue[head++];
+            for (int k = 0; k < graph.childCount(cur); k++) {
+                int child = graph.child(cur, k);
+                generation[child] = Math.max(generation[child], generation[cur] + 1);
+                if (--remainingParents[child] == 0) {
+                    queue[tail++] = child;
+                }
+            }
+        }
+        if (tail != capacity) {
+            throw new IllegalStateException("cycle detected: " + (capacity - tail) + " nodes not reachable in topological order");
+        }
+        return generation;
+    }
+}
@@ -0,0 +1,258 @@
+package com.gdbrdb.test.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 버전 그래프 바이너리 스냅샷 (little-endian).
+ *
+ * <pre>
+ * header (40 bytes)
+ *   int  magic          'VGS1'
+ *   int  formatVersion  1
+ *   int  capacity       최대 노드 ID + 1
+ *   int  reserved
+ *   long edgeCount
+ *   long highWaterId    이 ID 까지의 노드/간선이 스냅샷에 포함됨
+ *   long createdAtMillis
+ * body
+ *   int[capacity + 1] parentOffsets
+ *   int[edgeCount]    parentIds
+ *   int[capacity + 1] childOffsets
+ *   int[edgeCount]    childIds
+ *   int[capacity]     generations
+ * </pre>
+ *
+ * 섹션마다 따로 FileChannel.map 하므로 섹션 하나가 2GB(=int 5억 개) 이하이면 됨.
+ */
+public final class GraphSnapshot {
+
+    public static final int MAGIC = 0x56475331; // "VGS1"
+    public static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 40;
+
+    private GraphSnapshot() {
+    }
+
+    /**
+     * 스냅샷 쓰기. 임시 파일에 쓴 뒤 rename 하므로 읽는 쪽은 완성된 파일만 봄.
+     * - VersionGraph 인터페이스로 인접 목록을 순회하며 바로 씀 (매핑 스냅샷 + delta 도 힙 CSR 로 복사하지 않음)
+     *
+     * @param generation 노드별 generation
+     */
+    public static void write(VersionGraph graph, IntUnaryOperator generation, long highWaterId, Path path) throws IOException {
+        int capacity = graph.capacity();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt(capacity)
+                    .putInt(0)
+                    .putLong(graph.edgeCount())
+                    .putLong(highWaterId)
+                    .putLong(System.currentTimeMillis())
+                    .flip();
+            writeFully(ch, header);
+
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            writeOffsets(ch, buf, capacity, graph::parentCount);
+            writeAdjacency(ch, buf, capacity, graph::parentCount, graph::parent);
+            writeOffsets(ch, buf, capacity, graph::childCount);
+            writeAdjacency(ch, buf, capacity, graph::childCount, graph::child);
+            for (int id = 0; id < capacity; id++) {
+                putInt(ch, buf, generation.applyAsInt(id));
+            }
+            flush(ch, buf);
+            ch.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** offsets[capacity + 1] = 누적 개수 */
+    private static void writeOffsets(FileChannel ch, ByteBuffer buf, int capacity, IntUnaryOperator count) throws IOException {
+        int offset = 0;
+        putInt(ch, buf, 0);
+        for (int id = 0; id < capacity; id++) {
+            offset += count.applyAsInt(id);
+            putInt(ch, buf, offset);
+        }
+    }
+
+    private static void writeAdjacency(FileChannel ch, ByteBuffer buf, int capacity,
+                                       IntUnaryOperator count, IntBinaryOperator at) throws IOException {
+        for (int id = 0; id < capacity; id++) {
+            int n = count.applyAsInt(id);
+            for (int k = 0; k < n; k++) {
+                putInt(ch, buf, at.applyAsInt(id, k));
+            }
+        }
+    }
+
+    /**
+     * 스냅샷을 메모리 매핑으로 열기 (힙으로 복사하지 않음)
+     */
+    public static MappedGraph open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && ch.read(header) >= 0) {
+                // fill
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("not a version graph snapshot: " + path);
+            }
+            int formatVersion = header.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("unsupported snapshot format version " + formatVersion + ": " + path);
+            }
+            int capacity = header.getInt();
+            header.getInt();
+            long edgeCount = header.getLong();
+            long highWaterId = header.getLong();
+            long createdAt = header.getLong();
+
+            long pos = HEADER_BYTES;
+            IntBuffer parentOffsets = map(ch, pos, capacity + 1L);
+            pos += 4L * (capacity + 1L);
+            IntBuffer parentIds = map(ch, pos, edgeCount);
+            pos += 4L * edgeCount;
+            IntBuffer childOffsets = map(ch, pos, capacity + 1L);
+            pos += 4L * (capacity + 1L);
+            IntBuffer childIds = map(ch, pos, edgeCount);
+            pos += 4L * edgeCount;
+            IntBuffer generations = map(ch, pos, capacity);
+
+            // 매핑은 채널을 닫아도 유지됨
+            return new MappedGraph(capacity, edgeCount, highWaterId, createdAt,
+                    parentOffsets, parentIds, childOffsets, childIds, generations);
+        }
+    }
+
+    static IntBuffer map(FileChannel ch, long position, long intCount) throws IOException {
+        if (intCount > Integer.MAX_VALUE / 4) {
+            throw new IOException("snapshot section too large: " + intCount + " ints");
+        }
+        MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, position, intCount * 4);
+        return mapped.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    static void writeInts(FileChannel ch, ByteBuffer buf, int[] values) throws IOException {
+        for (int v : values) {
+            putInt(ch, buf, v);
+        }
+        flush(ch, buf);
+    }
+
+    /** 버퍼가 차면 비우고 int 하나 추가 */
+    static void putInt(FileChannel ch, ByteBuffer buf, int v) throws IOException {
+        if (buf.remaining() < 4) {
+            flush(ch, buf);
+        }
+        buf.putInt(v);
+    }
+
+    static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        writeFully(ch, buf);
+        buf.clear();
+    }
+
+    static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+    }
+
+    /**
+     * 매핑된 스냅샷 위에서 바로 동작하는 VersionGraph
+     */
+    public static final class MappedGraph implements VersionGraph {
+
+        private final int capacity;
+        private final long edgeCount;
+        private final long highWaterId;
+        private final long createdAtMillis;
+        private final IntBuffer parentOffsets;
+        private final IntBuffer parentIds;
+        private final IntBuffer childOffsets;
+        private final IntBuffer childIds;
+        private final IntBuffer generations;
+
+        MappedGraph(int capacity, long edgeCount, long highWaterId, long createdAtMillis,
+                    IntBuffer parentOffsets, IntBuffer parentIds,
+                    IntBuffer childOffsets, IntBuffer childIds, IntBuffer generations) {
+            this.capacity = capacity;
+            this.edgeCount = edgeCount;
+            this.highWaterId = highWaterId;
+            this.createdAtMillis = createdAtMillis;
+            this.parentOffsets = parentOffsets;
+            this.parentIds = parentIds;
+            this.childOffsets = childOffsets;
+            this.childIds = childIds;
+            this.generations = generations;
+        }
+
+        @Override
+        public int capacity() {
+            return capacity;
+        }
+
+        @Override
+        public long edgeCount() {
+            return edgeCount;
+        }
+
+        @Override
+        public int parentCount(int id) {
+            if (id < 0 || id >= capacity) return 0;
+            return parentOffsets.get(id + 1) - parentOffsets.get(id);
+        }
+
+        @Override
+        public int parent(int id, int k) {
+            return parentIds.get(parentOffsets.get(id) + k);
+        }
+
+        @Override
+        public int childCount(int id) {
+            if (id < 0 || id >= capacity) return 0;
+            return childOffsets.get(id + 1) - childOffsets.get(id);
+        }
+
+        @Override
+        public int child(int id, int k) {
+            return childIds.get(childOffsets.get(id) + k);
+        }
+
+        /** 스냅샷 시점의 generation (범위 밖이면 0) */
+        public int generation(int id) {
+            if (id < 0 || id >= capacity) return 0;
+            return generations.get(id);
+        }
+
+        public long highWaterId() {
+            return highWaterId;
+        }
+
+        public long createdAtMillis() {
+            return createdAtMillis;
+        }
+    }
+}
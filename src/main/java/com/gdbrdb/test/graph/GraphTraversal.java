@@ -0,0 +1,108 @@
+package com.gdbrdb.test.graph;
+
+import java.util.BitSet;
+
+/**
+ * VersionGraph 위에서 동작하는 탐색 알고리즘 모음.
+ * - 모든 탐색은 BitSet visited 로 노드당 한 번만 방문 (경로 수와 무관)
+ * - 결과는 시작 노드를 제외한 노드 ID 배열 (BFS 순서 = 가까운 순)
+ */
+public final class GraphTraversal {
+
+    public enum Direction { PARENTS, CHILDREN }
+
+    private GraphTraversal() {
+    }
+
+    /** 모든 조상 */
+    public static int[] ancestors(VersionGraph graph, int id) {
+        return kHop(graph, id, Integer.MAX_VALUE, Direction.PARENTS);
+    }
+
+    /** 모든 자손 */
+    public static int[] descendants(VersionGraph graph, int id) {
+        return kHop(graph, id, Integer.MAX_VALUE, Direction.CHILDREN);
+    }
+
+    /**
+     * id 로부터 direction 방향으로 maxHops 단계 이내의 노드들
+     */
+    public static int[] kHop(VersionGraph graph, int id, int maxHops, Direction direction) {
+        if (id < 0 || id >= graph.capacity() || maxHops <= 0) return new int[0];
+
+        BitSet visited = new BitSet(graph.capacity());
+        IntList order = new IntList();
+        visited.set(id);
+        order.add(id);
+
+        int levelStart = 0;
+        for (int hop = 0; hop < maxHops && levelStart < order.size(); hop++) {
+            int levelEnd = order.size();
+            for (int q = levelStart; q < levelEnd; q++) {
+                int cur = order.get(q);
+                int degree = direction == Direction.PARENTS ? graph.parentCount(cur) : graph.childCount(cur);
+                for (int k = 0; k < degree; k++) {
+                    int next = direction == Direction.PARENTS ? graph.parent(cur, k) : graph.child(cur, k);
+                    if (!visited.get(next)) {
+                        visited.set(next);
+                        order.add(next);
+                    }
+                }
+            }
+            levelStart = levelEnd;
+        }
+
+        int[] all = order.toArray();
+        int[] result = new int[all.length - 1];
+        System.arraycopy(all, 1, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * 최하단 공통 조상 (자기 자신 포함).
+     * - A 의 조상 집합을 BitSet 으로 표시한 뒤, B 에서 위로 레벨 단위 BFS
+     * - B 에서 가장 가까운 레벨에서 처음 만나는 공통 조상들 중 ID 가 가장 큰 노드
+     *   (트리에서는 정확히 LCA, DAG 에서는 B 기준 최근접 merge-base)
+     * @return 노드 ID, 공통 조상이 없으면 -1
+     */
+    public static int lca(VersionGraph graph, int a, int b) {
+        int capacity = graph.capacity();
+        if (a < 0 || b < 0 || a >= capacity || b >= capacity) return -1;
+        if (a == b) return a;
+
+        BitSet ancestorsOfA = new BitSet(capacity);
+        ancestorsOfA.set(a);
+        for (int x : ancestors(graph, a)) {
+            ancestorsOfA.set(x);
+        }
+
+        BitSet visited = new BitSet(capacity);
+        IntList frontier = new IntList();
+        frontier.add(b);
+        visited.set(b);
+        while (!frontier.isEmpty()) {
+            int best = -1;
+            for (int i = 0; i < frontier.size(); i++) {
+                int x = frontier.get(i);
+                if (ancestorsOfA.get(x) && x > best) {
+                    best = x;
+                }
+            }
+            if (best >= 0) return best;
+
+            IntList next = new IntList();
+            for (int i = 0; i < frontier.size(); i++) {
+                int x = frontier.get(i);
+                for (int k = 0; k < graph.parentCount(x); k++) {
+                    int p = graph.parent(x, k);
+                    if (!visited.get(p)) {
+                        visited.set(p);
+                        next.add(p);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,399 @@
+package com.gdbrdb.test.graph;
+
+import java.util.Arrays;
+
+/**
+ * 0 이상 int ID 집합용 압축 비트맵 (Roaring 방식).
+ * - 상위 16비트로 컨테이너를 나누고, 컨테이너마다
+ *   원소 4096 개 이하면 정렬된 char[] (array), 넘으면 long[1024] (bitmap)
+ * - 조상 집합처럼 연속 구간이 많으면 bitmap 컨테이너, 드문드문하면 array 컨테이너로 작게 유지
+ */
+public final class IntBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size = 0;
+
+    public IntBitmap() {
+    }
+
+    public static IntBitmap of(int... values) {
+        IntBitmap bitmap = new IntBitmap();
+        for (int v : values) {
+            bitmap.add(v);
+        }
+        return bitmap;
+    }
+
+    public void add(int x) {
+        checkNonNegative(x);
+        char high = (char) (x >>> 16);
+        int i = indexOf(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, high, new ArrayContainer());
+        }
+        containers[i] = containers[i].add((char) x);
+    }
+
+    public boolean contains(int x) {
+        if (x < 0) return false;
+        int i = indexOf((char) (x >>> 16));
+        return i >= 0 && containers[i].contains((char) x);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** this |= other */
+    public void orInPlace(IntBitmap other) {
+        for (int j = 0; j < other.size; j++) {
+            char high = other.keys[j];
+            int i = indexOf(high);
+            if (i < 0) {
+                insertContainer(-i - 1, high, other.containers[j].copy());
+            } else {
+                containers[i] = containers[i].or(other.containers[j]);
+            }
+        }
+    }
+
+    /** this & other (새 비트맵) */
+    public IntBitmap and(IntBitmap other) {
+        IntBitmap result = new IntBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container c = containers[i].and(other.containers[j]);
+                if (c.cardinality() > 0) {
+                    result.insertContainer(result.size, keys[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public IntBitmap copy() {
+        IntBitmap copy = new IntBitmap();
+        copy.keys = Arrays.copyOf(keys, size);
+        copy.containers = new Container[size];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /** 오름차순 int 배열 */
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int pos = 0;
+        for (int i = 0; i < size; i++) {
+            pos = containers[i].fill(out, pos, keys[i] << 16);
+        }
+        return out;
+    }
+
+    /** 대략적인 힙 사용량(byte) */
+    public long memoryBytes() {
+        long total = 16L + 2L * keys.length + 8L * containers.length;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].memoryBytes();
+        }
+        return total;
+    }
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertContainer(int i, char high, Container c) {
+        if (size == keys.length) {
+            int newLength = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, newLength);
+            containers = Arrays.copyOf(containers, newLength);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = high;
+        containers[i] = c;
+        size++;
+    }
+
+    private static void checkNonNegative(int x) {
+        if (x < 0) throw new IllegalArgumentException("negative id: " + x);
+    }
+
+    /* ======================= */
+    /*        컨테이너           */
+    /* ======================= */
+
+    private abstract static class Container {
+        abstract Container add(char low);
+
+        abstract boolean contains(char low);
+
+        abstract int cardinality();
+
+        abstract Container or(Container other);
+
+        abstract Container and(Container other);
+
+        abstract Container copy();
+
+        abstract int fill(int[] out, int pos, int base);
+
+        abstract long memoryBytes();
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] values;
+        int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) return this;
+            if (cardinality >= ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, values.length * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                // other 는 다른 비트맵 소유이므로 복사본에 합침
+                return bitmap.copy().or(this);
+            }
+            ArrayContainer o = (ArrayContainer) other;
+            char[] merged = new char[cardinality + o.cardinality];
+            int i = 0, j = 0, k = 0;
+            while (i < cardinality && j < o.cardinality) {
+                char a = values[i];
+                char b = o.values[j];
+                if (a < b) {
+                    merged[k++] = a;
+                    i++;
+                } else if (a > b) {
+                    merged[k++] = b;
+                    j++;
+                } else {
+                    merged[k++] = a;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < cardinality) merged[k++] = values[i++];
+            while (j < o.cardinality) merged[k++] = o.values[j++];
+            ArrayContainer result = new ArrayContainer(merged, k);
+            return k > ARRAY_MAX ? result.toBitmap() : result;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] out = new char[cardinality];
+            int k = 0;
+            if (other instanceof BitmapContainer bitmap) {
+                for (int i = 0; i < cardinality; i++) {
+                    if (bitmap.contains(values[i])) out[k++] = values[i];
+                }
+            } else {
+                ArrayContainer o = (ArrayContainer) other;
+                int i = 0, j = 0;
+                while (i < cardinality && j < o.cardinality) {
+                    if (values[i] < o.values[j]) {
+                        i++;
+                    } else if (values[i] > o.values[j]) {
+                        j++;
+                    } else {
+                        out[k++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            }
+            return new ArrayContainer(out, k);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        int fill(int[] out, int pos, int base) {
+            for (int i = 0; i < cardinality; i++) {
+                out[pos++] = base | values[i];
+            }
+            return pos;
+        }
+
+        @Override
+        long memoryBytes() {
+            return 24L + 2L * values.length;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.set(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words;
+        int cardinality;
+
+        BitmapContainer() {
+            this(new long[1024], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        void set(char low) {
+            long before = words[low >>> 6];
+            long after = before | (1L << low);
+            if (before != after) {
+                words[low >>> 6] = after;
+                cardinality++;
+            }
+        }
+
+        @Override
+        Container add(char low) {
+            set(low);
+            return this;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer o) {
+                int card = 0;
+                for (int w = 0; w < 1024; w++) {
+                    words[w] |= o.words[w];
+                    card += Long.bitCount(words[w]);
+                }
+                cardinality = card;
+            } else {
+                ArrayContainer o = (ArrayContainer) other;
+                for (int i = 0; i < o.cardinality; i++) {
+                    set(o.values[i]);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer array) {
+                return array.and(this);
+            }
+            BitmapContainer o = (BitmapContainer) other;
+            long[] out = new long[1024];
+            int card = 0;
+            for (int w = 0; w < 1024; w++) {
+                out[w] = words[w] & o.words[w];
+                card += Long.bitCount(out[w]);
+            }
+            BitmapContainer result = new BitmapContainer(out, card);
+            return card <= ARRAY_MAX ? result.toArray() : result;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        int fill(int[] out, int pos, int base) {
+            for (int w = 0; w < 1024; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    out[pos++] = base | (w << 6) | bit;
+                    word &= word - 1;
+                }
+            }
+            return pos;
+        }
+
+        @Override
+        long memoryBytes() {
+            return 24L + 8L * 1024;
+        }
+
+        ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int k = 0;
+            for (int w = 0; w < 1024; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    values[k++] = (char) ((w << 6) | bit);
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, k);
+        }
+    }
+}
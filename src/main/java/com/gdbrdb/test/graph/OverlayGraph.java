@@ -0,0 +1,112 @@
+package com.gdbrdb.test.graph;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 스냅샷(base) 위에 스냅샷 이후 추가된 간선(delta)을 얹은 그래프.
+ * - base 는 수정하지 않고, 인접 목록은 base 뒤에 delta 를 이어 붙인 것처럼 보임
+ * - delta 노드(ID >= base.capacity())의 generation 은 생성 시 base generation 에 이어서 계산해 둠
+ *   -> 스냅샷으로 다시 쓸 때 전체 그래프의 generation 을 처음부터 계산하지 않아도 됨
+ */
+public final class OverlayGraph implements VersionGraph {
+
+    private final VersionGraph base;
+    private final VersionGraph delta;
+    private final IntUnaryOperator baseGeneration;
+    private final int firstDeltaId;
+    private final int[] deltaGenerations;
+
+    /**
+     * @param baseGeneration base 노드의 generation (스냅샷이면 MappedGraph::generation)
+     */
+    public OverlayGraph(VersionGraph base, IntUnaryOperator baseGeneration, VersionGraph delta) {
+        this.base = base;
+        this.delta = delta;
+        this.baseGeneration = baseGeneration;
+        this.firstDeltaId = base.capacity();
+        this.deltaGenerations = computeDeltaGenerations();
+    }
+
+    @Override
+    public int capacity() {
+        return Math.max(base.capacity(), delta.capacity());
+    }
+
+    @Override
+    public long edgeCount() {
+        return base.edgeCount() + delta.edgeCount();
+    }
+
+    @Override
+    public int parentCount(int id) {
+        return base.parentCount(id) + delta.parentCount(id);
+    }
+
+    @Override
+    public int parent(int id, int k) {
+        int fromBase = base.parentCount(id);
+        return k < fromBase ? base.parent(id, k) : delta.parent(id, k - fromBase);
+    }
+
+    @Override
+    public int childCount(int id) {
+        return base.childCount(id) + delta.childCount(id);
+    }
+
+    @Override
+    public int child(int id, int k) {
+        int fromBase = base.childCount(id);
+        return k < fromBase ? base.child(id, k) : delta.child(id, k - fromBase);
+    }
+
+    /** base 노드는 base 의 generation, delta 노드는 계산해 둔 값 (범위 밖이면 0) */
+    public int generation(int id) {
+        if (id < 0 || id >= capacity()) return 0;
+        return id < firstDeltaId ? baseGeneration.applyAsInt(id) : deltaGenerations[id - firstDeltaId];
+    }
+
+    /**
+     * delta 노드만 위상 정렬(Kahn) 순서로 generation 계산 (GenerationNumbers 와 같은 규칙)
+     * - base 쪽 부모는 이미 generation 을 알고 있으므로 대기 카운트에 넣지 않음
+     */
+    private int[] computeDeltaGenerations() {
+        int n = Math.max(0, capacity() - firstDeltaId);
+        int[] generation = new int[n];
+        int[] remainingParents = new int[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        for (int i = 0; i < n; i++) {
+            int id = firstDeltaId + i;
+            generation[i] = 1;
+            for (int k = 0; k < parentCount(id); k++) {
+                int p = parent(id, k);
+                if (p >= firstDeltaId) {
+                    remainingParents[i]++;
+                } else {
+                    generation[i] = Math.max(generation[i], baseGeneration.applyAsInt(p) + 1);
+                }
+            }
+            if (remainingParents[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int cur = queue[head++];
+            int id = firstDeltaId + cur;
+            for (int k = 0; k < childCount(id); k++) {
+                int c = child(id, k) - firstDeltaId;
+                if (c < 0) continue;
+                generation[c] = Math.max(generation[c], generation[cur] + 1);
+                if (--remainingParents[c] == 0) {
+                    queue[tail++] = c;
+                }
+            }
+        }
+        if (tail != n) {
+            throw new IllegalStateException("cycle detected: " + (n - tail) + " delta nodes not reachable in topological order");
+        }
+        return generation;
+    }
+}
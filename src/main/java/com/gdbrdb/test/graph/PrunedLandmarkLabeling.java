@@ -0,0 +1,343 @@
+package com.gdbrdb.test.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 2-hop (pruned landmark) 라벨링 도달성 인덱스.
+ * - 노드마다 Lin(v) = v 에 도달하는 랜드마크, Lout(v) = v 에서 도달하는 랜드마크 (랭크로 저장)
+ * - reach(u, v) = Lout(u) ∩ Lin(v) 가 비어있지 않음 (정렬된 두 배열 병합)
+ * - 차수가 큰 노드부터 랜드마크로 삼고, 이미 앞 랜드마크로 답이 나오는 노드에서 BFS 를 가지치기
+ *
+ * 병렬 구성: 랜드마크를 배치로 묶어 배치 안에서는 병렬로 BFS 하고,
+ * 가지치기는 이전 배치까지 확정된 라벨로만 함 (라벨이 약간 커질 뿐 정답은 동일).
+ * 배치 크기는 1 부터 두 배씩 키움 (앞쪽 랜드마크가 가지치기를 가장 많이 하므로).
+ * 구성 중 라벨도 노드별 객체 없이 CSR 형태의 int[] 하나에 (LabelBuilder), 끝나면 빈 칸 없이 압축.
+ *
+ * <pre>
+ * 파일 (little-endian)
+ *   int  magic 'PLL1', int formatVersion, int capacity, int reserved
+ *   long inLabelCount, long outLabelCount, long createdAtMillis
+ *   int[capacity + 1] inOffsets,  int[inLabelCount]  inLabels
+ *   int[capacity + 1] outOffsets, int[outLabelCount] outLabels
+ * </pre>
+ */
+public final class PrunedLandmarkLabeling {
+
+    public static final int MAGIC = 0x504C4C31; // "PLL1"
+    public static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+
+    private final int[] inOffsets;
+    private final int[] inLabels;
+    private final int[] outOffsets;
+    private final int[] outLabels;
+
+    private PrunedLandmarkLabeling(int[] inOffsets, int[] inLabels, int[] outOffsets, int[] outLabels) {
+        this.inOffsets = inOffsets;
+        this.inLabels = inLabels;
+        this.outOffsets = outOffsets;
+        this.outLabels = outLabels;
+    }
+
+    /* ======================= */
+    /*         구성             */
+    /* ======================= */
+
+    public static PrunedLandmarkLabeling build(VersionGraph graph, int parallelism) {
+        int n = graph.capacity();
+        int[] order = orderByDegree(graph);
+
+        LabelBuilder in = new LabelBuilder(n);
+        LabelBuilder out = new LabelBuilder(n);
+
+        int maxBatch = Math.max(1, parallelism) * 8;
+        ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(() -> new Workspace(n));
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            int batchSize = 1;
+            for (int start = 0; start < n; start += batchSize, batchSize = Math.min(batchSize * 2, maxBatch)) {
+                int from = start;
+                int to = Math.min(n, start + batchSize);
+                int[][] inAdds = new int[to - from][];
+                int[][] outAdds = new int[to - from][];
+
+                // 배치 안에서는 라벨을 읽기만 함 -> 동기화 불필요
+                pool.submit(() -> IntStream.range(from, to).parallel().forEach(rank -> {
+                    Workspace ws = workspaces.get();
+                    int landmark = order[rank];
+                    inAdds[rank - from] = ws.bfs(graph, landmark, true, out, in);
+                    outAdds[rank - from] = ws.bfs(graph, landmark, false, out, in);
+                })).join();
+
+                // 랭크 순서대로 붙이므로 각 라벨 목록은 항상 오름차순
+                for (int rank = from; rank < to; rank++) {
+                    for (int w : inAdds[rank - from]) in.add(w, rank);
+                    for (int w : outAdds[rank - from]) out.add(w, rank);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        int[] inOffsets = new int[n + 1];
+        int[] outOffsets = new int[n + 1];
+        int[] inLabels = in.compact(inOffsets);
+        int[] outLabels = out.compact(outOffsets);
+        return new PrunedLandmarkLabeling(inOffsets, inLabels, outOffsets, outLabels);
+    }
+
+    /** (부모 수 + 자식 수) 내림차순, 동률이면 ID 오름차순 */
+    private static int[] orderByDegree(VersionGraph graph) {
+        int n = graph.capacity();
+        long[] keys = new long[n];
+        for (int id = 0; id < n; id++) {
+            long degree = (long) graph.parentCount(id) + graph.childCount(id);
+            keys[id] = ((Integer.MAX_VALUE - degree) << 32) | id;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * 구성 중 라벨 저장소: 노드 id 의 라벨 = hubs[start[id] .. start[id] + size[id]) (랭크 오름차순)
+     * - 구간이 차면 hubs 끝에 두 배 크기로 옮김 (옛 자리는 버림) -> 노드마다 객체를 만들지 않음
+     * - 추가는 배치 사이 한 스레드에서만, 배치 안에서는 읽기만
+     */
+    private static final class LabelBuilder {
+        private final int[] start;
+        private final int[] size;
+        private final int[] cap;
+        private int[] hubs;
+        private int used;
+
+        LabelBuilder(int n) {
+            this.start = new int[n];
+            this.size = new int[n];
+            this.cap = new int[n];
+            this.hubs = new int[Math.max(16, n * 2)];
+        }
+
+        void add(int id, int rank) {
+            if (size[id] == cap[id]) {
+                grow(id);
+            }
+            hubs[start[id] + size[id]++] = rank;
+        }
+
+        private void grow(int id) {
+            int newCap = Math.max(2, cap[id] << 1);
+            int needed = Math.addExact(used, newCap);
+            if (needed > hubs.length) {
+                hubs = Arrays.copyOf(hubs, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, 2L * hubs.length)));
+            }
+            System.arraycopy(hubs, start[id], hubs, used, size[id]);
+            start[id] = used;
+            cap[id] = newCap;
+            used = needed;
+        }
+
+        /** 빈 칸 없는 CSR (offsets 를 채우고 라벨 배열 반환) */
+        int[] compact(int[] offsets) {
+            long total = 0;
+            for (int id = 0; id < size.length; id++) {
+                offsets[id] = Math.toIntExact(total);
+                total += size[id];
+            }
+            offsets[size.length] = Math.toIntExact(total);
+            int[] labels = new int[(int) total];
+            for (int id = 0; id < size.length; id++) {
+                System.arraycopy(hubs, start[id], labels, offsets[id], size[id]);
+            }
+            hubs = null;
+            return labels;
+        }
+    }
+
+    /** Lout(u) ∩ Lin(v) 가 비어있지 않은지 (정렬된 두 구간 병합) */
+    private static boolean intersects(LabelBuilder out, int u, LabelBuilder in, int v) {
+        int i = out.start[u];
+        int iEnd = i + out.size[u];
+        int j = in.start[v];
+        int jEnd = j + in.size[v];
+        while (i < iEnd && j < jEnd) {
+            int x = out.hubs[i];
+            int y = in.hubs[j];
+            if (x == y) return true;
+            if (x < y) i++;
+            else j++;
+        }
+        return false;
+    }
+
+    /** 스레드별 BFS 작업 공간 (방문 표시는 stamp 로 초기화 비용 없이 재사용) */
+    private static final class Workspace {
+        private final int[] visited;
+        private final int[] queue;
+        private int stamp = 0;
+
+        Workspace(int n) {
+            this.visited = new int[n];
+            this.queue = new int[n];
+        }
+
+        /**
+         * forward=true  : landmark 의 자손 w 중 (landmark, w) 가 아직 안 덮인 노드 -> Lin(w) 에 추가할 목록
+         * forward=false : landmark 의 조상 w 중 (w, landmark) 가 아직 안 덮인 노드 -> Lout(w) 에 추가할 목록
+         */
+        int[] bfs(VersionGraph graph, int landmark, boolean forward, LabelBuilder out, LabelBuilder in) {
+            stamp++;
+            IntList hits = new IntList(4);
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = landmark;
+            visited[landmark] = stamp;
+            while (head < tail) {
+                int w = queue[head++];
+                boolean covered = forward
+                        ? intersects(out, landmark, in, w)
+                        : intersects(out, w, in, landmark);
+                if (covered) continue;
+                hits.add(w);
+
+                int count = forward ? graph.childCount(w) : graph.parentCount(w);
+                for (int k = 0; k < count; k++) {
+                    int next = forward ? graph.child(w, k) : graph.parent(w, k);
+                    if (visited[next] != stamp) {
+                        visited[next] = stamp;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return hits.toArray();
+        }
+    }
+
+    /* ======================= */
+    /*         질의             */
+    /* ======================= */
+
+    public int capacity() {
+        return inOffsets.length - 1;
+    }
+
+    /** u 에서 v 로 도달 가능한지 (u == v 면 true) */
+    public boolean reach(int u, int v) {
+        if (u == v) return true;
+        int n = capacity();
+        if (u < 0 || v < 0 || u >= n || v >= n) return false;
+        int i = outOffsets[u];
+        int iEnd = outOffsets[u + 1];
+        int j = inOffsets[v];
+        int jEnd = inOffsets[v + 1];
+        while (i < iEnd && j < jEnd) {
+            int x = outLabels[i];
+            int y = inLabels[j];
+            if (x == y) return true;
+            if (x < y) i++;
+            else j++;
+        }
+        return false;
+    }
+
+    public long labelCount() {
+        return (long) inLabels.length + outLabels.length;
+    }
+
+    public double averageLabelSize() {
+        int n = capacity();
+        return n == 0 ? 0 : labelCount() / (double) n;
+    }
+
+    public long memoryBytes() {
+        return 4L * (inOffsets.length + inLabels.length + outOffsets.length + outLabels.length);
+    }
+
+    /* ======================= */
+    /*       저장 / 로딩         */
+    /* ======================= */
+
+    /** 임시 파일에 쓴 뒤 rename */
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt(capacity())
+                    .putInt(0)
+                    .putLong(inLabels.length)
+                    .putLong(outLabels.length)
+                    .putLong(System.currentTimeMillis())
+                    .flip();
+            GraphSnapshot.writeFully(ch, header);
+
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            GraphSnapshot.writeInts(ch, buf, inOffsets);
+            GraphSnapshot.writeInts(ch, buf, inLabels);
+            GraphSnapshot.writeInts(ch, buf, outOffsets);
+            GraphSnapshot.writeInts(ch, buf, outLabels);
+            ch.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** 파일을 매핑해서 힙 배열로 복사 (질의가 배열 접근만 하도록) */
+    public static PrunedLandmarkLabeling read(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && ch.read(header) >= 0) {
+                // fill
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("not a landmark labeling file: " + path);
+            }
+            int formatVersion = header.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("unsupported labeling format version " + formatVersion + ": " + path);
+            }
+            int capacity = header.getInt();
+            header.getInt();
+            long inCount = header.getLong();
+            long outCount = header.getLong();
+
+            long pos = HEADER_BYTES;
+            int[] inOffsets = readInts(ch, pos, capacity + 1L);
+            pos += 4L * (capacity + 1L);
+            int[] inLabels = readInts(ch, pos, inCount);
+            pos += 4L * inCount;
+            int[] outOffsets = readInts(ch, pos, capacity + 1L);
+            pos += 4L * (capacity + 1L);
+            int[] outLabels = readInts(ch, pos, outCount);
+            return new PrunedLandmarkLabeling(inOffsets, inLabels, outOffsets, outLabels);
+        }
+    }
+
+    private static int[] readInts(FileChannel ch, long position, long intCount) throws IOException {
+        int[] values = new int[Math.toIntExact(intCount)];
+        if (intCount > 0) {
+            GraphSnapshot.map(ch, position, intCount).get(values);
+        }
+        return values;
+    }
+}
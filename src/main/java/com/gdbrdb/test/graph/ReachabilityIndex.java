@@ -0,0 +1,77 @@
+package com.gdbrdb.test.graph;
+
+/**
+ * 노드별 '조상 ID 집합' 을 압축 비트맵으로 미리 계산해 둔 도달성 인덱스.
+ * - 위상 정렬 순서로 anc(v) = ∪ (anc(p) ∪ {p}) , p ∈ parents(v)
+ * - isAncestor(a, b) = anc(b) 에 a 비트가 있는지 한 번 확인
+ * - 전이 폐포 전체를 들고 있으므로 노드 수 만~수십만 규모용
+ */
+public final class ReachabilityIndex {
+
+    private final IntBitmap[] ancestors;
+
+    private ReachabilityIndex(IntBitmap[] ancestors) {
+        this.ancestors = ancestors;
+    }
+
+    public static ReachabilityIndex build(VersionGraph graph) {
+        int capacity = graph.capacity();
+        IntBitmap[] ancestors = new IntBitmap[capacity];
+        int[] remainingParents = new int[capacity];
+        int[] queue = new int[capacity];
+        int head = 0;
+        int tail = 0;
+
+        for (int id = 0; id < capacity; id++) {
+            remainingParents[id] = graph.parentCount(id);
+            if (remainingParents[id] == 0) {
+                queue[tail++] = id;
+            }
+        }
+        while (head < tail) {
+            int cur = queue[head++];
+            IntBitmap bitmap = new IntBitmap();
+            for (int k = 0; k < graph.parentCount(cur); k++) {
+                int parent = graph.parent(cur, k);
+                bitmap.orInPlace(ancestors[parent]);
+                bitmap.add(parent);
+            }
+            ancestors[cur] = bitmap;
+
+            for (int k = 0; k < graph.childCount(cur); k++) {
+                int child = graph.child(cur, k);
+                if (--remainingParents[child] == 0) {
+                    queue[tail++] = child;
+                }
+            }
+        }
+        if (tail != capacity) {
+            throw new IllegalStateException("cycle detected: " + (capacity - tail) + " nodes not reachable in topological order");
+        }
+        return new ReachabilityIndex(ancestors);
+    }
+
+    public int capacity() {
+        return ancestors.length;
+    }
+
+    /** a 가 b 의 조상인지 (자기 자신은 false) */
+    public boolean isAncestor(int ancestorId, int descendantId) {
+        if (descendantId < 0 || descendantId >= ancestors.length) return false;
+        return ancestors[descendantId].contains(ancestorId);
+    }
+
+    /** id 의 조상 비트맵 (읽기 전용으로 사용할 것) */
+    public IntBitmap ancestors(int id) {
+        if (id < 0 || id >= ancestors.length) return new IntBitmap();
+        return ancestors[id];
+    }
+
+    public long memoryBytes() {
+        long total = 16L + 8L * ancestors.length;
+        for (IntBitmap bitmap : ancestors) {
+            total += bitmap.memoryBytes();
+        }
+        return total;
+    }
+}
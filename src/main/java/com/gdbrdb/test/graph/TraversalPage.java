@@ -0,0 +1,34 @@
+package com.gdbrdb.test.graph;
+
+import java.util.List;
+
+/**
+ * 조상/자손 한 페이지.
+ *
+ * @param rows          (depth, id) 오름차순
+ * @param nextPageToken 다음 페이지 토큰 (마지막 페이지면 null)
+ */
+public record TraversalPage(List<DepthCursor> rows, String nextPageToken) {
+
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+
+    /** 페이지 조회 시 읽을 행 수 (다음 페이지 유무 확인용으로 하나 더) */
+    public static int fetchLimit(int pageSize) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be > 0: " + pageSize);
+        return pageSize + 1;
+    }
+
+    /**
+     * pageSize + 1 개까지 읽은 결과로 페이지 구성.
+     * 한 개 더 읽혔으면 다음 페이지가 있으므로 pageSize 번째 행을 토큰으로
+     */
+    public static TraversalPage of(List<DepthCursor> fetched, int pageSize) {
+        if (fetched.size() <= pageSize) {
+            return new TraversalPage(List.copyOf(fetched), null);
+        }
+        List<DepthCursor> rows = List.copyOf(fetched.subList(0, pageSize));
+        return new TraversalPage(rows, rows.get(pageSize - 1).encode());
+    }
+}
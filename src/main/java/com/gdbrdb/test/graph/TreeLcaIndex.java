@@ -0,0 +1,169 @@
+package com.gdbrdb.test.graph;
+
+import java.util.Arrays;
+
+/**
+ * 단일 부모(체인 / 이진 / 복합 트리) 구간용 binary-lifting LCA 인덱스.
+ * - up[j][v] = v 의 2^j 번째 조상, depth[v] = 루트로부터의 깊이
+ * - lca(a, b) 는 O(log n), DB 접근 없음
+ * - append(child, parent) 로 노드 하나씩 O(log n) 에 증분 추가 (부모가 먼저 추가되어 있어야 함)
+ * - 부모가 2개 이상인 노드(머지)나 부모를 모르는 노드는 "트리 밖"으로 표시하고 -1 을 돌려줌
+ *   -> 호출 측에서 DB 경로로 fallback
+ */
+public final class TreeLcaIndex {
+
+    private static final int LOG = 31;
+    private static final int UNKNOWN = -1;
+
+    /** up[j][v], 필요할 때만 각 레벨 배열을 할당 */
+    private final int[][] up = new int[LOG][];
+    private int[] depth;
+    private int capacity;
+    private int maxLevel = 0;
+
+    public TreeLcaIndex() {
+        this(1024);
+    }
+
+    public TreeLcaIndex(int initialCapacity) {
+        this.capacity = Math.max(16, initialCapacity);
+        this.depth = new int[capacity];
+        Arrays.fill(depth, UNKNOWN);
+        this.up[0] = new int[capacity];
+    }
+
+    /**
+     * VersionGraph 전체로부터 인덱스 생성 (부모가 자식보다 먼저 오도록 위상 정렬 순서로 추가)
+     */
+    public static TreeLcaIndex build(VersionGraph graph) {
+        TreeLcaIndex index = new TreeLcaIndex(graph.capacity());
+        int capacity = graph.capacity();
+        int[] remainingParents = new int[capacity];
+        int[] queue = new int[capacity];
+        int head = 0;
+        int tail = 0;
+        for (int id = 0; id < capacity; id++) {
+            remainingParents[id] = graph.parentCount(id);
+            if (remainingParents[id] == 0) {
+                queue[tail++] = id;
+            }
+        }
+        while (head < tail) {
+            int cur = queue[head++];
+            int parentCount = graph.parentCount(cur);
+            if (parentCount == 0) {
+                index.appendRoot(cur);
+            } else if (parentCount == 1) {
+                index.append(cur, graph.parent(cur, 0));
+            } else {
+                index.markNonTree(cur);
+            }
+            for (int k = 0; k < graph.childCount(cur); k++) {
+                int child = graph.child(cur, k);
+                if (--remainingParents[child] == 0) {
+                    queue[tail++] = child;
+                }
+            }
+        }
+        return index;
+    }
+
+    /** 루트 노드 추가 */
+    public synchronized void appendRoot(int id) {
+        ensureCapacity(id);
+        depth[id] = 0;
+        for (int j = 0; j <= maxLevel; j++) {
+            up[j][id] = id;
+        }
+    }
+
+    /**
+     * 부모 하나짜리 노드 추가.
+     * 부모가 인덱스에 없거나 트리 밖이면 이 노드도 트리 밖으로 표시.
+     */
+    public synchronized void append(int id, int parent) {
+        ensureCapacity(Math.max(id, parent));
+        if (depth[parent] == UNKNOWN) {
+            depth[id] = UNKNOWN;
+            return;
+        }
+        depth[id] = depth[parent] + 1;
+        while ((1 << maxLevel) < depth[id] && maxLevel + 1 < LOG) {
+            addLevel();
+        }
+        up[0][id] = parent;
+        for (int j = 1; j <= maxLevel; j++) {
+            up[j][id] = up[j - 1][up[j - 1][id]];
+        }
+    }
+
+    /** 머지(다중 부모) 노드: 이 노드와 그 자손은 인덱스가 답하지 않음 */
+    public synchronized void markNonTree(int id) {
+        ensureCapacity(id);
+        depth[id] = UNKNOWN;
+    }
+
+    public synchronized boolean contains(int id) {
+        return id >= 0 && id < capacity && depth[id] != UNKNOWN;
+    }
+
+    /**
+     * @return LCA 노드 ID. 둘 중 하나가 트리 밖이거나 서로 다른 트리(루트가 다름)면 -1
+     */
+    public synchronized int lca(int a, int b) {
+        if (!contains(a) || !contains(b)) return -1;
+        if (depth[a] < depth[b]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        int diff = depth[a] - depth[b];
+        for (int j = 0; diff > 0; j++, diff >>= 1) {
+            if ((diff & 1) != 0) {
+                a = up[j][a];
+            }
+        }
+        if (a == b) return a;
+        for (int j = maxLevel; j >= 0; j--) {
+            if (up[j][a] != up[j][b]) {
+                a = up[j][a];
+                b = up[j][b];
+            }
+        }
+        return up[0][a] == up[0][b] ? up[0][a] : -1;
+    }
+
+    public synchronized int depth(int id) {
+        return contains(id) ? depth[id] : -1;
+    }
+
+    /** 사용 중인 배열 메모리(byte) */
+    public synchronized long memoryBytes() {
+        return 4L * capacity * (maxLevel + 2);
+    }
+
+    /** 새 레벨 j 를 기존 레벨 j-1 로부터 채움 */
+    private void addLevel() {
+        int j = ++maxLevel;
+        int[] prev = up[j - 1];
+        int[] level = new int[capacity];
+        for (int v = 0; v < capacity; v++) {
+            level[v] = depth[v] == UNKNOWN ? v : prev[prev[v]];
+        }
+        up[j] = level;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < capacity) return;
+        int newCapacity = capacity;
+        while (newCapacity <= id) {
+            newCapacity <<= 1;
+        }
+        depth = Arrays.copyOf(depth, newCapacity);
+        Arrays.fill(depth, capacity, newCapacity, UNKNOWN);
+        for (int j = 0; j <= maxLevel; j++) {
+            up[j] = Arrays.copyOf(up[j], newCapacity);
+        }
+        capacity = newCapacity;
+    }
+}
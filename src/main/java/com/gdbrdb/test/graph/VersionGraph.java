@@ -0,0 +1,23 @@
+package com.gdbrdb.test.graph;
+
+/**
+ * 버전 그래프 인접 정보 (읽기 전용).
+ * - 노드 ID 는 DB 의 id 를 그대로 int 로 사용 (0 <= id < capacity)
+ * - parent: child 입장에서 부모 방향, child: 부모 입장에서 자식 방향
+ */
+public interface VersionGraph {
+
+    /** 최대 노드 ID + 1 */
+    int capacity();
+
+    /** 간선(child-parent 쌍) 수 */
+    long edgeCount();
+
+    int parentCount(int id);
+
+    int parent(int id, int k);
+
+    int childCount(int id);
+
+    int child(int id, int k);
+}
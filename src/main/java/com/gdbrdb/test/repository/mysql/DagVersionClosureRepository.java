@@ -0,0 +1,65 @@
+package com.gdbrdb.test.repository.mysql;
+
+import com.gdbrdb.test.entity.mysql.DagVersionClosureEntity;
+import com.gdbrdb.test.entity.mysql.VersionClosureId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * dag_version_closure 유지보수용 쿼리.
+ */
+public interface DagVersionClosureRepository extends JpaRepository<DagVersionClosureEntity, VersionClosureId> {
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO dag_version_closure (ancestor_id, descendant_id, depth)
+        VALUES (:childId, :childId, 0)
+        """, nativeQuery = true)
+    int insertSelf(@Param("childId") Long childId);
+
+    /**
+     * 부모들의 클로저 행을 한 단계 내려서 복사.
+     * - 여러 부모를 통해 같은 조상에 닿더라도 GROUP BY 로 (조상, 자손) 쌍은 1행,
+     *   depth 는 MIN 으로 최단 거리만 남김
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO dag_version_closure (ancestor_id, descendant_id, depth)
+        SELECT c.ancestor_id, :childId, MIN(c.depth) + 1
+        FROM dag_version_closure c
+        WHERE c.descendant_id IN (:parentIds)
+        GROUP BY c.ancestor_id
+        """, nativeQuery = true)
+    int insertFromParents(@Param("childId") Long childId, @Param("parentIds") Collection<Long> parentIds);
+
+    /**
+     * 이미 적재된 dag_version / dag_version_parents 로부터 클로저 행을 채움 (id >= :fromId)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT IGNORE INTO dag_version_closure (ancestor_id, descendant_id, depth)
+        WITH RECURSIVE walk (ancestor_id, descendant_id, depth) AS (
+          SELECT dv.id, dv.id, 0
+          FROM dag_version dv
+          WHERE dv.id >= :fromId
+          
+          UNION DISTINCT
+          
+          SELECT dvp.parent_version_id, w.descendant_id, w.depth + 1
+          FROM dag_version_parents dvp
+          INNER JOIN walk w ON dvp.child_version_id = w.ancestor_id
+        )
+        SELECT w.ancestor_id, w.descendant_id, MIN(w.depth)
+        FROM walk w
+        GROUP BY w.ancestor_id, w.descendant_id
+        """, nativeQuery = true)
+    int backfillFrom(@Param("fromId") Long fromId);
+}
@@ -1,6 +1,8 @@
 package com.gdbrdb.test.repository.mysql;
 
+import com.gdbrdb.test.entity.mysql.ClosureDepthRow;
 import com.gdbrdb.test.entity.mysql.DagVersionEntity;
+import com.gdbrdb.test.entity.mysql.DagVersionSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -129,4 +131,447 @@ public interface DagVersionRepository extends JpaRepository<DagVersionEntity, Lo
             @Param("author") String author,
             @Param("titlePart") String titlePart
     );
+
+    /* ================================================= */
+    /*   노드 단위(visited-set) 탐색 버전의 A/B/C/E         */
+    /*   - UNION ALL 은 경로마다 행이 생겨 병합이 많을수록      */
+    /*     지수적으로 늘어남. UNION DISTINCT 로 노드당 한 번만  */
+    /* ================================================= */
+
+    /**
+     * 시나리오 A (노드 단위) 조상 ID 집합만 재귀 -> 이미 본 노드는 다시 확장하지 않음
+     */
+    @Query(value = """
+        WITH RECURSIVE ancestors (id) AS (
+          SELECT dvp.parent_version_id
+          FROM dag_version_parents dvp
+          WHERE dvp.child_version_id = :startId
+          
+          UNION DISTINCT
+          
+          SELECT dvp.parent_version_id
+          FROM dag_version_parents dvp
+          INNER JOIN ancestors a ON dvp.child_version_id = a.id
+        )
+        SELECT dv.*
+        FROM dag_version dv
+        JOIN ancestors a ON dv.id = a.id
+        WHERE dv.author = :author
+          AND dv.title LIKE %:titlePart%
+        """, nativeQuery = true)
+    List<DagVersionEntity> findAncestorsByAuthorAndTitleNodeUnique(
+            @Param("startId") Long startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
+    /**
+     * 시나리오 B (노드 단위) 자손 ID 집합만 재귀
+     */
+    @Query(value = """
+        WITH RECURSIVE descs (id) AS (
+          SELECT dvp.child_version_id
+          FROM dag_version_parents dvp
+          WHERE dvp.parent_version_id = :startId
+          
+          UNION DISTINCT
+          
+          SELECT dvp.child_version_id
+          FROM dag_version_parents dvp
+          INNER JOIN descs d ON dvp.parent_version_id = d.id
+        )
+        SELECT dv.*
+        FROM dag_version dv
+        JOIN descs d ON dv.id = d.id
+        WHERE dv.created_time >= :timeThreshold
+        """, nativeQuery = true)
+    List<DagVersionEntity> findDescendantsCreatedAfterNodeUnique(
+            @Param("startId") Long startId,
+            @Param("timeThreshold") String timeThreshold
+    );
+
+    /**
+     * 시나리오 C (노드 단위) 양쪽 조상 ID 집합의 교집합 중 createdTime 최신
+     */
+    @Query(value = """
+        WITH RECURSIVE ancestorsA (id) AS (
+          SELECT dvp.parent_version_id
+          FROM dag_version_parents dvp WHERE dvp.child_version_id = :idA
+          UNION DISTINCT
+          SELECT dvp.parent_version_id
+          FROM dag_version_parents dvp
+          INNER JOIN ancestorsA a ON dvp.child_version_id = a.id
+        ),
+        ancestorsB (id) AS (
+          SELECT dvp.parent_version_id
+          FROM dag_version_parents dvp WHERE dvp.child_version_id = :idB
+          UNION DISTINCT
+          SELECT dvp.parent_version_id
+          FROM dag_version_parents dvp
+          INNER JOIN ancestorsB b ON dvp.child_version_id = b.id
+        )
+        SELECT dv.*
+        FROM dag_version dv
+        JOIN ancestorsA a ON dv.id = a.id
+        JOIN ancestorsB b ON dv.id = b.id
+        ORDER BY dv.created_time DESC
+        LIMIT 1
+        """, nativeQuery = true)
+    DagVersionEntity findLatestCommonAncestorNodeUnique(
+            @Param("idA") Long idA,
+            @Param("idB") Long idB
+    );
+
+    /**
+     * 시나리오 E (노드 단위) (id, depth) 쌍을 UNION DISTINCT
+     *  - depth 가 3 이하로 묶여 있어 한 노드가 최대 4행 -> 경로 수와 무관
+     */
+    @Query(value = """
+        WITH RECURSIVE step (current_id, depth) AS (
+          SELECT CAST(:startId AS SIGNED), 0
+          UNION DISTINCT
+          SELECT p.parent_version_id, s.depth + 1
+          FROM dag_version_parents p
+          JOIN step s ON p.child_version_id = s.current_id
+          WHERE s.depth < 3
+        )
+        SELECT dv.*
+        FROM dag_version dv
+        JOIN (SELECT DISTINCT current_id FROM step) st ON dv.id = st.current_id
+        WHERE dv.author = :author
+          AND dv.title LIKE %:titlePart%
+        """, nativeQuery = true)
+    List<DagVersionEntity> findUpTo3StepsByAuthorTitleNodeUnique(
+            @Param("startId") Long startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
+    /* ======================= */
+    /*  generation 기반 도달성    */
+    /* ======================= */
+
+    @Query(value = "SELECT dv.generation FROM dag_version dv WHERE dv.id = :id", nativeQuery = true)
+    Integer findGenerationById(@Param("id") Long id);
+
+    /**
+     * descendant 에서 위로 올라가며 ancestor 탐색,
+     * generation < :minGeneration 인 부모 쪽 가지는 잘라냄 (UNION DISTINCT 로 노드당 1회)
+     */
+    @Query(value = """
+        WITH RECURSIVE up (id) AS (
+          SELECT CAST(:descendantId AS SIGNED)
+          
+          UNION DISTINCT
+          
+          SELECT dvp.parent_version_id
+          FROM up
+          INNER JOIN dag_version_parents dvp ON dvp.child_version_id = up.id
+          INNER JOIN dag_version p ON p.id = dvp.parent_version_id
+          WHERE p.generation >= :minGeneration
+        )
+        SELECT COUNT(*)
+        FROM up
+        WHERE up.id = :ancestorId
+        """, nativeQuery = true)
+    Long countReachableWithGenerationPruning(
+            @Param("ancestorId") Long ancestorId,
+            @Param("descendantId") Long descendantId,
+            @Param("minGeneration") Integer minGeneration
+    );
+
+    /* ================================================= */
+    /*   클로저 테이블(dag_version_closure) 기반 시나리오    */
+    /*   - 경로 수와 무관하게 (조상, 자손) 쌍 단위 인덱스 조회   */
+    /* ================================================= */
+
+    /**
+     * 시나리오 A (클로저) 조상 중 author / title 필터
+     */
+    @Query(value = """
+        SELECT dv.*
+        FROM dag_version_closure c
+        JOIN dag_version dv ON dv.id = c.ancestor_id
+        WHERE c.descendant_id = :startId
+          AND c.depth > 0
+          AND dv.author = :author
+          AND dv.title LIKE %:titlePart%
+        """, nativeQuery = true)
+    List<DagVersionEntity> findAncestorsByAuthorAndTitleViaClosure(
+            @Param("startId") Long startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
+    /**
+     * 시나리오 B (클로저) 자손 중 createdTime >= :timeThreshold
+     */
+    @Query(value = """
+        SELECT dv.*
+        FROM dag_version_closure c
+        JOIN dag_version dv ON dv.id = c.descendant_id
+        WHERE c.ancestor_id = :startId
+          AND c.depth > 0
+          AND dv.created_time >= :timeThreshold
+        """, nativeQuery = true)
+    List<DagVersionEntity> findDescendantsCreatedAfterViaClosure(
+            @Param("startId") Long startId,
+            @Param("timeThreshold") String timeThreshold
+    );
+
+    /**
+     * 시나리오 C (클로저) 공통 조상 중 createdTime 이 가장 늦은 노드
+     */
+    @Query(value = """
+        SELECT dv.*
+        FROM dag_version_closure a
+        JOIN dag_version_closure b
+          ON b.ancestor_id = a.ancestor_id
+         AND b.descendant_id = :idB
+         AND b.depth > 0
+        JOIN dag_version dv ON dv.id = a.ancestor_id
+        WHERE a.descendant_id = :idA
+          AND a.depth > 0
+        ORDER BY dv.created_time DESC
+        LIMIT 1
+        """, nativeQuery = true)
+    DagVersionEntity findLatestCommonAncestorViaClosure(
+            @Param("idA") Long idA,
+            @Param("idB") Long idB
+    );
+
+    /**
+     * 시나리오 E (클로저) 3단계 이내(자기 자신 포함) 조상 중 author / title 필터
+     *  - 최단 depth 를 저장하므로 "depth <= 3" 이 곧 "3단계 이내 경로가 존재"
+     */
+    @Query(value = """
+        SELECT dv.*
+        FROM dag_version_closure c
+        JOIN dag_version dv ON dv.id = c.ancestor_id
+        WHERE c.descendant_id = :startId
+          AND c.depth <= 3
+          AND dv.author = :author
+          AND dv.title LIKE %:titlePart%
+        """, nativeQuery = true)
+    List<DagVersionEntity> findUpTo3StepsByAuthorTitleViaClosure(
+            @Param("startId") Long startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
+    /* ================================================= */
+    /*   프로젝션 버전 (엔티티 대신 필요한 컬럼 / ID 만)       */
+    /*   - content, parents 를 읽지 않고 영속성 컨텍스트도 안 씀 */
+    /* ================================================= */
+
+    /**
+     * 시나리오 A (요약) findAncestorsByAuthorAndTitle 과 같은 행, content 제외
+     */
+    @Query(value = """
+        WITH RECURSIVE ancestors AS (
+          SELECT dvp.child_version_id, dvp.parent_version_id
+          FROM dag_version_parents dvp
+          WHERE dvp.child_version_id = :startId
+          
+          UNION ALL
+          
+          SELECT dvp.child_version_id, dvp.parent_version_id
+          FROM dag_version_parents dvp
+          INNER JOIN ancestors a ON dvp.child_version_id = a.parent_version_id
+        )
+        SELECT dv.id AS id, dv.title AS title, dv.author AS author,
+               dv.created_time AS createdTime, dv.generation AS generation
+        FROM dag_version dv
+        JOIN ancestors a ON dv.id = a.parent_version_id
+        WHERE dv.author = :author
+          AND dv.title LIKE %:titlePart%
+        """, nativeQuery = true)
+    List<DagVersionSummary> findAncestorSummariesByAuthorAndTitle(
+            @Param("startId") Long startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
+    /**
+     * 시나리오 B (요약) findDescendantsCreatedAfter 와 같은 행, content 제외
+     */
+    @Query(value = """
+        WITH RECURSIVE descs AS (
+          SELECT dvp.parent_version_id, dvp.child_version_id
+          FROM dag_version_parents dvp
+          WHERE dvp.parent_version_id = :startId
+          
+          UNION ALL
+          
+          SELECT dvp.parent_version_id, dvp.child_version_id
+          FROM dag_version_parents dvp
+          INNER JOIN descs d ON dvp.parent_version_id = d.child_version_id
+        )
+        SELECT dv.id AS id, dv.title AS title, dv.author AS author,
+               dv.created_time AS createdTime, dv.generation AS generation
+        FROM dag_version dv
+        JOIN descs d ON dv.id = d.child_version_id
+        WHERE dv.created_time >= :timeThreshold
+        """, nativeQuery = true)
+    List<DagVersionSummary> findDescendantSummariesCreatedAfter(
+            @Param("startId") Long startId,
+            @Param("timeThreshold") String timeThreshold
+    );
+
+    /**
+     * 시나리오 C (ID) 공통 조상 중 createdTime 최신 노드의 ID 만
+     */
+    @Query(value = """
+        WITH RECURSIVE ancestorsA AS (
+          SELECT dvp.child_version_id, dvp.parent_version_id
+          FROM dag_version_parents dvp WHERE dvp.child_version_id = :idA
+          UNION ALL
+          SELECT dvp.child_version_id, dvp.parent_version_id
+          FROM dag_version_parents dvp
+          INNER JOIN ancestorsA a ON dvp.child_version_id = a.parent_version_id
+        ),
+        ancestorsB AS (
+          SELECT dvp.child_version_id, dvp.parent_version_id
+          FROM dag_version_parents dvp WHERE dvp.child_version_id = :idB
+          UNION ALL
+          SELECT dvp.child_version_id, dvp.parent_version_id
+          FROM dag_version_parents dvp
+          INNER JOIN ancestorsB b ON dvp.child_version_id = b.parent_version_id
+        )
+        SELECT dv.id
+        FROM dag_version dv
+        JOIN (
+          SELECT DISTINCT a.parent_version_id AS pid
+          FROM ancestorsA a
+          JOIN ancestorsB b ON a.parent_version_id = b.parent_version_id
+          WHERE a.parent_version_id IS NOT NULL
+        ) c ON dv.id = c.pid
+        ORDER BY dv.created_time DESC
+        LIMIT 1
+        """, nativeQuery = true)
+    Long findLatestCommonAncestorId(
+            @Param("idA") Long idA,
+            @Param("idB") Long idB
+    );
+
+    /**
+     * 시나리오 E (요약) findUpTo3StepsByAuthorTitle 과 같은 행, content 제외
+     */
+    @Query(value = """
+        WITH RECURSIVE step AS (
+          SELECT :startId AS current_id, 0 AS depth
+          UNION ALL
+          SELECT p.parent_version_id, s.depth+1
+          FROM dag_version_parents p
+          JOIN step s ON p.child_version_id = s.current_id
+          WHERE s.depth < 3
+        )
+        SELECT dv.id AS id, dv.title AS title, dv.author AS author,
+               dv.created_time AS createdTime, dv.generation AS generation
+        FROM dag_version dv
+        JOIN step st ON dv.id = st.current_id
+        WHERE dv.author = :author
+          AND dv.title LIKE %:titlePart%
+        """, nativeQuery = true)
+    List<DagVersionSummary> findUpTo3StepsSummariesByAuthorTitle(
+            @Param("startId") Long startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
+    /**
+     * 시나리오 A (클로저, ID) - dag_version 은 author / title 필터에만 사용
+     */
+    @Query(value = """
+        SELECT c.ancestor_id
+        FROM dag_version_closure c
+        JOIN dag_version dv ON dv.id = c.ancestor_id
+        WHERE c.descendant_id = :startId
+          AND c.depth > 0
+          AND dv.author = :author
+          AND dv.title LIKE %:titlePart%
+        """, nativeQuery = true)
+    List<Long> findAncestorIdsByAuthorAndTitleViaClosure(
+            @Param("startId") Long startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
+    /**
+     * 시나리오 B (클로저, ID)
+     */
+    @Query(value = """
+        SELECT c.descendant_id
+        FROM dag_version_closure c
+        JOIN dag_version dv ON dv.id = c.descendant_id
+        WHERE c.ancestor_id = :startId
+          AND c.depth > 0
+          AND dv.created_time >= :timeThreshold
+        """, nativeQuery = true)
+    List<Long> findDescendantIdsCreatedAfterViaClosure(
+            @Param("startId") Long startId,
+            @Param("timeThreshold") String timeThreshold
+    );
+
+    /**
+     * 시나리오 E (클로저, ID)
+     */
+    @Query(value = """
+        SELECT c.ancestor_id
+        FROM dag_version_closure c
+        JOIN dag_version dv ON dv.id = c.ancestor_id
+        WHERE c.descendant_id = :startId
+          AND c.depth <= 3
+          AND dv.author = :author
+          AND dv.title LIKE %:titlePart%
+        """, nativeQuery = true)
+    List<Long> findUpTo3StepsIdsByAuthorTitleViaClosure(
+            @Param("startId") Long startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
+    /* ======================= */
+    /*  키셋 페이지 (depth, id)   */
+    /* ======================= */
+
+    /**
+     * 자손을 (depth, id) 순으로 (:afterDepth, :afterId) 다음부터 :limit 개.
+     *  - (ancestor_id, depth, descendant_id) 인덱스 범위 스캔, 정렬 / 전체 서브트리 읽기 없음
+     */
+    @Query(value = """
+        SELECT c.descendant_id AS id, c.depth AS depth
+        FROM dag_version_closure c
+        WHERE c.ancestor_id = :startId
+          AND c.depth > 0
+          AND (c.depth > :afterDepth OR (c.depth = :afterDepth AND c.descendant_id > :afterId))
+        ORDER BY c.depth, c.descendant_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ClosureDepthRow> findDescendantPageByClosure(
+            @Param("startId") Long startId,
+            @Param("afterDepth") int afterDepth,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 조상을 (depth, id) 순으로 (:afterDepth, :afterId) 다음부터 :limit 개.
+     *  - (descendant_id, depth) 인덱스 (+ PK 의 ancestor_id) 범위 스캔
+     */
+    @Query(value = """
+        SELECT c.ancestor_id AS id, c.depth AS depth
+        FROM dag_version_closure c
+        WHERE c.descendant_id = :startId
+          AND c.depth > 0
+          AND (c.depth > :afterDepth OR (c.depth = :afterDepth AND c.ancestor_id > :afterId))
+        ORDER BY c.depth, c.ancestor_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ClosureDepthRow> findAncestorPageByClosure(
+            @Param("startId") Long startId,
+            @Param("afterDepth") int afterDepth,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit
+    );
 }
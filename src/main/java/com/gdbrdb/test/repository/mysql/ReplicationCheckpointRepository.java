@@ -0,0 +1,7 @@
+package com.gdbrdb.test.repository.mysql;
+
+import com.gdbrdb.test.entity.mysql.ReplicationCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReplicationCheckpointRepository extends JpaRepository<ReplicationCheckpointEntity, String> {
+}
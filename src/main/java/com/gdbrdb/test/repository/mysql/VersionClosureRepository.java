@@ -0,0 +1,96 @@
+package com.gdbrdb.test.repository.mysql;
+
+import com.gdbrdb.test.entity.mysql.VersionClosureEntity;
+import com.gdbrdb.test.entity.mysql.VersionClosureId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * version_closure 유지보수용 쿼리.
+ * (조회 쿼리는 VersionEntity 를 반환하므로 VersionRepository 쪽에 둠)
+ */
+public interface VersionClosureRepository extends JpaRepository<VersionClosureEntity, VersionClosureId> {
+
+    /**
+     * 새 노드의 자기 자신 행 (depth=0)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO version_closure (ancestor_id, descendant_id, depth)
+        VALUES (:childId, :childId, 0)
+        """, nativeQuery = true)
+    int insertSelf(@Param("childId") Long childId);
+
+    /**
+     * 새 노드의 조상 행들.
+     * - 부모들의 클로저 행을 그대로 한 단계 내려서 복사 (재귀 없음)
+     * - 머지(다중 부모)로 같은 조상이 여러 번 나오면 최소 depth 하나만 남김
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO version_closure (ancestor_id, descendant_id, depth)
+        SELECT c.ancestor_id, :childId, MIN(c.depth) + 1
+        FROM version_closure c
+        WHERE c.descendant_id IN (:parentIds)
+        GROUP BY c.ancestor_id
+        """, nativeQuery = true)
+    int insertFromParents(@Param("childId") Long childId, @Param("parentIds") Collection<Long> parentIds);
+
+    /**
+     * 이미 적재된 versions / version_parents 로부터 클로저 행을 채워 넣음.
+     * - id >= :fromId 인 노드들만 대상 (기존 데이터 마이그레이션, 대량 적재 후처리용)
+     * - 이미 있는 행은 INSERT IGNORE 로 건너뜀
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT IGNORE INTO version_closure (ancestor_id, descendant_id, depth)
+        WITH RECURSIVE walk (ancestor_id, descendant_id, depth) AS (
+          SELECT v.id, v.id, 0
+          FROM versions v
+          WHERE v.id >= :fromId
+          
+          UNION ALL
+          
+          SELECT vp.parent_version_id, w.descendant_id, w.depth + 1
+          FROM version_parents vp
+          INNER JOIN walk w ON vp.child_version_id = w.ancestor_id
+        )
+        SELECT w.ancestor_id, w.descendant_id, MIN(w.depth)
+        FROM walk w
+        GROUP BY w.ancestor_id, w.descendant_id
+        """, nativeQuery = true)
+    int backfillFrom(@Param("fromId") Long fromId);
+
+    /**
+     * backfillFrom 과 같되 :fromId <= id <= :toId 인 노드만 대상 (대량 적재 구간 후처리용)
+     * - 구간을 여러 번 적재해도 매번 그 구간만 계산 (이후 구간의 행을 다시 훑지 않음)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT IGNORE INTO version_closure (ancestor_id, descendant_id, depth)
+        WITH RECURSIVE walk (ancestor_id, descendant_id, depth) AS (
+          SELECT v.id, v.id, 0
+          FROM versions v
+          WHERE v.id BETWEEN :fromId AND :toId
+          
+          UNION ALL
+          
+          SELECT vp.parent_version_id, w.descendant_id, w.depth + 1
+          FROM version_parents vp
+          INNER JOIN walk w ON vp.child_version_id = w.ancestor_id
+        )
+        SELECT w.ancestor_id, w.descendant_id, MIN(w.depth)
+        FROM walk w
+        GROUP BY w.ancestor_id, w.descendant_id
+        """, nativeQuery = true)
+    int backfillRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
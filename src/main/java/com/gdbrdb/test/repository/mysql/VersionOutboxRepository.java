@@ -0,0 +1,55 @@
+package com.gdbrdb.test.repository.mysql;
+
+import com.gdbrdb.test.entity.mysql.VersionOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface VersionOutboxRepository extends JpaRepository<VersionOutboxEntity, Long> {
+
+    /**
+     * 키셋 조회: 마지막으로 반영한 id 다음부터 limit 행 (PK 범위 스캔, OFFSET 없음)
+     */
+    @Query(value = """
+        SELECT o.*
+        FROM version_outbox o
+        WHERE o.id > :afterId
+        ORDER BY o.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<VersionOutboxEntity> findBatchAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 반영이 끝난 행 정리 (한 번에 limit 행씩, 긴 잠금을 피하기 위해)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        DELETE FROM version_outbox
+        WHERE id <= :upToId
+        ORDER BY id
+        LIMIT :limit
+        """, nativeQuery = true)
+    int deleteAppliedUpTo(@Param("upToId") Long upToId, @Param("limit") int limit);
+
+    /* ---------- 빈 id(gap) 판정용 DB 시계 ---------- */
+
+    /** DB 현재 시각 (epoch 마이크로초), 앱 서버 시계와 섞지 않기 위해 DB 에서 읽음 */
+    @Query(value = "SELECT CAST(UNIX_TIMESTAMP(NOW(6)) * 1000000 AS SIGNED)", nativeQuery = true)
+    Long currentDbMicros();
+
+    /**
+     * 아직 열려 있는 가장 오래된 InnoDB 트랜잭션의 시작 시각 (epoch 마이크로초, 없으면 null)
+     * - trx_started 는 초 단위로 잘려 있어 실제보다 이르게 보임 -> 판정이 보수적으로만 틀림
+     * - information_schema.innodb_trx 는 PROCESS 권한 필요
+     */
+    @Query(value = """
+        SELECT CAST(UNIX_TIMESTAMP(MIN(t.trx_started)) * 1000000 AS SIGNED)
+        FROM information_schema.innodb_trx t
+        """, nativeQuery = true)
+    Long oldestActiveTransactionMicros();
+}
@@ -1,5 +1,6 @@
 package com.gdbrdb.test.repository.mysql;
 
+import com.gdbrdb.test.entity.mysql.ClosureDepthRow;
 import com.gdbrdb.test.entity.mysql.VersionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,7 +8,7 @@ import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
-public interface VersionRepository extends JpaRepository<VersionEntity, Long> {
+public interface VersionRepository extends JpaRepository<VersionEntity, Long>, VersionRepositoryCustom {
 
     /**
      * [수정안] 특정 버전의 '모든 조상(ancestor) VersionEntity'를 찾는 재귀 CTE.
@@ -82,15 +83,136 @@ public interface VersionRepository extends JpaRepository<VersionEntity, Long> {
         """, nativeQuery = true)
     List<Long> findCommonAncestorIds(@Param("idA") Long idA, @Param("idB") Long idB);
 
+    /* ======================= */
+    /*   클로저 테이블 기반 조회   */
+    /* ======================= */
+
+    /**
+     * 클로저 테이블로 '모든 조상' 조회.
+     *  - (descendant_id, depth) 인덱스 범위 스캔 한 번 -> 체인 깊이와 무관
+     */
+    @Query(value = """
+        SELECT v.*
+        FROM version_closure c
+        INNER JOIN versions v ON v.id = c.ancestor_id
+        WHERE c.descendant_id = :startId
+          AND c.depth > 0
+        """, nativeQuery = true)
+    List<VersionEntity> findAllAncestorEntitiesByClosure(@Param("startId") Long startId);
+
+    /**
+     * 클로저 테이블로 '모든 자손' 조회.
+     *  - PK (ancestor_id, descendant_id) 범위 스캔 한 번
+     */
+    @Query(value = """
+        SELECT v.*
+        FROM version_closure c
+        INNER JOIN versions v ON v.id = c.descendant_id
+        WHERE c.ancestor_id = :startId
+          AND c.depth > 0
+        """, nativeQuery = true)
+    List<VersionEntity> findAllDescendantEntitiesByClosure(@Param("startId") Long startId);
+
+    /**
+     * 클로저 테이블로 LCA ID 조회.
+     *  - A 의 조상 행(자기 자신 포함)마다 B 쪽 행을 PK 로 점 조회
+     *  - 두 노드에서 가장 가까운(depth 합이 최소인) 공통 조상, 동률이면 ID 가 큰 쪽
+     */
+    @Query(value = """
+        SELECT a.ancestor_id
+        FROM version_closure a
+        INNER JOIN version_closure b
+                ON b.ancestor_id = a.ancestor_id
+               AND b.descendant_id = :idB
+        WHERE a.descendant_id = :idA
+        ORDER BY a.depth + b.depth ASC, a.ancestor_id DESC
+        LIMIT 1
+        """, nativeQuery = true)
+    Long findLowestCommonAncestorIdByClosure(@Param("idA") Long idA, @Param("idB") Long idB);
+
+    /* ======================= */
+    /*  generation 기반 도달성    */
+    /* ======================= */
+
+    @Query(value = "SELECT v.generation FROM versions v WHERE v.id = :id", nativeQuery = true)
+    Integer findGenerationById(@Param("id") Long id);
+
+    /**
+     * descendant 에서 위로 올라가며 ancestor 를 찾되,
+     * generation 이 ancestor 의 generation(:minGeneration) 보다 작은 부모는 더 올라가지 않음
+     * (그 위로는 ancestor 가 있을 수 없으므로)
+     *  - UNION DISTINCT 로 노드당 한 번만 방문
+     *  - 반환값 > 0 이면 도달 가능
+     */
+    @Query(value = """
+        WITH RECURSIVE up (id) AS (
+          SELECT CAST(:descendantId AS SIGNED)
+          
+          UNION DISTINCT
+          
+          SELECT vp.parent_version_id
+          FROM up
+          INNER JOIN version_parents vp ON vp.child_version_id = up.id
+          INNER JOIN versions p ON p.id = vp.parent_version_id
+          WHERE p.generation >= :minGeneration
+        )
+        SELECT COUNT(*)
+        FROM up
+        WHERE up.id = :ancestorId
+        """, nativeQuery = true)
+    Long countReachableWithGenerationPruning(
+            @Param("ancestorId") Long ancestorId,
+            @Param("descendantId") Long descendantId,
+            @Param("minGeneration") Integer minGeneration
+    );
+
     /**
      * EXPLAIN 실행 계획
      */
     @Query(value = "EXPLAIN SELECT * FROM versions WHERE id = :id", nativeQuery = true)
     List<Object[]> explainSelectById(@Param("id") Long id);
 
-    /*
-       기존의 findAllAncestorIds, findAllDescendantIds 등
-       ID만 반환하는 메서드들도 필요하면 둬도 되고,
-       테스트 목적에 따라 제거해도 됨.
+    /* ======================= */
+    /*  키셋 페이지 (depth, id)   */
+    /* ======================= */
+
+    /**
+     * 자손을 (depth, id) 순으로 (:afterDepth, :afterId) 다음부터 :limit 개.
+     *  - (ancestor_id, depth, descendant_id) 인덱스 범위 스캔, 정렬 / 전체 서브트리 읽기 없음
+     */
+    @Query(value = """
+        SELECT c.descendant_id AS id, c.depth AS depth
+        FROM version_closure c
+        WHERE c.ancestor_id = :startId
+          AND c.depth > 0
+          AND (c.depth > :afterDepth OR (c.depth = :afterDepth AND c.descendant_id > :afterId))
+        ORDER BY c.depth, c.descendant_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ClosureDepthRow> findDescendantPageByClosure(
+            @Param("startId") Long startId,
+            @Param("afterDepth") int afterDepth,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 조상을 (depth, id) 순으로 (:afterDepth, :afterId) 다음부터 :limit 개.
+     *  - (descendant_id, depth) 인덱스 (+ PK 의 ancestor_id) 범위 스캔
      */
+    @Query(value = """
+        SELECT c.ancestor_id AS id, c.depth AS depth
+        FROM version_closure c
+        WHERE c.descendant_id = :startId
+          AND c.depth > 0
+          AND (c.depth > :afterDepth OR (c.depth = :afterDepth AND c.ancestor_id > :afterId))
+        ORDER BY c.depth, c.ancestor_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ClosureDepthRow> findAncestorPageByClosure(
+            @Param("startId") Long startId,
+            @Param("afterDepth") int afterDepth,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit
+    );
 }
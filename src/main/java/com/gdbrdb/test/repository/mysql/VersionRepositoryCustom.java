@@ -0,0 +1,22 @@
+package com.gdbrdb.test.repository.mysql;
+
+/**
+ * VersionRepository 의 JDBC 조각 (ID 프로젝션)
+ * - 엔티티 버전과 같은 행을 ID 만 반환. versions 를 JOIN 하지 않고 content / parents 도 읽지 않음
+ *   (개수 세기, 교집합 같은 용도)
+ * - List&lt;Long&gt; 을 거치지 않고 행마다 long[] 에 바로 씀 (박싱 없음)
+ */
+public interface VersionRepositoryCustom {
+
+    /** 모든 조상 ID (재귀 CTE, 경로마다 한 행) */
+    long[] findAllAncestorIds(long startId);
+
+    /** 모든 자손 ID (재귀 CTE, 경로마다 한 행) */
+    long[] findAllDescendantIds(long startId);
+
+    /** 모든 조상 ID (클로저 테이블, 인덱스만 읽음) */
+    long[] findAllAncestorIdsByClosure(long startId);
+
+    /** 모든 자손 ID (클로저 테이블, PK 만 읽음) */
+    long[] findAllDescendantIdsByClosure(long startId);
+}
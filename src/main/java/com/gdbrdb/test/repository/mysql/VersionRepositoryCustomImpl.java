@@ -0,0 +1,112 @@
+package com.gdbrdb.test.repository.mysql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * VersionRepositoryCustom 구현 (Spring Data 가 이름으로 찾아 VersionRepository 에 붙임)
+ * - JdbcTemplate 이라 현재 트랜잭션 커넥션이 있으면 그걸 씀
+ */
+@RequiredArgsConstructor
+public class VersionRepositoryCustomImpl implements VersionRepositoryCustom {
+
+    private static final String ANCESTOR_IDS = """
+        WITH RECURSIVE ancestors AS (
+          SELECT vp.child_version_id, vp.parent_version_id
+          FROM version_parents vp
+          WHERE vp.child_version_id = ?
+          
+          UNION ALL
+          
+          SELECT vp.child_version_id, vp.parent_version_id
+          FROM version_parents vp
+          INNER JOIN ancestors a ON vp.child_version_id = a.parent_version_id
+        )
+        SELECT a.parent_version_id
+        FROM ancestors a
+        WHERE a.parent_version_id IS NOT NULL
+        """;
+
+    private static final String DESCENDANT_IDS = """
+        WITH RECURSIVE descendants AS (
+          SELECT vp.parent_version_id, vp.child_version_id
+          FROM version_parents vp
+          WHERE vp.parent_version_id = ?
+          
+          UNION ALL
+          
+          SELECT vp.parent_version_id, vp.child_version_id
+          FROM version_parents vp
+          INNER JOIN descendants d ON vp.parent_version_id = d.child_version_id
+        )
+        SELECT d.child_version_id
+        FROM descendants d
+        WHERE d.child_version_id IS NOT NULL
+        """;
+
+    private static final String ANCESTOR_IDS_BY_CLOSURE = """
+        SELECT c.ancestor_id
+        FROM version_closure c
+        WHERE c.descendant_id = ?
+          AND c.depth > 0
+        """;
+
+    private static final String DESCENDANT_IDS_BY_CLOSURE = """
+        SELECT c.descendant_id
+        FROM version_closure c
+        WHERE c.ancestor_id = ?
+          AND c.depth > 0
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long[] findAllAncestorIds(long startId) {
+        return queryIds(ANCESTOR_IDS, startId);
+    }
+
+    @Override
+    public long[] findAllDescendantIds(long startId) {
+        return queryIds(DESCENDANT_IDS, startId);
+    }
+
+    @Override
+    public long[] findAllAncestorIdsByClosure(long startId) {
+        return queryIds(ANCESTOR_IDS_BY_CLOSURE, startId);
+    }
+
+    @Override
+    public long[] findAllDescendantIdsByClosure(long startId) {
+        return queryIds(DESCENDANT_IDS_BY_CLOSURE, startId);
+    }
+
+    private long[] queryIds(String sql, long startId) {
+        LongCollector ids = new LongCollector();
+        jdbcTemplate.query(sql, ids, startId);
+        return ids.toArray();
+    }
+
+    /** 첫 번째 컬럼을 가변 long 배열에 */
+    private static final class LongCollector implements RowCallbackHandler {
+
+        private long[] values = new long[64];
+        private int size;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = rs.getLong(1);
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
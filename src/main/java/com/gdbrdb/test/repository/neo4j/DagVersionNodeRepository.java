@@ -6,26 +6,25 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 public interface DagVersionNodeRepository extends org.springframework.data.neo4j.repository.Neo4jRepository<DagVersionNode, String> {
 
+    /**
+     * 도달성: ancestor 가 descendant 의 조상인가 (generation 가지치기)
+     * - generation 으로 먼저 거르고, 경로 위 노드는 a.generation < n.generation <= b.generation (범위 밖 가지는 확장 중 잘림)
+     * - SHORTEST 1 이라 첫 경로를 찾으면 바로 멈춤 (모든 경로를 열거하지 않음)
+     */
     @Query("""
-        UNWIND $batch AS row
-        CREATE (v:DagVersion {
-          nodeId: row.nodeId,
-          title: row.title,
-          content: row.content,
-          author: row.author,
-          createdTime: datetime(row.createdTime)
-        })
-        FOREACH (pId IN row.parents |
-           MERGE (p:DagVersion { nodeId: pId })
-           MERGE (p)-[:PARENT_OF]->(v)
-        )
-        RETURN count(v)
+        MATCH (a:DagVersion {nodeId: $ancestorId}), (b:DagVersion {nodeId: $descendantId})
+        WHERE a.generation IS NULL OR b.generation IS NULL OR a.generation < b.generation
+        OPTIONAL MATCH p = SHORTEST 1 (a)
+          (()-[:PARENT_OF]->(n:DagVersion)
+            WHERE n.generation IS NULL OR a.generation IS NULL OR b.generation IS NULL
+               OR (n.generation > a.generation AND n.generation <= b.generation)){1,}
+          (b)
+        RETURN p IS NOT NULL
     """)
-    Integer bulkInsertNodes(@Param("batch") List<Map<String, Object>> batch);
+    Boolean isAncestor(@Param("ancestorId") String ancestorId, @Param("descendantId") String descendantId);
 
     /**
      * 시나리오 A) 특정 노드의 조상 중
@@ -92,4 +91,69 @@ public interface DagVersionNodeRepository extends org.springframework.data.neo4j
             @Param("titlePart") String titlePart
     );
 
+    /* ================================================= */
+    /*   노드 단위 탐색 버전의 A/B/C/E                      */
+    /*   - 끝 노드에 DISTINCT 를 걸면 플래너가 가지치기        */
+    /*     var-expand(노드당 한 번 방문) 를 선택함             */
+    /* ================================================= */
+
+    @Query("""
+        MATCH (start:DagVersion { nodeId: $startId })<-[:PARENT_OF*1..]-(ancestor:DagVersion)
+        WITH DISTINCT ancestor
+        WHERE ancestor.author = $author
+          AND ancestor.title CONTAINS $titlePart
+        RETURN ancestor
+    """)
+    List<DagVersionNode> findAncestorsByAuthorAndTitleNodeUnique(
+            @Param("startId") String startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
+    @Query("""
+        MATCH (start:DagVersion { nodeId: $startId })-[:PARENT_OF*1..]->(desc:DagVersion)
+        WITH DISTINCT desc
+        WHERE desc.createdTime >= $timeThreshold
+        RETURN desc
+    """)
+    List<DagVersionNode> findDescendantsCreatedAfterNodeUnique(
+            @Param("startId") String startId,
+            @Param("timeThreshold") LocalDateTime timeThreshold
+    );
+
+    /**
+     * 양쪽 조상 집합을 각각 DISTINCT 로 구한 뒤, 두 번 나온 노드만 공통 조상
+     */
+    @Query("""
+        CALL {
+          MATCH (:DagVersion {nodeId: $idA})<-[:PARENT_OF*1..]-(x:DagVersion)
+          RETURN DISTINCT x
+          UNION ALL
+          MATCH (:DagVersion {nodeId: $idB})<-[:PARENT_OF*1..]-(x:DagVersion)
+          RETURN DISTINCT x
+        }
+        WITH x, count(*) AS hits
+        WHERE hits = 2
+        RETURN x
+        ORDER BY x.createdTime DESC
+        LIMIT 1
+    """)
+    DagVersionNode findLatestCommonAncestorNodeUnique(
+            @Param("idA") String idA,
+            @Param("idB") String idB
+    );
+
+    @Query("""
+        MATCH (start:DagVersion { nodeId: $startId })-[:PARENT_OF*0..3]->(mid:DagVersion)
+        WITH DISTINCT mid
+        WHERE mid.author = $author
+          AND mid.title CONTAINS $titlePart
+        RETURN mid
+    """)
+    List<DagVersionNode> findUpTo3StepsByAuthorTitleNodeUnique(
+            @Param("startId") String startId,
+            @Param("author") String author,
+            @Param("titlePart") String titlePart
+    );
+
 }
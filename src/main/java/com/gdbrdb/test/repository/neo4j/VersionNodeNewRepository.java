@@ -6,37 +6,64 @@ import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
-import java.util.Map;
 
 public interface VersionNodeNewRepository extends Neo4jRepository<VersionNodeNew, String> {
 
-    // 1) 배치 삽입
-    @Query("""
-           UNWIND $batch AS row
-           CREATE (v:VersionNew {nodeId: row.nodeId, content: row.content})
-           FOREACH (parentId IN row.parents |
-             MERGE (p:VersionNew {nodeId: parentId})
-             MERGE (p)-[:PARENT_OF]->(v)
-           )
-           RETURN count(v)
-           """)
-    Integer bulkInsertNodes(@Param("batch") List<Map<String, Object>> batch);
-
-    // 2) "조상"은 child←parent 경로
+    // 1) "조상"은 child←parent 경로
     @Query("""
         MATCH (v:VersionNew {nodeId: $startId})<-[:PARENT_OF*]-(ancestor:VersionNew)
         RETURN ancestor
         """)
     List<VersionNodeNew> findAllAncestors(@Param("startId") String startId);
 
-    // 3) "자손"은 parent→child 경로
+    // 2) "자손"은 parent→child 경로
     @Query("""
         MATCH (v:VersionNew {nodeId: $startId})-[:PARENT_OF*]->(descendant:VersionNew)
         RETURN descendant
         """)
     List<VersionNodeNew> findAllDescendants(@Param("startId") String startId);
 
-    // 4) EXPLAIN 예시(조상)
+    // 3) LCA (서버 측 계산)
+    //  - A 에서 위로 x 까지, x 에서 아래로 B 까지 가는 경로 중 가장 짧은 것 (길이 = 거리 합)
+    //  - ALL SHORTEST 는 BFS 로 처음 만나는 깊이에서 멈추므로 조상 전체를 펼치지 않음 (Neo4j 5.21+)
+    //  - 동률이면 숫자 기준으로 ID 가 큰 노드
+    //  - 클라이언트로는 노드 1개만 전송 (리액티브 경로도 같은 쿼리 사용)
+    String LOWEST_COMMON_ANCESTOR = """
+        MATCH (a:VersionNew {nodeId: $idA}), (b:VersionNew {nodeId: $idB})
+        MATCH ALL SHORTEST (a)<-[:PARENT_OF]-*(x:VersionNew)-[:PARENT_OF]->*(b)
+        RETURN DISTINCT x
+        ORDER BY toInteger(x.nodeId) DESC
+        LIMIT 1
+        """;
+
+    @Query(LOWEST_COMMON_ANCESTOR)
+    VersionNodeNew findLowestCommonAncestor(@Param("idA") String idA, @Param("idB") String idB);
+
+    // 4) generation 조회 (배치 밖 부모의 generation 이 필요할 때)
+    @Query("""
+        MATCH (v:VersionNew {nodeId: $nodeId})
+        RETURN v.generation
+        """)
+    Integer findGenerationByNodeId(@Param("nodeId") String nodeId);
+
+    // 5) 도달성: ancestor 가 descendant 의 조상인가
+    //  - generation 으로 먼저 걸러서(행이 없으면 null -> false) 대부분의 부정 케이스는 탐색 없음
+    //  - 경로 위 노드는 a.generation < n.generation <= b.generation 이어야 함 -> 확장 중 가지치기
+    //    (a 에서 내려가면 b 보다 깊은 가지를, b 에서 올라가면 a 보다 얕은 가지를 자름)
+    //  - SHORTEST 1: 첫 경로를 찾으면 멈춤 (neo4j 5.21+, docker-compose 에서 고정)
+    @Query("""
+        MATCH (a:VersionNew {nodeId: $ancestorId}), (b:VersionNew {nodeId: $descendantId})
+        WHERE a.generation IS NULL OR b.generation IS NULL OR a.generation < b.generation
+        OPTIONAL MATCH p = SHORTEST 1 (a)
+          (()-[:PARENT_OF]->(n:VersionNew)
+            WHERE n.generation IS NULL OR a.generation IS NULL OR b.generation IS NULL
+               OR (n.generation > a.generation AND n.generation <= b.generation)){1,}
+          (b)
+        RETURN p IS NOT NULL
+        """)
+    Boolean isAncestor(@Param("ancestorId") String ancestorId, @Param("descendantId") String descendantId);
+
+    // 6) EXPLAIN 예시(조상)
     @Query("""
         EXPLAIN
         MATCH (v:VersionNew {nodeId: $startId})<-[:PARENT_OF*]-(ancestor:VersionNew)
@@ -0,0 +1,314 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.repository.mysql.DagVersionClosureRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * DagBulkImportService
+ * - dag_version / dag_version_parents 대량 적재 파이프라인
+ *   1) 노드/간선을 흘려보내면서 TSV 두 개로 기록 (FileChannel + 직접 인코딩한 버퍼)
+ *   2) LOAD DATA LOCAL INFILE 로 dag_version 적재
+ *   3) LOAD DATA LOCAL INFILE 로 dag_version_parents 적재
+ *   4) dag_version_closure 백필
+ * - LOAD DATA LOCAL 은 중복 키 / 변환 오류를 경고로 넘기고 그 행을 건너뛰므로
+ *   노드 / 간선 적재를 한 트랜잭션으로 묶고, 적재 행 수가 TSV 행 수와 다르거나 경고가 있으면 롤백 후 예외
+ * - 단계별 rows/sec 을 로그로 남기고 PhaseStat 목록으로 반환
+ * - 행을 모아두지 않으므로 입력 Stream 이 지연 생성이면 노드 수와 무관한 메모리로 동작
+ *
+ * 필요 설정: JDBC URL allowLoadLocalInfile=true, MySQL 서버 local_infile=1
+ */
+@Service
+@RequiredArgsConstructor
+public class DagBulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(DagBulkImportService.class);
+
+    private static final DateTimeFormatter MYSQL_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final DataSource dataSource;
+    private final DagVersionClosureRepository closureRepo;
+
+    /**
+     * 적재할 노드 한 건. generation 은 호출자가 계산해서 넣음 (모르면 null)
+     * - 노드 수만큼 Map 을 들고 있지 않도록 (SyntheticHistoryGenerator.computeGenerations 참고)
+     */
+    public record NodeRow(long id, String title, String content, String author,
+                          LocalDateTime createdTime, long[] parentIds, Integer generation) {
+    }
+
+    public record PhaseStat(String phase, long rows, long millis) {
+        public long rowsPerSecond() {
+            return rows * 1000L / Math.max(1, millis);
+        }
+    }
+
+    public List<PhaseStat> importDag(Stream<NodeRow> rows) {
+        try (rows) {
+            return importDag(rows.iterator());
+        }
+    }
+
+    public List<PhaseStat> importDag(Iterator<NodeRow> rows) {
+        List<PhaseStat> stats = new ArrayList<>();
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("dag-import");
+            Path nodesFile = dir.resolve("dag_version.tsv");
+            Path edgesFile = dir.resolve("dag_version_parents.tsv");
+
+            // 1) TSV 쓰기
+            long start = System.currentTimeMillis();
+            long nodeCount = 0;
+            long edgeCount = 0;
+            long minId = Long.MAX_VALUE;
+            try (TsvWriter nodes = new TsvWriter(nodesFile);
+                 TsvWriter edges = new TsvWriter(edgesFile)) {
+                while (rows.hasNext()) {
+                    NodeRow row = rows.next();
+                    minId = Math.min(minId, row.id());
+
+                    if (row.parentIds() != null) {
+                        for (long p : row.parentIds()) {
+                            edges.field(row.id()).field(p).endRow();
+                            edgeCount++;
+                        }
+                    }
+
+                    nodes.field(row.id())
+                            .field(row.title())
+                            .field(row.content())
+                            .field(row.author())
+                            .field(row.createdTime() == null ? null : MYSQL_DATETIME.format(row.createdTime()))
+                            .field(row.generation())
+                            .endRow();
+                    nodeCount++;
+                }
+            }
+            stats.add(report(new PhaseStat("write-tsv", nodeCount + edgeCount, System.currentTimeMillis() - start)));
+            if (nodeCount == 0) return stats;
+
+            try (Connection conn = dataSource.getConnection()) {
+                checkIdsFree(conn, minId);
+                boolean autoCommit = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                try {
+                    // 2) 노드
+                    start = System.currentTimeMillis();
+                    long loadedNodes = loadData(conn, nodesFile, "dag_version",
+                            "(id, title, content, author, created_time, generation)", nodeCount);
+                    stats.add(report(new PhaseStat("load-nodes", loadedNodes, System.currentTimeMillis() - start)));
+
+                    // 3) 간선
+                    start = System.currentTimeMillis();
+                    long loadedEdges = loadData(conn, edgesFile, "dag_version_parents",
+                            "(child_version_id, parent_version_id)", edgeCount);
+                    stats.add(report(new PhaseStat("load-edges", loadedEdges, System.currentTimeMillis() - start)));
+                    conn.commit();
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(autoCommit);
+                }
+            }
+
+            // 4) 클로저
+            start = System.currentTimeMillis();
+            int closureRows = closureRepo.backfillFrom(minId);
+            stats.add(report(new PhaseStat("closure", closureRows, System.currentTimeMillis() - start)));
+            return stats;
+        } catch (IOException e) {
+            throw new UncheckedIOException("dag import failed", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("dag import failed", e);
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    private static PhaseStat report(PhaseStat stat) {
+        log.info("[DAG Import] {} : rows={}, time={}ms, {} rows/s",
+                stat.phase(), stat.rows(), stat.millis(), stat.rowsPerSecond());
+        return stat;
+    }
+
+    /**
+     * LOAD DATA LOCAL 은 중복 키를 에러 대신 경고로 넘기므로(IGNORE 동작),
+     * 미리 정한 ID 가 이미 쓰이고 있으면 적재 전에 중단
+     */
+    private static void checkIdsFree(Connection conn, long minId) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM dag_version")) {
+            rs.next();
+            long maxId = rs.getLong(1);
+            if (maxId >= minId) {
+                throw new IllegalStateException("dag_version already has id " + maxId + " >= import min id " + minId);
+            }
+        }
+    }
+
+    /** 적재 행 수가 expectedRows 와 다르거나 경고가 하나라도 있으면 예외 (호출자가 롤백) */
+    private static long loadData(Connection conn, Path file, String table, String columns,
+                                 long expectedRows) throws SQLException {
+        String path = file.toAbsolutePath().toString().replace('\\', '/').replace("'", "\\'");
+        String sql = "LOAD DATA LOCAL INFILE '" + path + "'"
+                + " INTO TABLE " + table
+                + " CHARACTER SET utf8mb4"
+                + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\'"
+                + " LINES TERMINATED BY '\\n' "
+                + columns;
+        try (Statement st = conn.createStatement()) {
+            long loaded = st.executeLargeUpdate(sql);
+            List<String> warnings = warnings(st);
+            if (loaded != expectedRows || !warnings.isEmpty()) {
+                throw new IllegalStateException(table + ": loaded " + loaded + " of " + expectedRows + " rows"
+                        + (warnings.isEmpty() ? "" : ", warnings " + warnings));
+            }
+            return loaded;
+        }
+    }
+
+    /** 직전 문장의 경고 (최대 10 개) */
+    private static List<String> warnings(Statement st) throws SQLException {
+        List<String> warnings = new ArrayList<>();
+        try (ResultSet rs = st.executeQuery("SHOW WARNINGS LIMIT 10")) {
+            while (rs.next()) {
+                warnings.add(rs.getString("Level") + " " + rs.getInt("Code") + ": " + rs.getString("Message"));
+            }
+        }
+        return warnings;
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (dir == null) return;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path f : files.toList()) {
+                Files.deleteIfExists(f);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.warn("[DAG Import] failed to delete temp dir {}", dir);
+        }
+    }
+
+    /**
+     * LOAD DATA 기본 형식(탭 구분, \ 이스케이프, NULL = \N) TSV 작성기.
+     * - 문자열을 CharsetEncoder 로 직접 1MB 버퍼에 인코딩, 가득 차면 채널로 write
+     */
+    static final class TsvWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final CharBuffer chars = CharBuffer.allocate(1 << 12);
+        private boolean firstField = true;
+
+        TsvWriter(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        TsvWriter field(Object value) throws IOException {
+            if (!firstField) putByte((byte) '\t');
+            firstField = false;
+            if (value == null) {
+                putByte((byte) '\\');
+                putByte((byte) 'N');
+                return this;
+            }
+            String s = value.toString();
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '\t' -> putEscaped('t');
+                    case '\n' -> putEscaped('n');
+                    case '\r' -> putEscaped('r');
+                    case '\\' -> putEscaped('\\');
+                    default -> putChar(c);
+                }
+            }
+            return this;
+        }
+
+        void endRow() throws IOException {
+            putByte((byte) '\n');
+            firstField = true;
+        }
+
+        private void putEscaped(char c) throws IOException {
+            putChar('\\');
+            putChar(c);
+        }
+
+        private void putChar(char c) throws IOException {
+            if (c < 0x80 && chars.position() == 0) {
+                putByte((byte) c);
+                return;
+            }
+            chars.put(c);
+            // 서로게이트 쌍은 뒷쪽 문자까지 모은 뒤 인코딩
+            if (!Character.isHighSurrogate(c)) encodeChars();
+        }
+
+        private void encodeChars() throws IOException {
+            chars.flip();
+            while (true) {
+                CoderResult r = encoder.encode(chars, buf, false);
+                if (r.isOverflow()) {
+                    drain();
+                } else {
+                    break;
+                }
+            }
+            chars.compact();
+        }
+
+        private void putByte(byte b) throws IOException {
+            if (!buf.hasRemaining()) drain();
+            buf.put(b);
+        }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
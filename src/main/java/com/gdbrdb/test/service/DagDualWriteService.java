@@ -0,0 +1,331 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.entity.mysql.DagVersionEntity;
+import com.gdbrdb.test.graph.GenerationNumbers;
+import com.gdbrdb.test.repository.mysql.DagVersionClosureRepository;
+import com.gdbrdb.test.repository.mysql.DagVersionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DagDualWriteService
+ * - 새 DAG 버전 적재 API 하나로 MySQL / Neo4j 를 함께 유지
+ *   1) MySQL: dag_version + dag_version_parents + dag_version_closure 를 한 트랜잭션으로 커밋
+ *   2) 커밋된 행을 큐에 넣고 바로 반환 -> 쓰기 지연은 MySQL 하나에만 의존
+ *   3) 백그라운드 스레드 하나가 큐를 batch-size / linger 단위로 모아 Neo4j UNWIND 로 반영
+ * - 백프레셔: 아직 Neo4j 에 반영되지 않은 행이 queue-capacity 개면
+ *   다음 쓰기는 MySQL 트랜잭션을 열기 전에 대기 (enqueue-timeout 을 넘기면 예외)
+ * - Neo4j 반영이 실패하면 같은 배치를 순서대로 재시도 (MERGE 라서 중복 없음)
+ * - 큐는 메모리에만 있으므로 프로세스가 죽으면 미반영분은 여기서는 유실됨
+ *   (같은 트랜잭션에 아웃박스 행도 남기므로 OutboxReplicator 가 켜져 있으면 거기서 다시 반영)
+ */
+@Service
+public class DagDualWriteService {
+
+    private static final Logger log = LoggerFactory.getLogger(DagDualWriteService.class);
+
+    /** 새 버전 입력 (createdTime 이 null 이면 현재 시각) */
+    public record NewVersion(String title, String content, String author,
+                             LocalDateTime createdTime, List<Long> parentIds) {
+    }
+
+    /**
+     * 복제 지표
+     *
+     * @param pending          MySQL 에는 커밋됐지만 Neo4j 에는 아직 없는 행 수
+     * @param lagMillis        그 중 가장 오래된 행이 기다린 시간 (없으면 0)
+     * @param lastApplyLagMillis 마지막 배치의 가장 오래된 행: MySQL 커밋 -> Neo4j 반영까지
+     */
+    public record Metrics(long enqueued, long applied, long pending, long lagMillis,
+                          long lastApplyLagMillis, long maxApplyLagMillis, int lastBatchSize,
+                          long batches, long failedBatches, long backpressureWaits) {
+    }
+
+    private record Pending(Map<String, Object> row, long committedNanos) {
+    }
+
+    private final DagVersionRepository dagMysqlRepo;
+    private final DagVersionClosureRepository dagClosureRepo;
+    private final Neo4jChunkedLoader neo4jLoader;
+    private final VersionOutboxService outboxService;
+    private final TransactionTemplate mysqlTx;
+
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long enqueueTimeoutMillis;
+    /** 허가 총수 = writeAll 한 번에 넣을 수 있는 최대 행 수 */
+    private final int queueCapacity;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    /** 미반영 행 수 제한 (허가 1개 = 행 1개, Neo4j 반영 후 반환) */
+    private final Semaphore capacity;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong backpressureWaits = new AtomicLong();
+    private volatile long lastApplyLagMillis;
+    private volatile long maxApplyLagMillis;
+    private volatile int lastBatchSize;
+    /** 적용 중인 배치의 가장 오래된 커밋 시각 (없으면 0) */
+    private volatile long inFlightSinceNanos;
+
+    private final Object appliedMonitor = new Object();
+    private Thread drainer;
+    private volatile boolean running;
+
+    public DagDualWriteService(DagVersionRepository dagMysqlRepo,
+                               DagVersionClosureRepository dagClosureRepo,
+                               Neo4jChunkedLoader neo4jLoader,
+                               VersionOutboxService outboxService,
+                               @Qualifier("transactionManager") PlatformTransactionManager transactionManager,
+                               @Value("${dualwrite.batch-size:500}") int batchSize,
+                               @Value("${dualwrite.linger-ms:20}") long lingerMillis,
+                               @Value("${dualwrite.queue-capacity:10000}") int queueCapacity,
+                               @Value("${dualwrite.enqueue-timeout-ms:30000}") long enqueueTimeoutMillis) {
+        this.dagMysqlRepo = dagMysqlRepo;
+        this.dagClosureRepo = dagClosureRepo;
+        this.neo4jLoader = neo4jLoader;
+        this.outboxService = outboxService;
+        this.mysqlTx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+        this.queueCapacity = Math.max(this.batchSize, queueCapacity);
+        this.capacity = new Semaphore(this.queueCapacity);
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+    }
+
+    /** 단건 적재 (MySQL 커밋까지만 기다림) */
+    public DagVersionEntity write(NewVersion version) {
+        return writeAll(List.of(version)).get(0);
+    }
+
+    /**
+     * 여러 건을 MySQL 트랜잭션 하나로 커밋한 뒤 Neo4j 큐에 넣음.
+     * - 목록 안에서 뒤 항목이 앞 항목을 부모로 쓸 수는 없음 (ID 는 저장 후에 정해지므로)
+     * - 한 번에 queue-capacity 개까지 (넘으면 허가를 다 받을 수 없어 항상 타임아웃이므로 바로 거절)
+     */
+    public List<DagVersionEntity> writeAll(List<NewVersion> versions) {
+        if (versions.isEmpty()) return List.of();
+        if (versions.size() > queueCapacity) {
+            throw new IllegalArgumentException("batch of " + versions.size()
+                    + " versions exceeds dualwrite.queue-capacity " + queueCapacity + "; split it into smaller writeAll calls");
+        }
+        int permits = versions.size();
+        acquire(permits);
+
+        List<Pending> pending = new ArrayList<>(permits);
+        List<DagVersionEntity> saved;
+        try {
+            saved = mysqlTx.execute(status -> {
+                List<DagVersionEntity> result = new ArrayList<>(versions.size());
+                for (NewVersion v : versions) {
+                    result.add(insertMySql(v, pending));
+                }
+                return result;
+            });
+        } catch (RuntimeException e) {
+            capacity.release(permits);
+            throw e;
+        }
+
+        // 커밋 확정 후에만 큐에 넣음 (롤백된 행이 Neo4j 로 가지 않도록)
+        long committed = System.nanoTime();
+        for (Pending p : pending) {
+            queue.add(new Pending(p.row(), committed));
+        }
+        enqueued.addAndGet(pending.size());
+        ensureStarted();
+        return saved;
+    }
+
+    private void acquire(int permits) {
+        if (capacity.tryAcquire(permits)) return;
+        backpressureWaits.incrementAndGet();
+        try {
+            if (!capacity.tryAcquire(permits, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("neo4j replication is behind: " + queue.size()
+                        + " rows pending, gave up after " + enqueueTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for neo4j replication", e);
+        }
+    }
+
+    /** createMySQLVersion 과 같은 방식: 엔티티 저장 + 클로저 행 + 아웃박스 행 */
+    private DagVersionEntity insertMySql(NewVersion v, List<Pending> pending) {
+        DagVersionEntity entity = new DagVersionEntity();
+        entity.setTitle(v.title());
+        entity.setContent(v.content());
+        entity.setAuthor(v.author());
+        entity.setCreatedTime(v.createdTime() != null ? v.createdTime() : LocalDateTime.now());
+
+        List<Long> parentIds = new ArrayList<>();
+        if (v.parentIds() != null && !v.parentIds().isEmpty()) {
+            List<DagVersionEntity> parents = dagMysqlRepo.findAllById(v.parentIds());
+            if (parents.size() != new HashSet<>(v.parentIds()).size()) {
+                throw new IllegalArgumentException("unknown parent id in " + v.parentIds());
+            }
+            for (DagVersionEntity p : parents) {
+                entity.addParent(p);
+                parentIds.add(p.getId());
+            }
+            entity.setGeneration(GenerationNumbers.next(parents.stream().map(DagVersionEntity::getGeneration).toList()));
+        } else {
+            entity.setGeneration(1);
+        }
+        DagVersionEntity saved = dagMysqlRepo.save(entity);
+
+        dagClosureRepo.insertSelf(saved.getId());
+        if (!parentIds.isEmpty()) {
+            dagClosureRepo.insertFromParents(saved.getId(), parentIds);
+        }
+
+        outboxService.dagVersionCreated(saved, parentIds);
+
+        pending.add(new Pending(VersionOutboxService.dagRow(saved, parentIds), 0));
+        return saved;
+    }
+
+    /* ======================= */
+    /*      Neo4j 반영 스레드      */
+    /* ======================= */
+
+    private synchronized void ensureStarted() {
+        if (drainer != null) return;
+        running = true;
+        drainer = new Thread(this::drainLoop, "dag-dual-write-neo4j");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 행 이후 linger 동안 batch-size 까지 더 모음
+                long deadline = System.nanoTime() + lingerNanos;
+                queue.drainTo(batch, batchSize - batch.size());
+                while (batch.size() < batchSize) {
+                    long wait = deadline - System.nanoTime();
+                    if (wait <= 0) break;
+                    Pending next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                applyWithRetry(batch);
+            } catch (InterruptedException e) {
+                // stop() 이 제한 시간 안에 못 끝낸 경우
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void applyWithRetry(List<Pending> batch) throws InterruptedException {
+        List<Map<String, Object>> rows = new ArrayList<>(batch.size());
+        for (Pending p : batch) {
+            rows.add(p.row());
+        }
+        long oldest = batch.get(0).committedNanos();
+        inFlightSinceNanos = oldest;
+
+        long backoff = 100;
+        while (true) {
+            try {
+                neo4jLoader.applyBatch(Neo4jChunkedLoader.Label.DAG, rows);
+                break;
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                log.warn("[DualWrite] neo4j batch of {} failed, retrying in {}ms: {}", rows.size(), backoff, e.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, 5_000);
+            }
+        }
+
+        long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+        lastApplyLagMillis = lag;
+        maxApplyLagMillis = Math.max(maxApplyLagMillis, lag);
+        lastBatchSize = batch.size();
+        batches.incrementAndGet();
+        inFlightSinceNanos = 0;
+        synchronized (appliedMonitor) {
+            applied.addAndGet(batch.size());
+            appliedMonitor.notifyAll();
+        }
+        capacity.release(batch.size());
+    }
+
+    /**
+     * 지금까지 커밋된 행이 모두 Neo4j 에 반영될 때까지 대기
+     *
+     * @return 제한 시간 안에 따라잡았으면 true
+     */
+    public boolean awaitReplication(long timeoutMillis) throws InterruptedException {
+        long target = enqueued.get();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (appliedMonitor) {
+            while (applied.get() < target) {
+                long wait = deadline - System.currentTimeMillis();
+                if (wait <= 0) return false;
+                appliedMonitor.wait(wait);
+            }
+        }
+        return true;
+    }
+
+    public Metrics metrics() {
+        long now = System.nanoTime();
+        long oldest = inFlightSinceNanos;
+        Pending head = queue.peek();
+        if (oldest == 0 && head != null) oldest = head.committedNanos();
+        long lag = oldest == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(now - oldest);
+        long appliedRows = applied.get();
+        long enqueuedRows = enqueued.get();
+        return new Metrics(enqueuedRows, appliedRows, enqueuedRows - appliedRows, lag,
+                lastApplyLagMillis, maxApplyLagMillis, lastBatchSize,
+                batches.get(), failedBatches.get(), backpressureWaits.get());
+    }
+
+    /** 종료 시 남은 큐를 Neo4j 에 반영하고 멈춤 */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread t;
+        synchronized (this) {
+            t = drainer;
+            running = false;
+        }
+        if (t == null) return;
+        t.join(TimeUnit.SECONDS.toMillis(30));
+        if (t.isAlive()) {
+            log.warn("[DualWrite] stopped with {} rows not replicated to neo4j", queue.size());
+            t.interrupt();
+        }
+    }
+}
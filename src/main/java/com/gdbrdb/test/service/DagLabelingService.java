@@ -0,0 +1,89 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.graph.PrunedLandmarkLabeling;
+import com.gdbrdb.test.graph.VersionGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * DagLabelingService
+ * - dag_version_parents 그래프 위의 2-hop(pruned landmark) 라벨링 인덱스
+ * - 전이 폐포 비트맵(DagReachabilityService)은 노드 수 제곱에 비례해 커지므로,
+ *   수천만 노드 규모에서는 이쪽을 사용
+ * - 구성 결과는 graph.labeling.path 에 저장하고, 다음 기동 때는 파일에서 읽음
+ */
+@Service
+public class DagLabelingService {
+
+    private static final Logger log = LoggerFactory.getLogger(DagLabelingService.class);
+
+    private final GraphEngineService graphEngineService;
+    private final Path labelingPath;
+    private final int parallelism;
+
+    private volatile PrunedLandmarkLabeling labeling;
+
+    public DagLabelingService(GraphEngineService graphEngineService,
+                              @Value("${graph.labeling.path:./build/graph/dag-labeling.pll}") String labelingPath,
+                              @Value("${graph.labeling.parallelism:0}") int parallelism) {
+        this.graphEngineService = graphEngineService;
+        this.labelingPath = Path.of(labelingPath);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /** DB 에서 그래프를 새로 읽어 라벨링을 만들고 파일로 저장 */
+    public PrunedLandmarkLabeling build() {
+        VersionGraph graph = graphEngineService.loadDagGraph();
+        long start = System.currentTimeMillis();
+        PrunedLandmarkLabeling built = PrunedLandmarkLabeling.build(graph, parallelism);
+        long buildTime = System.currentTimeMillis() - start;
+        try {
+            built.write(labelingPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write landmark labeling: " + labelingPath, e);
+        }
+        this.labeling = built;
+
+        log.info("[DagLabeling] built : nodes={}, labels={}, avgLabel={}, memory={} bytes, parallelism={}, buildTime={}ms",
+                built.capacity(), built.labelCount(), String.format("%.2f", built.averageLabelSize()),
+                built.memoryBytes(), parallelism, buildTime);
+        return built;
+    }
+
+    /** 저장된 라벨링 파일 로딩 */
+    public PrunedLandmarkLabeling load() {
+        long start = System.currentTimeMillis();
+        try {
+            this.labeling = PrunedLandmarkLabeling.read(labelingPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read landmark labeling: " + labelingPath, e);
+        }
+        log.info("[DagLabeling] loaded {} : nodes={}, memory={} bytes, time={}ms",
+                labelingPath, labeling.capacity(), labeling.memoryBytes(), System.currentTimeMillis() - start);
+        return labeling;
+    }
+
+    public PrunedLandmarkLabeling getLabeling() {
+        if (labeling == null) {
+            synchronized (this) {
+                if (labeling == null) {
+                    if (Files.exists(labelingPath)) load();
+                    else build();
+                }
+            }
+        }
+        return labeling;
+    }
+
+    /** ancestorId 에서 descendantId 로 도달 가능한지 (같으면 true) */
+    public boolean isAncestor(long ancestorId, long descendantId) {
+        return getLabeling().reach(Math.toIntExact(ancestorId), Math.toIntExact(descendantId));
+    }
+}
@@ -0,0 +1,209 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.repository.mysql.DagVersionClosureRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * DagLayeredLoader
+ * - dag_version 을 위상 계층(layer) 단위로 병렬 적재
+ *   layer 0 = 입력 안에 부모가 없는 노드, layer k = 입력 안 부모의 최대 layer + 1
+ * - 계층 k 의 노드 청크와 계층 k-1 의 간선 청크를 가상 스레드로 동시에 씀
+ *   (간선 FK 는 양 끝 노드가 이미 커밋돼 있어야 하므로 간선은 한 계층 늦게)
+ * - 동시에 잡는 커넥션 수는 세마포어로 max-connections 개로 제한 (Hikari 풀보다 작게)
+ * - 청크마다 따로 커밋하므로 중간에 실패하면 앞 청크들은 남음 (PK 충돌로 바로 드러남)
+ * - parallelism = 1 이면 같은 코드로 커넥션 하나에서 순서대로 씀 (속도 비교용 기준선)
+ */
+@Service
+public class DagLayeredLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(DagLayeredLoader.class);
+
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    public record LoadStat(int layers, long nodes, long edges, int connections,
+                           long loadMillis, long closureMillis) {
+
+        public long nodesPerSecond() {
+            return nodes * 1000L / Math.max(1, loadMillis);
+        }
+    }
+
+    private final DataSource dataSource;
+    private final DagVersionClosureRepository closureRepo;
+    private final int maxConnections;
+    private final int chunkSize;
+
+    public DagLayeredLoader(DataSource dataSource,
+                            DagVersionClosureRepository closureRepo,
+                            @Value("${dag.layered.max-connections:8}") int maxConnections,
+                            @Value("${dag.layered.chunk-size:2000}") int chunkSize) {
+        this.dataSource = dataSource;
+        this.closureRepo = closureRepo;
+        this.maxConnections = Math.max(1, maxConnections);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public LoadStat load(List<DagBulkImportService.NodeRow> rows) {
+        return load(rows, maxConnections);
+    }
+
+    /**
+     * @param rows        부모는 입력 안의 앞쪽 노드이거나 이미 DB 에 있는 노드
+     * @param connections 동시에 쓸 커넥션 수 (1 = 순차)
+     */
+    public LoadStat load(List<DagBulkImportService.NodeRow> rows, int connections) {
+        if (rows.isEmpty()) return new LoadStat(0, 0, 0, connections, 0, 0);
+        List<List<DagBulkImportService.NodeRow>> layers = layers(rows);
+        long minId = rows.stream().mapToLong(DagBulkImportService.NodeRow::id).min().getAsLong();
+
+        long start = System.currentTimeMillis();
+        long edges = 0;
+        Semaphore permits = new Semaphore(connections);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int k = 0; k <= layers.size(); k++) {
+                List<Future<?>> futures = new ArrayList<>();
+                if (k < layers.size()) {
+                    for (List<DagBulkImportService.NodeRow> chunk : chunks(layers.get(k))) {
+                        futures.add(executor.submit(() -> withConnection(permits, conn -> insertNodes(conn, chunk))));
+                    }
+                }
+                if (k > 0) {
+                    for (List<DagBulkImportService.NodeRow> chunk : chunks(layers.get(k - 1))) {
+                        futures.add(executor.submit(() -> withConnection(permits, conn -> insertEdges(conn, chunk))));
+                    }
+                    for (DagBulkImportService.NodeRow row : layers.get(k - 1)) {
+                        edges += row.parentIds() == null ? 0 : row.parentIds().length;
+                    }
+                }
+                awaitAll(futures);
+            }
+        }
+        long loadMillis = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        closureRepo.backfillFrom(minId);
+        long closureMillis = System.currentTimeMillis() - start;
+
+        LoadStat stat = new LoadStat(layers.size(), rows.size(), edges, connections, loadMillis, closureMillis);
+        log.info("[MySQL DAG Layered] layers={}, nodes={}, edges={}, connections={}, load={}ms ({} nodes/s), closure={}ms",
+                stat.layers(), stat.nodes(), stat.edges(), connections, loadMillis, stat.nodesPerSecond(), closureMillis);
+        return stat;
+    }
+
+    /**
+     * ID 순서로 한 번 훑으며 계층 번호 계산 (부모 ID < 자식 ID 전제)
+     * - 계층 번호는 [minId, maxId] 를 인덱스로 하는 int 배열에 (-1 = 입력에 없는 ID)
+     */
+    static List<List<DagBulkImportService.NodeRow>> layers(List<DagBulkImportService.NodeRow> rows) {
+        List<DagBulkImportService.NodeRow> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(DagBulkImportService.NodeRow::id));
+
+        long minId = sorted.get(0).id();
+        int[] layerOf = new int[Math.toIntExact(sorted.get(sorted.size() - 1).id() - minId + 1)];
+        Arrays.fill(layerOf, -1);
+        List<List<DagBulkImportService.NodeRow>> layers = new ArrayList<>();
+        for (DagBulkImportService.NodeRow row : sorted) {
+            int layer = 0;
+            if (row.parentIds() != null) {
+                for (long p : row.parentIds()) {
+                    if (p >= row.id()) {
+                        throw new IllegalArgumentException("parent " + p + " must be older than child " + row.id());
+                    }
+                    // 입력 밖(이미 DB 에 있는) 부모는 -1 -> 계층 0
+                    if (p >= minId) layer = Math.max(layer, layerOf[(int) (p - minId)] + 1);
+                }
+            }
+            layerOf[(int) (row.id() - minId)] = layer;
+            while (layers.size() <= layer) layers.add(new ArrayList<>());
+            layers.get(layer).add(row);
+        }
+        return layers;
+    }
+
+    private List<List<DagBulkImportService.NodeRow>> chunks(List<DagBulkImportService.NodeRow> layer) {
+        List<List<DagBulkImportService.NodeRow>> chunks = new ArrayList<>();
+        for (int from = 0; from < layer.size(); from += chunkSize) {
+            chunks.add(layer.subList(from, Math.min(layer.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private static void insertNodes(Connection conn, List<DagBulkImportService.NodeRow> chunk) throws SQLException {
+        try (MultiRowInsert nodes = new MultiRowInsert(conn,
+                "INSERT INTO dag_version (id, title, content, author, created_time, generation) VALUES ",
+                6, ROWS_PER_STATEMENT)) {
+            for (DagBulkImportService.NodeRow row : chunk) {
+                nodes.add(row.id(), row.title(), row.content(), row.author(), row.createdTime(), row.generation());
+            }
+            nodes.flush();
+        }
+    }
+
+    private static void insertEdges(Connection conn, List<DagBulkImportService.NodeRow> chunk) throws SQLException {
+        try (MultiRowInsert edges = new MultiRowInsert(conn,
+                "INSERT INTO dag_version_parents (child_version_id, parent_version_id) VALUES ",
+                2, ROWS_PER_STATEMENT)) {
+            for (DagBulkImportService.NodeRow row : chunk) {
+                if (row.parentIds() == null) continue;
+                for (long p : row.parentIds()) {
+                    edges.add(row.id(), p);
+                }
+            }
+            edges.flush();
+        }
+    }
+
+    private interface ConnectionWork {
+        void run(Connection conn) throws SQLException;
+    }
+
+    /** 커넥션 허가를 받은 뒤 트랜잭션 하나로 실행 */
+    private Void withConnection(Semaphore permits, ConnectionWork work) throws SQLException, InterruptedException {
+        permits.acquire();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                work.run(conn);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            permits.release();
+        }
+        return null;
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("layered load interrupted", e);
+            } catch (ExecutionException e) {
+                futures.forEach(other -> other.cancel(true));
+                throw new IllegalStateException("layered load failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+}
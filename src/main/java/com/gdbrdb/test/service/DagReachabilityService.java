@@ -0,0 +1,116 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.entity.mysql.DagVersionEntity;
+import com.gdbrdb.test.graph.IntBitmap;
+import com.gdbrdb.test.graph.ReachabilityIndex;
+import com.gdbrdb.test.repository.mysql.DagVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * DagReachabilityService
+ * - dag_version 의 노드별 조상 집합을 압축 비트맵으로 들고 있는 도달성 인덱스
+ * - author / title 별 posting 비트맵도 같이 만들어서
+ *   시나리오 A 를 '조상 비트맵 AND author 비트맵 AND title 비트맵' 으로 계산
+ * - 인덱스는 build() 시점 스냅샷. 이후 추가된 노드는 반영되지 않으므로 다시 build() 할 것
+ */
+@Service
+@RequiredArgsConstructor
+public class DagReachabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(DagReachabilityService.class);
+
+    private final DataSource dataSource;
+    private final GraphEngineService graphEngineService;
+    private final DagVersionRepository mysqlRepo;
+
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(ReachabilityIndex index,
+                            Map<String, IntBitmap> byAuthor,
+                            Map<String, IntBitmap> byTitle) {
+    }
+
+    /** dag 그래프를 새로 읽어 인덱스 + posting 비트맵을 다시 만듦 */
+    public void build() {
+        long start = System.currentTimeMillis();
+        ReachabilityIndex index = ReachabilityIndex.build(graphEngineService.loadDagGraph());
+        long indexTime = System.currentTimeMillis() - start;
+
+        Map<String, IntBitmap> byAuthor = new HashMap<>();
+        Map<String, IntBitmap> byTitle = new HashMap<>();
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(Integer.MIN_VALUE);
+        streaming.query("SELECT id, author, title FROM dag_version", rs -> {
+            int id = Math.toIntExact(rs.getLong(1));
+            String author = rs.getString(2);
+            String title = rs.getString(3);
+            if (author != null) byAuthor.computeIfAbsent(author, k -> new IntBitmap()).add(id);
+            if (title != null) byTitle.computeIfAbsent(title, k -> new IntBitmap()).add(id);
+        });
+        this.snapshot = new Snapshot(index, byAuthor, byTitle);
+
+        log.info("[DagReachability] built : nodes={}, indexMemory={} bytes, authors={}, titles={}, indexTime={}ms, totalTime={}ms",
+                index.capacity(), index.memoryBytes(), byAuthor.size(), byTitle.size(),
+                indexTime, System.currentTimeMillis() - start);
+    }
+
+    private Snapshot snapshot() {
+        if (snapshot == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    build();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /** 비트 하나 확인 (자기 자신은 true, 기존 isAncestor 와 동일) */
+    public boolean isAncestor(long ancestorId, long descendantId) {
+        if (ancestorId == descendantId) return true;
+        return snapshot().index().isAncestor(Math.toIntExact(ancestorId), Math.toIntExact(descendantId));
+    }
+
+    /**
+     * 시나리오 A : 조상 중 author = :author AND title LIKE %titlePart% 인 ID 목록
+     * - title 은 MySQL 기본 collation 과 맞추어 대소문자 무시 부분 일치
+     */
+    public int[] findAncestorIdsByAuthorTitle(long startId, String author, String titlePart) {
+        Snapshot s = snapshot();
+        IntBitmap authorBitmap = s.byAuthor().get(author);
+        if (authorBitmap == null) return new int[0];
+
+        IntBitmap titleBitmap = new IntBitmap();
+        String needle = titlePart.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, IntBitmap> e : s.byTitle().entrySet()) {
+            if (e.getKey().toLowerCase(Locale.ROOT).contains(needle)) {
+                titleBitmap.orInPlace(e.getValue());
+            }
+        }
+        return s.index().ancestors(Math.toIntExact(startId))
+                .and(authorBitmap)
+                .and(titleBitmap)
+                .toArray();
+    }
+
+    /** 시나리오 A 엔티티 버전 : 비트맵으로 ID 를 구한 뒤 PK 로 한 번에 조회 */
+    public List<DagVersionEntity> findAncestorsByAuthorTitle(long startId, String author, String titlePart) {
+        int[] ids = findAncestorIdsByAuthorTitle(startId, author, titlePart);
+        List<Long> keys = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            keys.add((long) id);
+        }
+        return mysqlRepo.findAllById(keys);
+    }
+}
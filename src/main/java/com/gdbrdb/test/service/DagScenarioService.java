@@ -1,7 +1,13 @@
 package com.gdbrdb.test.service;
 
+import com.gdbrdb.test.entity.mysql.ClosureDepthRow;
 import com.gdbrdb.test.entity.mysql.DagVersionEntity;
+import com.gdbrdb.test.entity.mysql.DagVersionSummary;
+import com.gdbrdb.test.entity.mysql.VersionClosureId;
 import com.gdbrdb.test.entity.neo4j.DagVersionNode;
+import com.gdbrdb.test.graph.DepthCursor;
+import com.gdbrdb.test.graph.TraversalPage;
+import com.gdbrdb.test.repository.mysql.DagVersionClosureRepository;
 import com.gdbrdb.test.repository.mysql.DagVersionRepository;
 import com.gdbrdb.test.repository.neo4j.DagVersionNodeRepository;
 import lombok.RequiredArgsConstructor;
@@ -9,13 +15,19 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class DagScenarioService {
 
     private final DagVersionRepository mysqlRepo;
+    private final DagVersionClosureRepository closureRepo;
     private final DagVersionNodeRepository neoRepo;
+    private final DagReachabilityService reachabilityService;
+    private final DagLabelingService labelingService;
+    private final Neo4jGraphReader neoReader;
+    private final MySqlRowStreamer rowStreamer;
 
     // 시나리오 A) 조상 중 특정 author & title
     public List<DagVersionEntity> findMySqlAncestorsByAuthorTitle(Long startId, String author, String titlePart) {
@@ -55,4 +67,188 @@ public class DagScenarioService {
     public List<DagVersionNode> findNeoUpTo3StepsByAuthorTitle(String startId, String author, String titlePart) {
         return neoRepo.findUpTo3StepsByAuthorTitle(startId, author, titlePart);
     }
+
+    // --- 노드 단위(visited-set) 탐색 A/B/C/E ---
+    public List<DagVersionEntity> findMySqlAncestorsByAuthorTitleNodeUnique(Long startId, String author, String titlePart) {
+        return mysqlRepo.findAncestorsByAuthorAndTitleNodeUnique(startId, author, titlePart);
+    }
+
+    public List<DagVersionNode> findNeoAncestorsByAuthorTitleNodeUnique(String startId, String author, String titlePart) {
+        return neoRepo.findAncestorsByAuthorAndTitleNodeUnique(startId, author, titlePart);
+    }
+
+    public List<DagVersionEntity> findMySqlDescendantsCreatedAfterNodeUnique(Long startId, LocalDateTime threshold) {
+        return mysqlRepo.findDescendantsCreatedAfterNodeUnique(startId, threshold.toString());
+    }
+
+    public List<DagVersionNode> findNeoDescendantsCreatedAfterNodeUnique(String startId, LocalDateTime threshold) {
+        return neoRepo.findDescendantsCreatedAfterNodeUnique(startId, threshold);
+    }
+
+    public DagVersionEntity findMySqlLatestCommonAncestorNodeUnique(Long idA, Long idB) {
+        return mysqlRepo.findLatestCommonAncestorNodeUnique(idA, idB);
+    }
+
+    public DagVersionNode findNeoLatestCommonAncestorNodeUnique(String idA, String idB) {
+        return neoRepo.findLatestCommonAncestorNodeUnique(idA, idB);
+    }
+
+    public List<DagVersionEntity> findMySqlUpTo3StepsByAuthorTitleNodeUnique(Long startId, String author, String titlePart) {
+        return mysqlRepo.findUpTo3StepsByAuthorTitleNodeUnique(startId, author, titlePart);
+    }
+
+    public List<DagVersionNode> findNeoUpTo3StepsByAuthorTitleNodeUnique(String startId, String author, String titlePart) {
+        return neoRepo.findUpTo3StepsByAuthorTitleNodeUnique(startId, author, titlePart);
+    }
+
+    // --- 도달성 (generation 가지치기) ---
+    public boolean isMySqlAncestor(Long ancestorId, Long descendantId) {
+        if (ancestorId.equals(descendantId)) return true;
+        Integer ancestorGen = mysqlRepo.findGenerationById(ancestorId);
+        Integer descendantGen = mysqlRepo.findGenerationById(descendantId);
+        if (ancestorGen == null || descendantGen == null) {
+            return closureRepo.existsById(new VersionClosureId(ancestorId, descendantId));
+        }
+        // 조상은 항상 generation 이 더 작으므로, 아니면 탐색 없이 false
+        if (ancestorGen >= descendantGen) return false;
+        Long hits = mysqlRepo.countReachableWithGenerationPruning(ancestorId, descendantId, ancestorGen);
+        return hits != null && hits > 0;
+    }
+
+    public boolean isNeoAncestor(String ancestorId, String descendantId) {
+        if (ancestorId.equals(descendantId)) return true;
+        return Boolean.TRUE.equals(neoRepo.isAncestor(ancestorId, descendantId));
+    }
+
+    // --- 압축 비트맵 도달성 인덱스 (메모리) ---
+    public boolean isAncestorViaBitmap(Long ancestorId, Long descendantId) {
+        return reachabilityService.isAncestor(ancestorId, descendantId);
+    }
+
+    public List<DagVersionEntity> findAncestorsByAuthorTitleViaBitmap(Long startId, String author, String titlePart) {
+        return reachabilityService.findAncestorsByAuthorTitle(startId, author, titlePart);
+    }
+
+    // --- 2-hop 라벨링 도달성 인덱스 (메모리) ---
+    public boolean isAncestorViaLabeling(Long ancestorId, Long descendantId) {
+        return labelingService.isAncestor(ancestorId, descendantId);
+    }
+
+    // --- 클로저 테이블 기반 (MySQL) ---
+    public List<DagVersionEntity> findMySqlAncestorsByAuthorTitleViaClosure(Long startId, String author, String titlePart) {
+        return mysqlRepo.findAncestorsByAuthorAndTitleViaClosure(startId, author, titlePart);
+    }
+
+    public List<DagVersionEntity> findMySqlDescendantsCreatedAfterViaClosure(Long startId, LocalDateTime threshold) {
+        return mysqlRepo.findDescendantsCreatedAfterViaClosure(startId, threshold.toString());
+    }
+
+    public DagVersionEntity findMySqlLatestCommonAncestorViaClosure(Long idA, Long idB) {
+        return mysqlRepo.findLatestCommonAncestorViaClosure(idA, idB);
+    }
+
+    public List<DagVersionEntity> findMySqlUpTo3StepsByAuthorTitleViaClosure(Long startId, String author, String titlePart) {
+        return mysqlRepo.findUpTo3StepsByAuthorTitleViaClosure(startId, author, titlePart);
+    }
+
+    // --- 프로젝션 (MySQL, content / parents 없이) ---
+    public List<DagVersionSummary> findMySqlAncestorSummariesByAuthorTitle(Long startId, String author, String titlePart) {
+        return mysqlRepo.findAncestorSummariesByAuthorAndTitle(startId, author, titlePart);
+    }
+
+    public List<DagVersionSummary> findMySqlDescendantSummariesCreatedAfter(Long startId, LocalDateTime threshold) {
+        return mysqlRepo.findDescendantSummariesCreatedAfter(startId, threshold.toString());
+    }
+
+    public Long findMySqlLatestCommonAncestorId(Long idA, Long idB) {
+        return mysqlRepo.findLatestCommonAncestorId(idA, idB);
+    }
+
+    public List<DagVersionSummary> findMySqlUpTo3StepsSummariesByAuthorTitle(Long startId, String author, String titlePart) {
+        return mysqlRepo.findUpTo3StepsSummariesByAuthorTitle(startId, author, titlePart);
+    }
+
+    public List<Long> findMySqlAncestorIdsByAuthorTitleViaClosure(Long startId, String author, String titlePart) {
+        return mysqlRepo.findAncestorIdsByAuthorAndTitleViaClosure(startId, author, titlePart);
+    }
+
+    public List<Long> findMySqlDescendantIdsCreatedAfterViaClosure(Long startId, LocalDateTime threshold) {
+        return mysqlRepo.findDescendantIdsCreatedAfterViaClosure(startId, threshold.toString());
+    }
+
+    public List<Long> findMySqlUpTo3StepsIdsByAuthorTitleViaClosure(Long startId, String author, String titlePart) {
+        return mysqlRepo.findUpTo3StepsIdsByAuthorTitleViaClosure(startId, author, titlePart);
+    }
+
+    // --- 프로젝션 (Neo4j, SDN 매핑 없이 Driver 로 필요한 속성만) ---
+    public List<Neo4jGraphReader.DagNodeSummary> findNeoAncestorSummariesByAuthorTitle(String startId, String author, String titlePart) {
+        return neoReader.findDagAncestorSummariesByAuthorTitle(startId, author, titlePart);
+    }
+
+    public List<Neo4jGraphReader.DagNodeSummary> findNeoDescendantSummariesCreatedAfter(String startId, LocalDateTime threshold) {
+        return neoReader.findDagDescendantSummariesCreatedAfter(startId, threshold);
+    }
+
+    public String findNeoLatestCommonAncestorId(String idA, String idB) {
+        return neoReader.findDagLatestCommonAncestorId(idA, idB);
+    }
+
+    public List<Neo4jGraphReader.DagNodeSummary> findNeoUpTo3StepsSummariesByAuthorTitle(String startId, String author, String titlePart) {
+        return neoReader.findDagUpTo3StepsSummariesByAuthorTitle(startId, author, titlePart);
+    }
+
+    // --- 스트림 (A/B, 결과를 모으지 않고 흘려보냄, try-with-resources 로 닫을 것) ---
+    public Stream<Long> streamMySqlAncestorIdsByAuthorTitle(Long startId, String author, String titlePart) {
+        return rowStreamer.stream("""
+                SELECT dv.id
+                FROM dag_version_closure c
+                JOIN dag_version dv ON dv.id = c.ancestor_id
+                WHERE c.descendant_id = ?
+                  AND c.depth > 0
+                  AND dv.author = ?
+                  AND dv.title LIKE CONCAT('%', ?, '%')
+                """, rs -> rs.getLong(1), startId, author, titlePart);
+    }
+
+    public Stream<Long> streamMySqlDescendantIdsCreatedAfter(Long startId, LocalDateTime threshold) {
+        return rowStreamer.stream("""
+                SELECT dv.id
+                FROM dag_version_closure c
+                JOIN dag_version dv ON dv.id = c.descendant_id
+                WHERE c.ancestor_id = ?
+                  AND c.depth > 0
+                  AND dv.created_time >= ?
+                """, rs -> rs.getLong(1), startId, threshold);
+    }
+
+    public Stream<String> streamNeoAncestorIdsByAuthorTitle(String startId, String author, String titlePart) {
+        return neoReader.streamDagAncestorIdsByAuthorTitle(startId, author, titlePart);
+    }
+
+    public Stream<String> streamNeoDescendantIdsCreatedAfter(String startId, LocalDateTime threshold) {
+        return neoReader.streamDagDescendantIdsCreatedAfter(startId, threshold);
+    }
+
+    // --- 페이지 ((depth, id) 키셋, pageToken null = 첫 페이지) ---
+    public TraversalPage findMySqlDescendantPage(Long startId, String pageToken, int pageSize) {
+        DepthCursor after = DepthCursor.decode(pageToken);
+        List<ClosureDepthRow> rows = mysqlRepo.findDescendantPageByClosure(
+                startId, after.depth(), after.id(), TraversalPage.fetchLimit(pageSize));
+        return TraversalPage.of(rows.stream().map(ClosureDepthRow::toCursor).toList(), pageSize);
+    }
+
+    public TraversalPage findMySqlAncestorPage(Long startId, String pageToken, int pageSize) {
+        DepthCursor after = DepthCursor.decode(pageToken);
+        List<ClosureDepthRow> rows = mysqlRepo.findAncestorPageByClosure(
+                startId, after.depth(), after.id(), TraversalPage.fetchLimit(pageSize));
+        return TraversalPage.of(rows.stream().map(ClosureDepthRow::toCursor).toList(), pageSize);
+    }
+
+    public TraversalPage findNeoDescendantPage(String startId, String pageToken, int pageSize) {
+        return neoReader.findDagDescendantPage(startId, DepthCursor.decode(pageToken), pageSize);
+    }
+
+    public TraversalPage findNeoAncestorPage(String startId, String pageToken, int pageSize) {
+        return neoReader.findDagAncestorPage(startId, DepthCursor.decode(pageToken), pageSize);
+    }
 }
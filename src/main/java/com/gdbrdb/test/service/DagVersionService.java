@@ -1,170 +1,227 @@
 package com.gdbrdb.test.service;
 
-import com.gdbrdb.test.entity.mysql.DagVersionEntity;
-import com.gdbrdb.test.entity.neo4j.DagVersionNode;
+import com.gdbrdb.test.generator.GraphShape;
+import com.gdbrdb.test.generator.GraphShapes;
+import com.gdbrdb.test.generator.HistorySink;
+import com.gdbrdb.test.generator.SyntheticHistoryGenerator;
+import com.gdbrdb.test.generator.SyntheticNode;
+import com.gdbrdb.test.repository.mysql.DagVersionClosureRepository;
 import com.gdbrdb.test.repository.mysql.DagVersionRepository;
 import com.gdbrdb.test.repository.neo4j.DagVersionNodeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.Month;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class DagVersionService {
 
     private final DagVersionRepository dagMysqlRepo;
+    private final DagVersionClosureRepository dagClosureRepo;
     private final DagVersionNodeRepository dagNeoRepo;
+    private final DagBulkImportService bulkImportService;
+    private final Neo4jChunkedLoader neo4jLoader;
+    private final DagLayeredLoader layeredLoader;
 
     private static final int DAG_SCALE = 10000;
 
-    private static final List<String> AUTHORS = List.of("kanguk", "youngjin", "chulsu", "younghee");
-    private static final List<String> SAMPLE_TITLES = List.of(
-            "hwp 파일 수정", "pdf 파일 수정", "문서 작업", "기획서 수정", "ppt 슬라이드 변경"
-    );
+    /** 합성 DAG 시드 (같은 시드 = 두 DB 에 같은 그래프) */
+    @Value("${generator.seed:42}")
+    private long seed;
+
+    /** 합성 DAG 모양 (GraphShapes.parse 형식, 기본은 부모 1~3개 균등) */
+    @Value("${generator.dag-shape:uniform-dag:3}")
+    private String shapeSpec;
 
     public void generateDagData() {
-        long start = System.currentTimeMillis();
-        long startMem = getUsedMemory();
+        generateDagData(seed, DAG_SCALE);
+    }
 
-        // 1) 미리 "child->parents" 관계 전부 계산
-        Map<Long, List<Long>> childToParents = buildChildParentMap();
+    /**
+     * 1..nodeCount DAG 를 seed 로 생성해서 MySQL / Neo4j 양쪽에 적재
+     * - 모양은 generator.dag-shape (기본: 기존 buildChildParentMap 과 같은 분포)
+     */
+    public void generateDagData(long seed, long nodeCount) {
+        generateDagData(GraphShapes.parse(shapeSpec), seed, nodeCount, mySqlSink(), neo4jSink());
+    }
 
-        // 2) MySQL 삽입 (동일 구조)
-        insertMySqlDag(childToParents);
-        long afterMy = System.currentTimeMillis();
-        long memMy = getUsedMemory();
-        System.out.println("[MySQL DAG] time=" + (afterMy - start) + "ms, memUsed=" + (memMy - startMem));
+    /**
+     * 1..nodeCount DAG 를 shape / seed 로 생성해서 sinks 에 차례로 적재
+     * - 그래프는 힙에 만들지 않고, 같은 생성기를 싱크마다 한 번씩 다시 흘려보냄
+     *   (노드당 4 byte 짜리 generation 배열만 공유)
+     */
+    public void generateDagData(GraphShape shape, long seed, long nodeCount, HistorySink... sinks) {
+        long start = System.currentTimeMillis();
+        long startMem = getUsedMemory();
 
-        // 3) Neo4j 삽입 (동일 구조)
-        insertNeo4jDag(childToParents);
+        // 1) 생성기 + generation
+        SyntheticHistoryGenerator generator = new SyntheticHistoryGenerator(seed, 1, shape);
+        int[] generations = generator.computeGenerations(nodeCount);
+        System.out.println("[DAG shape] " + shape.name() + ", nodes=" + nodeCount + ", seed=" + seed);
+
+        // 2) 싱크별 적재 (동일 구조)
+        long before = System.currentTimeMillis();
+        long beforeMem = getUsedMemory();
+        for (HistorySink sink : sinks) {
+            sink.accept(generator, 1, nodeCount, generations);
+            long now = System.currentTimeMillis();
+            long nowMem = getUsedMemory();
+            System.out.println("[" + sink + "] time=" + (now - before) + "ms, memUsed=" + (nowMem - beforeMem));
+            before = now;
+            beforeMem = nowMem;
+        }
         long end = System.currentTimeMillis();
         long endMem = getUsedMemory();
-        System.out.println("[Neo4j DAG] time=" + (end - afterMy) + "ms, memUsed=" + (endMem - memMy));
         System.out.println("[DAG total] time=" + (end - start) + "ms, memUsed=" + (endMem - startMem));
     }
 
-    /**
-     * 1..DAG_SCALE 노드에 대해, 각 child -> (최대 1~3개) 부모 IDs
-     * (사이클 최소화 로직은 동일)
-     */
-    private Map<Long, List<Long>> buildChildParentMap() {
-        Map<Long, List<Long>> childToParents = new LinkedHashMap<>();
-        childToParents.put(1L, Collections.emptyList()); // 루트(1)
-
-        Random rand = new Random();
-        // i=2..DAG_SCALE
-        for (long i = 2; i <= DAG_SCALE; i++) {
-            long maxParentRange = i - 1;
-            if (maxParentRange < 1) {
-                childToParents.put(i, Collections.emptyList());
-                continue;
+    /** MySQL dag_version / dag_version_parents (+ 클로저) 적재 싱크 */
+    public HistorySink mySqlSink() {
+        return named("MySQL DAG", (generator, fromId, toId, generations) ->
+                insertMySqlDag(generator.stream(fromId, toId, generations)));
+    }
+
+    /** MySQL 계층 병렬 적재 싱크 (DagLayeredLoader, 가상 스레드 + 커넥션 여러 개) */
+    public HistorySink mySqlLayeredSink() {
+        return named("MySQL DAG Layered", (generator, fromId, toId, generations) -> {
+            try (Stream<SyntheticNode> nodes = generator.stream(fromId, toId, generations)) {
+                layeredLoader.load(nodes.map(DagVersionService::toNodeRow).toList());
             }
-            int parentCount = rand.nextInt(3) + 1; // 1~3
-            Set<Long> chosen = new HashSet<>();
-            for (int c = 0; c < parentCount; c++) {
-                long p = 1 + rand.nextLong(maxParentRange);
-                chosen.add(p);
+        });
+    }
+
+    /** Neo4j DagVersion 적재 싱크 */
+    public HistorySink neo4jSink() {
+        return named("Neo4j DAG", (generator, fromId, toId, generations) ->
+                insertNeo4jDag(generator.stream(fromId, toId, generations)));
+    }
+
+    /** neo4j-admin database import 용 CSV 싱크 (ID 구간을 CPU 코어 수만큼 나눠 병렬로 씀) */
+    public HistorySink importFileSink(Path dir) {
+        return named("Neo4j DAG Import Files", (generator, fromId, toId, generations) ->
+                writeNeo4jImportFiles(dir, generator, fromId, toId, generations));
+    }
+
+    private static HistorySink named(String name, HistorySink sink) {
+        return new HistorySink() {
+            @Override
+            public void accept(SyntheticHistoryGenerator generator, long fromId, long toId, int[] generations) {
+                sink.accept(generator, fromId, toId, generations);
             }
-            List<Long> parentList = new ArrayList<>(chosen);
-            childToParents.put(i, parentList);
-        }
-        return childToParents;
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
     }
 
     /**
      * MySQL에 동일 구조 삽입
+     * - 엔티티 save 대신 TSV + LOAD DATA LOCAL INFILE 파이프라인 (DagBulkImportService)
+     * - 클로저 테이블도 파이프라인 안에서 채움
      */
-    private void insertMySqlDag(Map<Long, List<Long>> childToParents) {
-        // 캐싱: ID->entity
-        Map<Long, DagVersionEntity> cache = new HashMap<>();
-        // 1..DAG_SCALE
-        for (long i = 1; i <= DAG_SCALE; i++) {
-            DagVersionEntity ent = new DagVersionEntity();
-            ent.setTitle(randTitle());
-            ent.setContent("임의 내용.. nodeId=" + i);
-            ent.setAuthor(randAuthor());
-            // "2025-02-15T17:15:08Z" 형태가 아니라, MySQL은 LocalDateTime 그대로
-            ent.setCreatedTime(randTime2025FebMar());
-
-            // 부모 설정
-            List<Long> parents = childToParents.get(i);
-            if (parents != null && !parents.isEmpty()) {
-                List<DagVersionEntity> parentEnts = new ArrayList<>();
-                for (Long pId : parents) {
-                    DagVersionEntity pEnt = cache.get(pId);  // 이미 insert된
-                    if (pEnt != null) {
-                        parentEnts.add(pEnt);
-                    }
-                }
-                for (DagVersionEntity p : parentEnts) {
-                    ent.addParent(p);
-                }
-            }
-            DagVersionEntity saved = dagMysqlRepo.save(ent);
-            cache.put(i, saved);
+    private void insertMySqlDag(Stream<SyntheticNode> nodes) {
+        Stream<DagBulkImportService.NodeRow> rows = nodes.map(DagVersionService::toNodeRow);
+        for (DagBulkImportService.PhaseStat stat : bulkImportService.importDag(rows)) {
+            System.out.println("[MySQL DAG Import] " + stat.phase() + " rows=" + stat.rows()
+                    + ", time=" + stat.millis() + "ms, " + stat.rowsPerSecond() + " rows/s");
         }
     }
 
+    static DagBulkImportService.NodeRow toNodeRow(SyntheticNode n) {
+        return new DagBulkImportService.NodeRow(
+                n.id(), n.title(), n.content(), n.author(),
+                LocalDateTime.ofEpochSecond(n.createdEpochSecond(), 0, ZoneOffset.UTC),
+                n.parentIds(), n.generationOrNull());
+    }
+
+    /**
+     * 이미 적재된 DAG 데이터에 대해 dag_version_closure 를 채움
+     */
+    public int rebuildMySqlDagClosure(Long fromId) {
+        int inserted = dagClosureRepo.backfillFrom(fromId);
+        System.out.println("[MySQL DAG Closure] backfill from id " + fromId + ", inserted rows=" + inserted);
+        return inserted;
+    }
+
     /**
      * Neo4j에 동일 구조 삽입
-     * - 여기서 createdTime은 "ISO8601 + Z" 형태로 저장
-     * - bulkInsertNodes 쿼리에서 datetime(...) 변환
+     * - createdTime 은 OffsetDateTime(UTC) 그대로 넘겨서 드라이버가 DateTime 으로 저장
+     * - Neo4jChunkedLoader 의 창 단위 스트리밍 적재 (노드/간선 단계, 청크 병렬)
      */
-    private void insertNeo4jDag(Map<Long, List<Long>> childToParents) {
-        List<Map<String, Object>> batch = new ArrayList<>(DAG_SCALE);
-
-        for (long i = 1; i <= DAG_SCALE; i++) {
-            Map<String,Object> row = new HashMap<>();
-            row.put("nodeId", String.valueOf(i));
-            row.put("title", randTitle());
-            row.put("content", "임의 내용.. nodeId=" + i);
-            row.put("author", randAuthor());
-
-            // LocalDateTime -> OffsetDateTime(UTC), then to string with 'Z'
-            LocalDateTime dt = randTime2025FebMar();
-            OffsetDateTime odt = dt.atOffset(ZoneOffset.UTC);  // 2025-03-15T04:09:10Z
-            String dateTimeStr = odt.toString(); // e.g. "2025-03-15T04:09:10Z"
-            row.put("createdTime", dateTimeStr);
-
-            List<Long> parents = childToParents.get(i);
-            if (parents == null || parents.isEmpty()) {
-                row.put("parents", Collections.emptyList());
-            } else {
-                List<String> parentStr = new ArrayList<>();
-                for (Long p : parents) {
-                    parentStr.add(String.valueOf(p));
-                }
-                row.put("parents", parentStr);
-            }
-            batch.add(row);
+    private void insertNeo4jDag(Stream<SyntheticNode> nodes) {
+        try (nodes) {
+            Iterator<Map<String, Object>> rows = nodes.map(DagVersionService::toNeo4jRow).iterator();
+            neo4jLoader.loadStreaming(Neo4jChunkedLoader.Label.DAG, rows);
+        }
+    }
+
+    private static Map<String, Object> toNeo4jRow(SyntheticNode n) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("nodeId", String.valueOf(n.id()));
+        row.put("title", n.title());
+        row.put("content", n.content());
+        row.put("author", n.author());
+        row.put("createdTime", createdTime(n));
+        List<String> parents = new ArrayList<>(n.parentIds().length);
+        for (long p : n.parentIds()) {
+            parents.add(String.valueOf(p));
         }
-        dagNeoRepo.bulkInsertNodes(batch);
-    }
-
-    // (아래 유틸, 기존과 동일)
-    private String randTitle() {
-        Random rand = new Random();
-        return SAMPLE_TITLES.get(rand.nextInt(SAMPLE_TITLES.size()));
-    }
-    private String randAuthor() {
-        Random rand = new Random();
-        return AUTHORS.get(rand.nextInt(AUTHORS.size()));
-    }
-    private LocalDateTime randTime2025FebMar() {
-        // 2025년 2월 1일 ~ 3월 31일 사이
-        LocalDateTime start = LocalDateTime.of(2025, 2, 1, 0, 0);
-        LocalDateTime end = LocalDateTime.of(2025, 3, 31, 23, 59);
-        long startSec = start.toEpochSecond(java.time.ZoneOffset.UTC);
-        long endSec = end.toEpochSecond(java.time.ZoneOffset.UTC);
-        long diff = endSec - startSec;
-        Random r = new Random();
-        long randSec = startSec + (long)(r.nextDouble() * diff);
-        return LocalDateTime.ofEpochSecond(randSec, 0, java.time.ZoneOffset.UTC);
+        row.put("parents", parents);
+        row.put("generation", n.generationOrNull());
+        return row;
+    }
+
+    private static OffsetDateTime createdTime(SyntheticNode n) {
+        return Instant.ofEpochSecond(n.createdEpochSecond()).atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * neo4j-admin database import 용 CSV 로 DAG 내보내기 (빈 DB 초기 적재용)
+     * - generateDagData 와 같은 seed / shape 면 같은 그래프
+     */
+    public void exportNeo4jImportFiles(Path dir) {
+        generateDagData(GraphShapes.parse(shapeSpec), seed, DAG_SCALE, importFileSink(dir));
+    }
+
+    /**
+     * ID 구간을 CPU 코어 수만큼 나눠 구간마다 데이터 파일 하나씩 병렬로 씀 (헤더는 공유)
+     */
+    private static void writeNeo4jImportFiles(Path dir, SyntheticHistoryGenerator generator,
+                                              long fromId, long toId, int[] generations) {
+        int parts = Runtime.getRuntime().availableProcessors();
+
+        List<String> args = SyntheticHistoryGenerator.partitions(fromId, toId, parts).parallelStream()
+                .map(range -> {
+                    String part = range[0] + "-" + range[1];
+                    try (Neo4jImportFileWriter writer = Neo4jImportFileWriter.dag(dir, part);
+                         Stream<SyntheticNode> nodes = generator.stream(range[0], range[1], generations)) {
+                        nodes.forEach(n -> {
+                            for (long p : n.parentIds()) {
+                                writer.parentOf(String.valueOf(p), String.valueOf(n.id()));
+                            }
+                            writer.node(String.valueOf(n.id()), n.title(), n.content(), n.author(),
+                                    createdTime(n).toString(), n.generationOrNull());
+                        });
+                        return writer.importArguments();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("failed to write neo4j import files: " + dir, e);
+                    }
+                })
+                .toList();
+        System.out.println("[Neo4j DAG Import Files] nodes=" + (toId - fromId + 1) + ", parts=" + args.size());
+        System.out.println("neo4j-admin database import full <db> " + String.join(" ", args));
     }
 
     public long getUsedMemory() {
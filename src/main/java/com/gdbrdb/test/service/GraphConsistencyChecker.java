@@ -0,0 +1,226 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.graph.EdgeMerkleTree;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * GraphConsistencyChecker
+ * - MySQL 부모 테이블과 Neo4j PARENT_OF 간선이 같은지 머클 트리로 비교
+ *   1) child ID 공간을 구간으로 나눠 양쪽을 병렬로 읽으며 잎 해시(순서 무관 멀티셋 해시)를 누적
+ *   2) 두 트리를 루트부터 비교해 해시가 다른 잎만 골라냄
+ *   3) 다른 잎의 ID 구간만 양쪽에서 다시 읽어 정확히 어긋난 간선을 보고
+ * - Neo4j 는 nodeId 가 문자열이라 범위 조건 대신 구간의 nodeId 목록으로 유니크 인덱스를 조회
+ * - nodeId 가 숫자가 아닌 노드(UUID 로 만든 노드)는 비교 대상에서 빠짐
+ */
+@Service
+public class GraphConsistencyChecker {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphConsistencyChecker.class);
+
+    /** 비교 대상 (MySQL 노드/부모 테이블, Neo4j 라벨) */
+    public enum Target {
+        VERSION("versions", "version_parents", "VersionNew"),
+        DAG("dag_version", "dag_version_parents", "DagVersion");
+
+        private final String nodeTable;
+        private final String parentTable;
+        private final String label;
+
+        Target(String nodeTable, String parentTable, String label) {
+            this.nodeTable = nodeTable;
+            this.parentTable = parentTable;
+            this.label = label;
+        }
+    }
+
+    public record Edge(long child, long parent) {
+    }
+
+    /**
+     * @param missingInNeo4j MySQL 에만 있는 간선 (최대 max-reported-edges 개)
+     * @param missingInMySql Neo4j 에만 있는 간선 (최대 max-reported-edges 개)
+     */
+    public record Report(Target target, long mySqlEdges, long neo4jEdges, int leaves, int mismatchedLeaves,
+                         List<Edge> missingInNeo4j, List<Edge> missingInMySql, long hashMillis, long drillMillis) {
+
+        public boolean consistent() {
+            return mismatchedLeaves == 0;
+        }
+    }
+
+    private final DataSource dataSource;
+    private final Driver driver;
+    private final int leafWidth;
+    private final int leavesPerTask;
+    private final int parallelism;
+    private final int maxReportedEdges;
+
+    public GraphConsistencyChecker(DataSource dataSource, Driver driver,
+                                   @Value("${consistency.leaf-width:1024}") int leafWidth,
+                                   @Value("${consistency.leaves-per-task:16}") int leavesPerTask,
+                                   @Value("${consistency.parallelism:0}") int parallelism,
+                                   @Value("${consistency.max-reported-edges:1000}") int maxReportedEdges) {
+        this.dataSource = dataSource;
+        this.driver = driver;
+        this.leafWidth = Math.max(1, leafWidth);
+        this.leavesPerTask = Math.max(1, leavesPerTask);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxReportedEdges = maxReportedEdges;
+    }
+
+    public Report check(Target target) {
+        long lastId = Math.max(maxMySqlId(target), maxNeo4jId(target));
+        EdgeMerkleTree mysql = new EdgeMerkleTree(1, lastId, leafWidth);
+        EdgeMerkleTree neo4j = new EdgeMerkleTree(1, lastId, leafWidth);
+
+        // 1) 구간별 병렬 해시 (태스크마다 담당 잎이 겹치지 않음)
+        long start = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int leaf = 0; leaf < mysql.leafCount(); leaf += leavesPerTask) {
+                long from = mysql.leafRange(leaf)[0];
+                long to = mysql.leafRange(Math.min(mysql.leafCount(), leaf + leavesPerTask) - 1)[1];
+                futures.add(pool.submit(() -> readMySqlEdges(target, from, to, mysql::addEdge)));
+                futures.add(pool.submit(() -> readNeo4jEdges(target, from, to, neo4j::addEdge)));
+            }
+            awaitAll(futures);
+        } finally {
+            pool.shutdown();
+        }
+        mysql.seal();
+        neo4j.seal();
+        long hashMillis = System.currentTimeMillis() - start;
+
+        // 2) 다른 잎만 골라서 3) 그 구간만 정확히 비교
+        start = System.currentTimeMillis();
+        List<Integer> diffLeaves = mysql.diffLeaves(neo4j);
+        List<Edge> missingInNeo4j = new ArrayList<>();
+        List<Edge> missingInMySql = new ArrayList<>();
+        for (int leaf : diffLeaves) {
+            long[] range = mysql.leafRange(leaf);
+            Set<Edge> fromMySql = new HashSet<>();
+            Set<Edge> fromNeo4j = new HashSet<>();
+            readMySqlEdges(target, range[0], range[1], (c, p) -> fromMySql.add(new Edge(c, p)));
+            readNeo4jEdges(target, range[0], range[1], (c, p) -> fromNeo4j.add(new Edge(c, p)));
+            addMissing(fromMySql, fromNeo4j, missingInNeo4j);
+            addMissing(fromNeo4j, fromMySql, missingInMySql);
+        }
+        long drillMillis = System.currentTimeMillis() - start;
+
+        Report report = new Report(target, mysql.edgeCount(), neo4j.edgeCount(), mysql.leafCount(),
+                diffLeaves.size(), missingInNeo4j, missingInMySql, hashMillis, drillMillis);
+        log.info("[Consistency] {} : mysqlEdges={}, neo4jEdges={}, leaves={}, mismatchedLeaves={}, hash={}ms, drill={}ms",
+                target, report.mySqlEdges(), report.neo4jEdges(), report.leaves(), report.mismatchedLeaves(),
+                hashMillis, drillMillis);
+        return report;
+    }
+
+    private void addMissing(Set<Edge> source, Set<Edge> other, List<Edge> out) {
+        for (Edge e : source) {
+            if (out.size() >= maxReportedEdges) return;
+            if (!other.contains(e)) out.add(e);
+        }
+    }
+
+    /* ======================= */
+    /*          읽기            */
+    /* ======================= */
+
+    private interface EdgeConsumer {
+        void accept(long child, long parent);
+    }
+
+    private void readMySqlEdges(Target target, long fromId, long toId, EdgeConsumer consumer) {
+        String sql = "SELECT child_version_id, parent_version_id FROM " + target.parentTable
+                + " WHERE child_version_id BETWEEN ? AND ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, fromId);
+            ps.setLong(2, toId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(rs.getLong(1), rs.getLong(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("failed to read " + target.parentTable + " [" + fromId + ", " + toId + "]", e);
+        }
+    }
+
+    private void readNeo4jEdges(Target target, long fromId, long toId, EdgeConsumer consumer) {
+        List<String> ids = new ArrayList<>(Math.toIntExact(toId - fromId + 1));
+        for (long id = fromId; id <= toId; id++) {
+            ids.add(String.valueOf(id));
+        }
+        String query = """
+                UNWIND $ids AS id
+                MATCH (c:%1$s {nodeId: id})<-[:PARENT_OF]-(p:%1$s)
+                RETURN toInteger(c.nodeId) AS child, toInteger(p.nodeId) AS parent
+                """.formatted(target.label);
+        try (Session session = driver.session()) {
+            Result result = session.run(query, Map.of("ids", ids));
+            while (result.hasNext()) {
+                Record r = result.next();
+                // 숫자가 아닌 부모는 MySQL 쪽에 있을 수 없는 간선 -> 음수로 넣어 불일치로 드러나게
+                long parent = r.get("parent").isNull() ? -1 : r.get("parent").asLong();
+                consumer.accept(r.get("child").asLong(), parent);
+            }
+        }
+    }
+
+    private long maxMySqlId(Target target) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT COALESCE(MAX(id), 0) FROM " + target.nodeTable);
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("failed to read max id of " + target.nodeTable, e);
+        }
+    }
+
+    private long maxNeo4jId(Target target) {
+        try (Session session = driver.session()) {
+            Record r = session.run("MATCH (v:%s) RETURN coalesce(max(toInteger(v.nodeId)), 0) AS maxId"
+                    .formatted(target.label)).single();
+            return r.get("maxId").asLong();
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("consistency check interrupted", e);
+            } catch (ExecutionException e) {
+                futures.forEach(other -> other.cancel(true));
+                throw new IllegalStateException("consistency check failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.graph.CsrGraph;
+import com.gdbrdb.test.graph.GenerationNumbers;
+import com.gdbrdb.test.graph.GraphSnapshot;
+import com.gdbrdb.test.graph.GraphTraversal;
+import com.gdbrdb.test.graph.OverlayGraph;
+import com.gdbrdb.test.graph.VersionGraph;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * GraphEngineService
+ * - version_parents / dag_version_parents 를 한 번 읽어서 CSR(int[]) 그래프로 메모리에 올려 두고,
+ *   조상/자손/k-hop/LCA 를 DB 왕복 없이 ID 만으로 응답
+ * - 엔티티가 필요 없는 (개수 세기, ID 교집합 등) 용도 전용
+ */
+@Service
+@RequiredArgsConstructor
+public class GraphEngineService {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphEngineService.class);
+
+    private final DataSource dataSource;
+
+    private volatile VersionGraph versionGraph;
+    private volatile VersionGraph dagGraph;
+
+    /* ======================= */
+    /*         로딩             */
+    /* ======================= */
+
+    /** versions / version_parents 를 CSR 로 로딩 */
+    public VersionGraph loadVersionGraph() {
+        this.versionGraph = loadGraph("versions", "version_parents");
+        return versionGraph;
+    }
+
+    /** dag_version / dag_version_parents 를 CSR 로 로딩 */
+    public VersionGraph loadDagGraph() {
+        this.dagGraph = loadGraph("dag_version", "dag_version_parents");
+        return dagGraph;
+    }
+
+    public VersionGraph getVersionGraph() {
+        if (versionGraph == null) {
+            loadVersionGraph();
+        }
+        return versionGraph;
+    }
+
+    public VersionGraph getDagGraph() {
+        if (dagGraph == null) {
+            loadDagGraph();
+        }
+        return dagGraph;
+    }
+
+    private CsrGraph loadGraph(String nodeTable, String edgeTable) {
+        return loadGraphAfter(nodeTable, edgeTable, 0L);
+    }
+
+    /**
+     * afterId < child ID <= MAX(id) 인 간선만 로딩 (afterId=0 이면 전체)
+     * - 상한을 두어 MAX(id) 조회 뒤에 들어온 간선이 다음 replay 에서 중복으로 읽히지 않게 함
+     */
+    private CsrGraph loadGraphAfter(String nodeTable, String edgeTable, long afterId) {
+        long start = System.currentTimeMillis();
+
+        // MySQL 드라이버가 결과 전체를 버퍼링하지 않도록 행 단위 스트리밍
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(Integer.MIN_VALUE);
+
+        CsrGraph.Builder builder = CsrGraph.builder();
+        Long max = streaming.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + nodeTable, Long.class);
+        long maxId = max == null ? 0 : max;
+        builder.addNode(maxId);
+        streaming.query(
+                "SELECT child_version_id, parent_version_id FROM " + edgeTable
+                        + " WHERE child_version_id > ? AND child_version_id <= ?",
+                rs -> {
+                    builder.addEdge(rs.getLong(1), rs.getLong(2));
+                },
+                afterId, maxId);
+        CsrGraph graph = builder.build();
+
+        log.info("[GraphEngine] loaded {} : capacity={}, edges={}, memory={} bytes, time={}ms",
+                edgeTable, graph.capacity(), graph.edgeCount(), graph.memoryBytes(),
+                System.currentTimeMillis() - start);
+        return graph;
+    }
+
+    /* ======================= */
+    /*     스냅샷 (cold start)   */
+    /* ======================= */
+
+    /**
+     * 현재 메모리의 versions 그래프(매핑 스냅샷 + delta)를 그대로 스냅샷 파일로 저장하고 새 파일로 다시 매핑.
+     * - MySQL 재로딩 없음, 최신 상태가 필요하면 먼저 replayVersionDelta()
+     * - highWaterId = 현재 그래프가 포함하는 최대 노드 ID
+     */
+    public synchronized void writeVersionSnapshot(Path path) {
+        long start = System.currentTimeMillis();
+        VersionGraph graph = getVersionGraph();
+        long highWaterId = graph.capacity() - 1L;
+        try {
+            GraphSnapshot.write(graph, generationsOf(graph), highWaterId, path);
+            this.versionGraph = GraphSnapshot.open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write version graph snapshot: " + path, e);
+        }
+        log.info("[GraphEngine] snapshot written {} : highWaterId={}, edges={}, time={}ms",
+                path, highWaterId, graph.edgeCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 스냅샷을 메모리 매핑으로 열고, 스냅샷 이후(child ID > highWaterId)에 추가된
+     * version_parents 간선만 DB 에서 읽어 위에 얹음
+     */
+    public synchronized VersionGraph openVersionSnapshot(Path path) {
+        long start = System.currentTimeMillis();
+        GraphSnapshot.MappedGraph snapshot;
+        try {
+            snapshot = GraphSnapshot.open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to open version graph snapshot: " + path, e);
+        }
+        CsrGraph delta = loadGraphAfter("versions", "version_parents", snapshot.highWaterId());
+        this.versionGraph = delta.capacity() <= snapshot.capacity()
+                ? snapshot
+                : new OverlayGraph(snapshot, snapshot::generation, delta);
+
+        log.info("[GraphEngine] snapshot mapped {} : highWaterId={}, replayedEdges={}, time={}ms",
+                path, snapshot.highWaterId(), delta.edgeCount(), System.currentTimeMillis() - start);
+        return versionGraph;
+    }
+
+    /**
+     * 현재 그래프의 highWaterId 이후 행만 DB 에서 읽어 위에 얹음 (새 행이 없으면 그대로)
+     */
+    public synchronized VersionGraph replayVersionDelta() {
+        VersionGraph current = getVersionGraph();
+        CsrGraph delta = loadGraphAfter("versions", "version_parents", current.capacity() - 1L);
+        if (delta.capacity() > current.capacity()) {
+            this.versionGraph = new OverlayGraph(current, generationsOf(current), delta);
+        }
+        return versionGraph;
+    }
+
+    /** 스냅샷 / overlay 는 들고 있는 generation 사용, 힙 CSR(전체 로딩) 만 새로 계산 */
+    private static IntUnaryOperator generationsOf(VersionGraph graph) {
+        if (graph instanceof GraphSnapshot.MappedGraph mapped) {
+            return mapped::generation;
+        }
+        if (graph instanceof OverlayGraph overlay) {
+            return overlay::generation;
+        }
+        int[] generations = GenerationNumbers.compute(graph);
+        return id -> id < generations.length ? generations[id] : 0;
+    }
+
+    /* ======================= */
+    /*   versions 그래프 질의     */
+    /* ======================= */
+
+    public int[] getVersionAncestorIds(long versionId) {
+        return GraphTraversal.ancestors(getVersionGraph(), Math.toIntExact(versionId));
+    }
+
+    public int[] getVersionDescendantIds(long versionId) {
+        return GraphTraversal.descendants(getVersionGraph(), Math.toIntExact(versionId));
+    }
+
+    public int[] getVersionKHop(long versionId, int hops, GraphTraversal.Direction direction) {
+        return GraphTraversal.kHop(getVersionGraph(), Math.toIntExact(versionId), hops, direction);
+    }
+
+    /** @return LCA ID, 없으면 null */
+    public Long getVersionLowestCommonAncestorId(long idA, long idB) {
+        int lca = GraphTraversal.lca(getVersionGraph(), Math.toIntExact(idA), Math.toIntExact(idB));
+        return lca < 0 ? null : (long) lca;
+    }
+
+    /* ======================= */
+    /*   dag_version 그래프 질의  */
+    /* ======================= */
+
+    public int[] getDagAncestorIds(long versionId) {
+        return GraphTraversal.ancestors(getDagGraph(), Math.toIntExact(versionId));
+    }
+
+    public int[] getDagDescendantIds(long versionId) {
+        return GraphTraversal.descendants(getDagGraph(), Math.toIntExact(versionId));
+    }
+
+    public int[] getDagKHop(long versionId, int hops, GraphTraversal.Direction direction) {
+        return GraphTraversal.kHop(getDagGraph(), Math.toIntExact(versionId), hops, direction);
+    }
+
+    public Long getDagLowestCommonAncestorId(long idA, long idB) {
+        int lca = GraphTraversal.lca(getDagGraph(), Math.toIntExact(idA), Math.toIntExact(idB));
+        return lca < 0 ? null : (long) lca;
+    }
+}
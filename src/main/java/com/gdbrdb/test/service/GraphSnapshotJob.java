@@ -0,0 +1,56 @@
+package com.gdbrdb.test.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * versions 그래프 스냅샷 주기 저장 / 기동 시 매핑
+ * - graph.snapshot.enabled=true 일 때만 동작
+ */
+@Component
+@RequiredArgsConstructor
+public class GraphSnapshotJob {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphSnapshotJob.class);
+
+    private final GraphEngineService graphEngineService;
+
+    @Value("${graph.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${graph.snapshot.path:./build/graph/version-graph.snap}")
+    private String snapshotPath;
+
+    /** 기동 시: 스냅샷이 있으면 매핑 + delta replay, 없으면 DB 에서 전체 로딩 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void openOnStartup() {
+        if (!enabled) return;
+        Path path = Path.of(snapshotPath);
+        if (Files.exists(path)) {
+            graphEngineService.openVersionSnapshot(path);
+        } else {
+            log.info("[GraphSnapshot] no snapshot at {}, loading from MySQL", path);
+            graphEngineService.loadVersionGraph();
+        }
+    }
+
+    /** 주기적으로 스냅샷 이후 행만 반영한 뒤 메모리의 그래프를 그대로 스냅샷으로 저장 (전체 재로딩 없음) */
+    @Scheduled(
+            fixedDelayString = "${graph.snapshot.interval-ms:600000}",
+            initialDelayString = "${graph.snapshot.interval-ms:600000}"
+    )
+    public void writePeriodically() {
+        if (!enabled) return;
+        graphEngineService.replayVersionDelta();
+        graphEngineService.writeVersionSnapshot(Path.of(snapshotPath));
+    }
+}
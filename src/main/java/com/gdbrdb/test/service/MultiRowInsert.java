@@ -0,0 +1,78 @@
+package com.gdbrdb.test.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * "INSERT ... VALUES (?,?),(?,?),..." 를 rowsPerStatement 행씩 모아서 실행
+ * - 꽉 찬 문장은 PreparedStatement 하나를 재사용, 마지막 자투리만 따로 준비
+ * - dependsOn 이 있으면 실행 전에 그쪽을 먼저 비움 (version_parents FK 가 versions 행을 참조)
+ */
+final class MultiRowInsert implements AutoCloseable {
+    private final Connection conn;
+    private final String prefix;
+    private final int columns;
+    private final MultiRowInsert dependsOn;
+    private final int rowsPerStatement;
+    private final Object[] values;
+    private int rows = 0;
+    private PreparedStatement full;
+
+    MultiRowInsert(Connection conn, String prefix, int columns, int rowsPerStatement) {
+        this(conn, prefix, columns, rowsPerStatement, null);
+    }
+
+    MultiRowInsert(Connection conn, String prefix, int columns, int rowsPerStatement, MultiRowInsert dependsOn) {
+        this.conn = conn;
+        this.prefix = prefix;
+        this.columns = columns;
+        this.dependsOn = dependsOn;
+        this.rowsPerStatement = rowsPerStatement;
+        this.values = new Object[rowsPerStatement * columns];
+    }
+
+    void add(Object... row) throws SQLException {
+        System.arraycopy(row, 0, values, rows * columns, columns);
+        rows++;
+        if (rows == rowsPerStatement) {
+            if (full == null) {
+                full = conn.prepareStatement(sql(rowsPerStatement));
+            }
+            execute(full);
+        }
+    }
+
+    void flush() throws SQLException {
+        if (dependsOn != null) dependsOn.flush();
+        if (rows == 0) return;
+        try (PreparedStatement partial = conn.prepareStatement(sql(rows))) {
+            execute(partial);
+        }
+    }
+
+    private void execute(PreparedStatement ps) throws SQLException {
+        if (dependsOn != null) dependsOn.flush();
+        for (int i = 0; i < rows * columns; i++) {
+            ps.setObject(i + 1, values[i]);
+        }
+        ps.executeUpdate();
+        rows = 0;
+    }
+
+    private String sql(int rowCount) {
+        String tuple = "(" + "?,".repeat(columns - 1) + "?)";
+        StringBuilder sb = new StringBuilder(prefix.length() + rowCount * (tuple.length() + 1));
+        sb.append(prefix);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(tuple);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (full != null) full.close();
+    }
+}
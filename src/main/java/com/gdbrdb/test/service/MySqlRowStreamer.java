@@ -0,0 +1,118 @@
+package com.gdbrdb.test.service;
+
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * MySqlRowStreamer
+ * - 쿼리 결과를 List 로 모으지 않고 Stream 으로 한 행씩 넘김
+ * - forward-only / read-only 결과셋 + fetchSize = Integer.MIN_VALUE
+ *   -> Connector/J 가 결과를 클라이언트에 버퍼링하지 않고 행 단위로 읽음 (힙 사용량 일정)
+ * - 스트림이 커넥션을 하나 점유하므로 반드시 try-with-resources 로 닫을 것
+ *   끝까지 읽기 전에 닫으면 Statement.cancel()(KILL QUERY) 로 서버 쿼리를 먼저 끊음
+ *   (그냥 닫으면 드라이버가 남은 행을 끝까지 읽어서 버림)
+ * - JPA 트랜잭션과 무관한 별도 커넥션을 씀 (커밋된 데이터만 보임)
+ */
+@Component
+public class MySqlRowStreamer {
+
+    /** Connector/J 행 단위 스트리밍 신호 */
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @FunctionalInterface
+    public interface RowReader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+
+    public MySqlRowStreamer(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public <T> Stream<T> stream(String sql, RowReader<T> reader, Object... args) {
+        Connection conn = null;
+        PreparedStatement ps = null;
+        try {
+            conn = dataSource.getConnection();
+            ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            RowCursor<T> cursor = new RowCursor<>(conn, ps, ps.executeQuery(), reader);
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException e) {
+            closeQuietly(ps);
+            closeQuietly(conn);
+            throw new IllegalStateException("failed to open row stream: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class RowCursor<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Connection conn;
+        private final PreparedStatement ps;
+        private final ResultSet rs;
+        private final RowReader<T> reader;
+        private boolean exhausted;
+        private boolean closed;
+
+        RowCursor(Connection conn, PreparedStatement ps, ResultSet rs, RowReader<T> reader) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.ps = ps;
+            this.rs = rs;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (exhausted || closed) return false;
+            try {
+                if (!rs.next()) {
+                    exhausted = true;
+                    return false;
+                }
+                action.accept(reader.read(rs));
+                return true;
+            } catch (SQLException e) {
+                throw new IllegalStateException("failed to read row: " + e.getMessage(), e);
+            }
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            if (!exhausted) {
+                try {
+                    ps.cancel();
+                } catch (SQLException ignored) {
+                    // 취소 실패면 close 가 남은 행을 읽어서 버림 (느릴 뿐 결과는 같음)
+                }
+            }
+            closeQuietly(rs);
+            closeQuietly(ps);
+            closeQuietly(conn);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) return;
+        try {
+            resource.close();
+        } catch (Exception ignored) {
+            // 취소된 쿼리의 결과셋은 close 에서 "interrupted" 예외를 낼 수 있음
+        }
+    }
+}
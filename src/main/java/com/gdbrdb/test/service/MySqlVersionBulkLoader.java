@@ -0,0 +1,143 @@
+package com.gdbrdb.test.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * MySqlVersionBulkLoader
+ * - versions / version_parents 를 JPA 없이 multi-row INSERT 로 적재
+ *   (createMySQLVersion 은 노드마다 findAllById + save 라서 1만 건에 왕복 2만 번)
+ * - ID 는 호출자가 [fromId..toId] 로 미리 정함 -> IDENTITY 채번 대기 없음
+ * - 부모 generation 은 적재 중인 구간이면 메모리 int[] 에서, 그 이전 노드면 DB 에서 한 번만 조회
+ * - 클로저 테이블 / LCA 인덱스는 적재 후 한 번에 다시 만드는 것을 전제로 함
+ */
+@Service
+@RequiredArgsConstructor
+public class MySqlVersionBulkLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(MySqlVersionBulkLoader.class);
+
+    /** INSERT 한 문장에 넣는 행 수 */
+    private static final int ROWS_PER_STATEMENT = 1000;
+
+    /** 이 행 수마다 커밋 (undo 로그가 너무 커지지 않도록) */
+    private static final int ROWS_PER_COMMIT = 50_000;
+
+    private final DataSource dataSource;
+
+    /**
+     * [fromId..toId] 구간 노드를 적재.
+     *
+     * @param contentOf id -> content
+     * @param parentsOf id -> 부모 ID 배열 (없으면 빈 배열 또는 null)
+     * @return 적재한 노드 수
+     */
+    public long load(long fromId, long toId, LongFunction<String> contentOf, LongFunction<long[]> parentsOf) {
+        if (toId < fromId) return 0;
+        int count = Math.toIntExact(toId - fromId + 1);
+        long start = System.currentTimeMillis();
+        long edges = 0;
+
+        try (Connection conn = dataSource.getConnection()) {
+            checkIdsFree(conn, fromId);
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (MultiRowInsert versions = new MultiRowInsert(conn,
+                         "INSERT INTO versions (id, content, generation) VALUES ", 3, ROWS_PER_STATEMENT);
+                 MultiRowInsert parents = new MultiRowInsert(conn,
+                         "INSERT INTO version_parents (child_version_id, parent_version_id) VALUES ", 2, ROWS_PER_STATEMENT, versions)) {
+
+                // 0 = 모름 (generation 은 1 부터)
+                int[] generations = new int[count];
+                Map<Long, Integer> outsideGenerations = new HashMap<>();
+
+                for (int i = 0; i < count; i++) {
+                    long id = fromId + i;
+                    long[] parentIds = parentsOf.apply(id);
+
+                    int maxParentGen = 0;
+                    boolean known = true;
+                    if (parentIds != null) {
+                        for (long p : parentIds) {
+                            if (p >= id) {
+                                throw new IllegalArgumentException("parent " + p + " must be older than child " + id);
+                            }
+                            int g = p >= fromId
+                                    ? generations[(int) (p - fromId)]
+                                    : outsideGenerations.computeIfAbsent(p, key -> findGeneration(conn, key));
+                            if (g == 0) known = false;
+                            maxParentGen = Math.max(maxParentGen, g);
+                        }
+                    }
+                    generations[i] = known ? maxParentGen + 1 : 0;
+
+                    // 노드 행을 먼저 넣어야 간선 배치가 찰 때 versions 를 먼저 비우면서 자식 행도 같이 들어감
+                    versions.add(id, contentOf.apply(id), known ? generations[i] : null);
+                    if (parentIds != null) {
+                        for (long p : parentIds) {
+                            parents.add(id, p);
+                            edges++;
+                        }
+                    }
+
+                    if ((i + 1) % ROWS_PER_COMMIT == 0) {
+                        parents.flush();
+                        conn.commit();
+                    }
+                }
+                parents.flush();
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("bulk load failed for versions " + fromId + ".." + toId, e);
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        log.info("[MySQL Bulk] versions {}..{} : nodes={}, edges={}, time={}ms, {} nodes/s",
+                fromId, toId, count, edges, elapsed, count * 1000L / elapsed);
+        return count;
+    }
+
+    /** 미리 정한 ID 가 이미 쓰이고 있으면 중단 */
+    private static void checkIdsFree(Connection conn, long fromId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT COALESCE(MAX(id), 0) FROM versions");
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            long maxId = rs.getLong(1);
+            if (maxId >= fromId) {
+                throw new IllegalStateException("versions already has id " + maxId + " >= fromId " + fromId);
+            }
+        }
+    }
+
+    private static int findGeneration(Connection conn, long id) {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT generation FROM versions WHERE id = ?")) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalArgumentException("parent version not found: " + id);
+                }
+                int g = rs.getInt(1);
+                return rs.wasNull() ? 0 : g;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("failed to read generation of version " + id, e);
+        }
+    }
+}
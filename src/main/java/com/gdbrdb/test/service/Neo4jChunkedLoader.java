@@ -0,0 +1,225 @@
+package com.gdbrdb.test.service;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Neo4jChunkedLoader
+ * - 리포지토리 UNWIND 한 방(1만 행을 트랜잭션 하나로) 대신 Neo4j 쓰기는 모두 여기로
+ *   1) 노드 단계: 행을 chunkSize 씩 잘라 MERGE (nodeId 유니크 제약 인덱스 사용)
+ *   2) 간선 단계: (parent, child) 쌍을 chunkSize 씩 잘라 MATCH + MERGE
+ *   각 단계 안의 청크는 서로 독립이므로 세션 여러 개에서 동시에 커밋
+ * - 간선 청크끼리 같은 노드 락을 잡다가 deadlock 이 나면 executeWrite 가 재시도
+ * - 간선 단계는 양 끝을 MATCH 하므로 없는 노드를 가리키는 간선은 만들어지지 않음
+ *   -> 청크마다 실제로 연결된 수를 돌려받아 빠진 수를 LoadStat.droppedEdges 로 남기고 경고 로그
+ * - 행 형식: nodeId, parents(List&lt;String&gt;), 나머지 키는 노드 속성
+ *   (datetime 은 문자열이 아닌 OffsetDateTime 으로 넣을 것)
+ */
+@Service
+public class Neo4jChunkedLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(Neo4jChunkedLoader.class);
+
+    /** 라벨은 파라미터로 못 넘기므로 허용된 것만 */
+    public enum Label {
+        VERSION("VersionNew"),
+        DAG("DagVersion");
+
+        private final String name;
+
+        Label(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * @param edges        실제로 연결된 간선 수
+     * @param droppedEdges 부모나 자식 노드가 없어 만들지 못한 간선 수
+     */
+    public record LoadStat(long nodes, long edges, long droppedEdges, long nodeMillis, long edgeMillis) {
+    }
+
+    private final Driver driver;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public Neo4jChunkedLoader(Driver driver,
+                              @Value("${neo4j.loader.chunk-size:2000}") int chunkSize,
+                              @Value("${neo4j.loader.parallelism:4}") int parallelism) {
+        this.driver = driver;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public LoadStat load(Label label, List<Map<String, Object>> rows) {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            LoadStat stat = loadWindow(pool, label, rows);
+            log.info("[Neo4j Chunked Load] {} : nodes={} ({}ms), edges={} ({}ms), chunkSize={}, parallelism={}",
+                    label.name, stat.nodes(), stat.nodeMillis(), stat.edges(), stat.edgeMillis(), chunkSize, parallelism);
+            warnDropped(label, stat.droppedEdges());
+            return stat;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 행을 끝까지 모으지 않고 (chunkSize * parallelism) 행 단위 창으로 잘라 적재.
+     * - 부모가 항상 앞쪽 행(이전 창 또는 같은 창)에 있어야 함 (ID 순서 생성기 출력 그대로)
+     * - 창마다 노드 단계 -> 간선 단계 순서이므로, 간선의 양 끝 노드는 항상 커밋된 상태
+     */
+    public LoadStat loadStreaming(Label label, Iterator<Map<String, Object>> rows) {
+        int windowSize = chunkSize * parallelism;
+        long nodes = 0, edges = 0, droppedEdges = 0, nodeMillis = 0, edgeMillis = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Map<String, Object>> window = new ArrayList<>(windowSize);
+            while (rows.hasNext()) {
+                window.add(rows.next());
+                if (window.size() == windowSize || !rows.hasNext()) {
+                    LoadStat stat = loadWindow(pool, label, window);
+                    nodes += stat.nodes();
+                    edges += stat.edges();
+                    droppedEdges += stat.droppedEdges();
+                    nodeMillis += stat.nodeMillis();
+                    edgeMillis += stat.edgeMillis();
+                    window.clear();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        log.info("[Neo4j Chunked Load] {} (streaming) : nodes={} ({}ms), edges={} ({}ms), chunkSize={}, parallelism={}",
+                label.name, nodes, nodeMillis, edges, edgeMillis, chunkSize, parallelism);
+        warnDropped(label, droppedEdges);
+        return new LoadStat(nodes, edges, droppedEdges, nodeMillis, edgeMillis);
+    }
+
+    /**
+     * 작은 배치를 트랜잭션 하나로 반영 (DagDualWriteService 의 마이크로 배치용)
+     * - 노드 MERGE 후 같은 트랜잭션에서 간선 MERGE -> 배치 단위로 원자적
+     * - 간선 양 끝은 MATCH 가 아니라 MERGE: 부모가 아직 큐 뒤쪽에 있어도 간선이 빠지지 않음
+     *   (빈 노드로 먼저 생기고, 부모 행이 도착하면 SET 으로 속성이 채워짐)
+     * - 전부 MERGE 라서 실패 후 같은 배치를 다시 보내도 중복이 생기지 않음
+     */
+    public LoadStat applyBatch(Label label, List<Map<String, Object>> rows) {
+        List<Map<String, Object>> nodes = new ArrayList<>(rows.size());
+        List<Map<String, Object>> edges = new ArrayList<>();
+        split(rows, nodes, edges);
+
+        String edgeQuery = """
+                UNWIND $rows AS e
+                MERGE (p:%1$s {nodeId: e.parent})
+                MERGE (c:%1$s {nodeId: e.child})
+                MERGE (p)-[:PARENT_OF]->(c)
+                """.formatted(label.name);
+
+        long start = System.currentTimeMillis();
+        try (Session session = driver.session()) {
+            session.executeWrite(tx -> {
+                tx.run(nodeQuery(label), Map.of("rows", nodes)).consume();
+                if (!edges.isEmpty()) {
+                    tx.run(edgeQuery, Map.of("rows", edges)).consume();
+                }
+                return null;
+            });
+        }
+        return new LoadStat(nodes.size(), edges.size(), 0, System.currentTimeMillis() - start, 0);
+    }
+
+    private LoadStat loadWindow(ExecutorService pool, Label label, List<Map<String, Object>> rows) {
+        List<Map<String, Object>> nodes = new ArrayList<>(rows.size());
+        List<Map<String, Object>> edges = new ArrayList<>();
+        split(rows, nodes, edges);
+
+        String edgeQuery = """
+                UNWIND $rows AS e
+                MATCH (p:%1$s {nodeId: e.parent})
+                MATCH (c:%1$s {nodeId: e.child})
+                MERGE (p)-[:PARENT_OF]->(c)
+                RETURN count(*)
+                """.formatted(label.name);
+
+        long start = System.currentTimeMillis();
+        runChunks(pool, nodeQuery(label), nodes);
+        long nodeMillis = System.currentTimeMillis() - start;
+
+        // 간선은 양 끝 노드가 모두 커밋된 뒤에 시작, 양 끝이 다 있는 간선만 한 행씩 셈
+        start = System.currentTimeMillis();
+        long linked = runChunks(pool, edgeQuery, edges);
+        long edgeMillis = System.currentTimeMillis() - start;
+
+        return new LoadStat(nodes.size(), linked, edges.size() - linked, nodeMillis, edgeMillis);
+    }
+
+    /** 행 -> 노드 행 {nodeId, props} + 간선 행 {parent, child} */
+    private static void split(List<Map<String, Object>> rows,
+                              List<Map<String, Object>> nodes, List<Map<String, Object>> edges) {
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> props = new HashMap<>(row);
+            Object parents = props.remove("parents");
+            nodes.add(Map.of("nodeId", row.get("nodeId"), "props", props));
+            if (parents instanceof List<?> parentIds) {
+                for (Object parentId : parentIds) {
+                    edges.add(Map.of("parent", parentId, "child", row.get("nodeId")));
+                }
+            }
+        }
+    }
+
+    private static String nodeQuery(Label label) {
+        return """
+                UNWIND $rows AS row
+                MERGE (v:%s {nodeId: row.nodeId})
+                SET v += row.props
+                RETURN count(*)
+                """.formatted(label.name);
+    }
+
+    private static void warnDropped(Label label, long droppedEdges) {
+        if (droppedEdges > 0) {
+            log.warn("[Neo4j Chunked Load] {} : {} edges dropped (parent or child node missing)", label.name, droppedEdges);
+        }
+    }
+
+    /** 청크마다 트랜잭션 하나, 쿼리가 돌려준 count(*) 의 합 */
+    private long runChunks(ExecutorService pool, String query, List<Map<String, Object>> items) {
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<Map<String, Object>> chunk = items.subList(from, Math.min(items.size(), from + chunkSize));
+            futures.add(pool.submit(() -> {
+                try (Session session = driver.session()) {
+                    return session.executeWrite(tx -> tx.run(query, Map.of("rows", chunk)).single().get(0).asLong());
+                }
+            }));
+        }
+        long total = 0;
+        for (Future<Long> f : futures) {
+            try {
+                total += f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("neo4j chunked load interrupted", e);
+            } catch (ExecutionException e) {
+                futures.forEach(other -> other.cancel(true));
+                throw new IllegalStateException("neo4j chunk failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,318 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.graph.DepthCursor;
+import com.gdbrdb.test.graph.TraversalPage;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Neo4jGraphReader
+ * - SDN 엔티티 매핑(VersionNodeNew / DagVersionNode) 대신 Driver 로 바로 읽는 경량 조회 경로
+ *   RETURN 절에서 nodeId 나 필요한 속성만 꺼내므로 노드 전체 / parents 관계 매핑이 없음
+ * - 결과 커서를 hasNext/next 로 한 행씩 소비하고 Record 는 바로 버림 (list() 로 한 번에 모으지 않음)
+ *   fetch-size 만큼씩 서버에서 당겨오므로 큰 결과도 드라이버 버퍼가 커지지 않음
+ * - 쿼리 패턴은 리포지토리 쿼리와 같게 유지 (건수 비교용)
+ * - stream* 은 세션을 연 채로 Stream 을 돌려줌 -> 반드시 닫을 것 (닫으면 남은 결과를 서버에서 버림)
+ */
+@Service
+public class Neo4jGraphReader {
+
+    /** DagVersionSummary 와 같은 열 (content 제외) */
+    public record DagNodeSummary(String nodeId, String title, String author,
+                                 OffsetDateTime createdTime, Integer generation) {
+    }
+
+    private static final String SUMMARY_COLUMNS = """
+            n.nodeId AS nodeId, n.title AS title, n.author AS author,
+            n.createdTime AS createdTime, n.generation AS generation
+            """;
+
+    /* 리액티브 경로(ReactiveTraversalService)와 같이 쓰는 쿼리 */
+
+    static final String VERSION_ANCESTOR_IDS = """
+            MATCH (v:VersionNew {nodeId: $startId})<-[:PARENT_OF*]-(ancestor:VersionNew)
+            RETURN ancestor.nodeId AS id
+            """;
+
+    static final String VERSION_DESCENDANT_IDS = """
+            MATCH (v:VersionNew {nodeId: $startId})-[:PARENT_OF*]->(desc:VersionNew)
+            RETURN desc.nodeId AS id
+            """;
+
+    /** 시나리오 A, 노드당 한 번 */
+    static final String DAG_ANCESTOR_IDS_BY_AUTHOR_TITLE = """
+            MATCH (start:DagVersion { nodeId: $startId })<-[:PARENT_OF*1..]-(n:DagVersion)
+            WITH DISTINCT n
+            WHERE n.author = $author
+              AND n.title CONTAINS $titlePart
+            RETURN n.nodeId AS id
+            """;
+
+    /** 시나리오 B, 노드당 한 번 */
+    static final String DAG_DESCENDANT_IDS_CREATED_AFTER = """
+            MATCH (start:DagVersion { nodeId: $startId })-[:PARENT_OF*1..]->(n:DagVersion)
+            WITH DISTINCT n
+            WHERE n.createdTime >= $timeThreshold
+            RETURN n.nodeId AS id
+            """;
+
+    /** 시나리오 C */
+    static final String DAG_LATEST_COMMON_ANCESTOR_ID = """
+            MATCH (a:DagVersion {nodeId: $idA})<-[:PARENT_OF*]-(x:DagVersion),
+                  (b:DagVersion {nodeId: $idB})<-[:PARENT_OF*]-(x:DagVersion)
+            RETURN x.nodeId AS id
+            ORDER BY x.createdTime DESC
+            LIMIT 1
+            """;
+
+    private final Driver driver;
+    private final SessionConfig readConfig;
+
+    public Neo4jGraphReader(Driver driver,
+                            @Value("${neo4j.reader.fetch-size:1000}") int fetchSize) {
+        this.driver = driver;
+        this.readConfig = SessionConfig.builder()
+                .withDefaultAccessMode(AccessMode.READ)
+                .withFetchSize(Math.max(1, fetchSize))
+                .build();
+    }
+
+    /** 조회용 세션 설정 (READ 모드, fetch-size) */
+    SessionConfig readConfig() {
+        return readConfig;
+    }
+
+    /* ======================= */
+    /*   VersionNew (ID 만)     */
+    /* ======================= */
+
+    public List<String> findVersionAncestorIds(String nodeId) {
+        return readAll(VERSION_ANCESTOR_IDS, Map.of("startId", nodeId), r -> r.get(0).asString());
+    }
+
+    public List<String> findVersionDescendantIds(String nodeId) {
+        return readAll(VERSION_DESCENDANT_IDS, Map.of("startId", nodeId), r -> r.get(0).asString());
+    }
+
+    /**
+     * 자손 nodeId 를 모으지 않고 하나씩 넘김
+     *
+     * @return 넘긴 개수
+     */
+    public long forEachVersionDescendantId(String nodeId, Consumer<String> consumer) {
+        return forEach(VERSION_DESCENDANT_IDS, Map.of("startId", nodeId), r -> consumer.accept(r.get(0).asString()));
+    }
+
+    public Stream<String> streamVersionAncestorIds(String nodeId) {
+        return stream(VERSION_ANCESTOR_IDS, Map.of("startId", nodeId), r -> r.get(0).asString());
+    }
+
+    public Stream<String> streamVersionDescendantIds(String nodeId) {
+        return stream(VERSION_DESCENDANT_IDS, Map.of("startId", nodeId), r -> r.get(0).asString());
+    }
+
+    /* ======================= */
+    /*   DagVersion 시나리오     */
+    /* ======================= */
+
+    /** 시나리오 A) 조상 중 author & title */
+    public List<DagNodeSummary> findDagAncestorSummariesByAuthorTitle(String startId, String author, String titlePart) {
+        return readAll("""
+                MATCH (start:DagVersion { nodeId: $startId })<-[:PARENT_OF*]-(n:DagVersion)
+                WHERE n.author = $author
+                  AND n.title CONTAINS $titlePart
+                RETURN """ + SUMMARY_COLUMNS,
+                Map.of("startId", startId, "author", author, "titlePart", titlePart),
+                Neo4jGraphReader::toSummary);
+    }
+
+    /** 시나리오 B) 자손 중 createdTime >= threshold */
+    public List<DagNodeSummary> findDagDescendantSummariesCreatedAfter(String startId, LocalDateTime threshold) {
+        return readAll("""
+                MATCH (start:DagVersion { nodeId: $startId })-[:PARENT_OF*]->(n:DagVersion)
+                WHERE n.createdTime >= $timeThreshold
+                RETURN """ + SUMMARY_COLUMNS,
+                Map.of("startId", startId, "timeThreshold", threshold),
+                Neo4jGraphReader::toSummary);
+    }
+
+    /** 시나리오 C) 가장 최신 공통 조상의 nodeId (없으면 null) */
+    public String findDagLatestCommonAncestorId(String idA, String idB) {
+        List<String> ids = readAll(DAG_LATEST_COMMON_ANCESTOR_ID, Map.of("idA", idA, "idB", idB), r -> r.get(0).asString());
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /** 시나리오 E) 3단계 이내 author & title */
+    public List<DagNodeSummary> findDagUpTo3StepsSummariesByAuthorTitle(String startId, String author, String titlePart) {
+        return readAll("""
+                MATCH (start:DagVersion { nodeId: $startId })-[:PARENT_OF*0..3]->(n:DagVersion)
+                WHERE n.author = $author
+                  AND n.title CONTAINS $titlePart
+                RETURN DISTINCT """ + SUMMARY_COLUMNS,
+                Map.of("startId", startId, "author", author, "titlePart", titlePart),
+                Neo4jGraphReader::toSummary);
+    }
+
+    /** 시나리오 A) 조상 중 author & title 의 nodeId (노드당 한 번) */
+    public Stream<String> streamDagAncestorIdsByAuthorTitle(String startId, String author, String titlePart) {
+        return stream(DAG_ANCESTOR_IDS_BY_AUTHOR_TITLE, Map.of("startId", startId, "author", author, "titlePart", titlePart),
+                r -> r.get(0).asString());
+    }
+
+    /** 시나리오 B) 자손 중 createdTime >= threshold 의 nodeId (노드당 한 번) */
+    public Stream<String> streamDagDescendantIdsCreatedAfter(String startId, LocalDateTime threshold) {
+        return stream(DAG_DESCENDANT_IDS_CREATED_AFTER, Map.of("startId", startId, "timeThreshold", threshold),
+                r -> r.get(0).asString());
+    }
+
+    /* ======================= */
+    /*  키셋 페이지 (depth, id)   */
+    /* ======================= */
+
+    /*
+       Neo4j 에는 (시작 노드, depth) 인덱스가 없으므로 커서 깊이부터 깊이 창을 넓혀 가며 조회:
+       SHORTEST 1 + WHERE length(p) <= $maxDepth (사전 필터) -> BFS 가 maxDepth 에서 멈춤
+       노드마다 최단 거리(= 클로저 depth) 한 번, (depth, id) > 커서 인 것만 정렬해 limit 개
+       - 창 안에서 페이지가 차면 끝 (서브트리 전체를 모아 정렬하지 않음)
+       - 덜 차면 maxDepth 깊이에 노드가 있을 때만 창을 두 배로 넓혀 다시 (없으면 더 깊은 노드도 없음)
+       - 깊이 한계는 파라미터라 라벨 / 방향별 쿼리 문자열이 고정 (플랜 캐시), SHORTEST / QPP 는 Neo4j 5.21+
+       nodeId 가 숫자가 아닌 노드(UUID)는 제외
+     */
+
+    public TraversalPage findVersionDescendantPage(String startId, DepthCursor after, int pageSize) {
+        return page("VersionNew", true, startId, after, pageSize);
+    }
+
+    public TraversalPage findVersionAncestorPage(String startId, DepthCursor after, int pageSize) {
+        return page("VersionNew", false, startId, after, pageSize);
+    }
+
+    public TraversalPage findDagDescendantPage(String startId, DepthCursor after, int pageSize) {
+        return page("DagVersion", true, startId, after, pageSize);
+    }
+
+    public TraversalPage findDagAncestorPage(String startId, DepthCursor after, int pageSize) {
+        return page("DagVersion", false, startId, after, pageSize);
+    }
+
+    private TraversalPage page(String label, boolean down, String startId, DepthCursor after, int pageSize) {
+        int limit = TraversalPage.fetchLimit(pageSize);
+        String pageQuery = pageQuery(label, down);
+        String frontierQuery = frontierQuery(label, down);
+        for (int window = 1; ; window <<= 1) {
+            int maxDepth = Math.max(1, after.depth() + window);
+            List<DepthCursor> fetched = readAll(pageQuery,
+                    Map.of("startId", startId, "maxDepth", maxDepth,
+                            "afterDepth", after.depth(), "afterId", after.id(), "limit", limit),
+                    r -> new DepthCursor(r.get("depth").asInt(), r.get("id").asLong()));
+            if (fetched.size() >= limit
+                    || readAll(frontierQuery, Map.of("startId", startId, "maxDepth", maxDepth), r -> true).isEmpty()) {
+                return TraversalPage.of(fetched, pageSize);
+            }
+        }
+    }
+
+    private static String pageQuery(String label, boolean down) {
+        return """
+                MATCH (s:%1$s {nodeId: $startId})
+                MATCH p = SHORTEST 1 (s)%2$s{1,}(n:%1$s)
+                WHERE length(p) <= $maxDepth
+                WITH length(p) AS depth, toInteger(n.nodeId) AS id
+                WHERE id IS NOT NULL
+                  AND (depth > $afterDepth OR (depth = $afterDepth AND id > $afterId))
+                RETURN depth, id
+                ORDER BY depth, id
+                LIMIT $limit
+                """.formatted(label, down ? "-[:PARENT_OF]->" : "<-[:PARENT_OF]-");
+    }
+
+    /**
+     * 최단 거리가 정확히 maxDepth 인 노드가 있는지.
+     * = 조건은 사전 필터로 두면 더 긴 우회 경로를 고르므로 <= 로 찾은 뒤 WITH 에서 거름
+     */
+    private static String frontierQuery(String label, boolean down) {
+        return """
+                MATCH (s:%1$s {nodeId: $startId})
+                MATCH p = SHORTEST 1 (s)%2$s{1,}(n:%1$s)
+                WHERE length(p) <= $maxDepth
+                WITH p
+                WHERE length(p) = $maxDepth
+                RETURN 1
+                LIMIT 1
+                """.formatted(label, down ? "-[:PARENT_OF]->" : "<-[:PARENT_OF]-");
+    }
+
+    /* ======================= */
+    /*        공통              */
+    /* ======================= */
+
+    /** 재시도되면 목록을 새로 만들어 다시 채움 */
+    private <T> List<T> readAll(String query, Map<String, Object> params, Function<Record, T> mapper) {
+        try (Session session = driver.session(readConfig)) {
+            return session.executeRead(tx -> {
+                Result result = tx.run(query, params);
+                List<T> out = new ArrayList<>();
+                while (result.hasNext()) {
+                    out.add(mapper.apply(result.next()));
+                }
+                return out;
+            });
+        }
+    }
+
+    /**
+     * 커서를 끝까지 한 행씩 소비.
+     * 이미 넘긴 행을 되돌릴 수 없으므로 재시도하는 executeRead 대신 auto-commit 실행
+     */
+    private long forEach(String query, Map<String, Object> params, Consumer<Record> consumer) {
+        try (Session session = driver.session(readConfig)) {
+            Result result = session.run(query, params);
+            long rows = 0;
+            while (result.hasNext()) {
+                consumer.accept(result.next());
+                rows++;
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * auto-commit 으로 실행하고 세션을 Stream 의 onClose 에 묶음.
+     * 레코드는 소비하는 만큼 fetch-size 단위로 당겨옴
+     */
+    private <T> Stream<T> stream(String query, Map<String, Object> params, Function<Record, T> mapper) {
+        Session session = driver.session(readConfig);
+        try {
+            return session.run(query, params).stream().map(mapper).onClose(session::close);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    private static DagNodeSummary toSummary(Record r) {
+        org.neo4j.driver.Value createdTime = r.get("createdTime");
+        org.neo4j.driver.Value generation = r.get("generation");
+        return new DagNodeSummary(
+                r.get("nodeId").asString(),
+                r.get("title").asString(null),
+                r.get("author").asString(null),
+                createdTime.isNull() ? null : createdTime.asOffsetDateTime(),
+                generation.isNull() ? null : generation.asInt());
+    }
+}
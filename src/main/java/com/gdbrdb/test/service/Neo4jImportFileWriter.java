@@ -0,0 +1,137 @@
+package com.gdbrdb.test.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * neo4j-admin database import 용 CSV 작성기.
+ * - 노드/관계 헤더 파일을 따로 두고, 데이터 파일은 한 줄씩 바로 흘려 씀 (행을 모아두지 않음)
+ * - ID 공간은 라벨 이름 그대로 (VersionNew, DagVersion) -> 두 그래프의 nodeId 가 겹쳐도 충돌 없음
+ * - part 를 다르게 주면 같은 헤더를 공유하는 데이터 파일을 여러 개 만들 수 있음
+ *
+ * <pre>
+ * neo4j-admin database import full neo4j \
+ *   --nodes=dir/version-nodes-header.csv,dir/version-nodes-chain.csv \
+ *   --relationships=dir/version-parents-header.csv,dir/version-parents-chain.csv
+ * </pre>
+ */
+public final class Neo4jImportFileWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /** part 별 작성기를 병렬로 열 때 공유 헤더 파일을 한 번에 하나씩만 씀 */
+    private static final Object HEADER_LOCK = new Object();
+
+    private final String label;
+    private final Path nodeHeader;
+    private final Path nodeData;
+    private final Path relHeader;
+    private final Path relData;
+    private final Writer nodes;
+    private final Writer rels;
+    private long nodeCount;
+    private long relCount;
+
+    private Neo4jImportFileWriter(Path dir, String prefix, String label, String nodeHeaderLine, String part)
+            throws IOException {
+        Files.createDirectories(dir);
+        this.label = label;
+        this.nodeHeader = dir.resolve(prefix + "-nodes-header.csv");
+        this.nodeData = dir.resolve(prefix + "-nodes-" + part + ".csv");
+        this.relHeader = dir.resolve(prefix + "-parents-header.csv");
+        this.relData = dir.resolve(prefix + "-parents-" + part + ".csv");
+
+        synchronized (HEADER_LOCK) {
+            Files.writeString(nodeHeader, nodeHeaderLine + "\n", StandardCharsets.UTF_8);
+            Files.writeString(relHeader, ":START_ID(" + label + "),:END_ID(" + label + "),:TYPE\n", StandardCharsets.UTF_8);
+        }
+
+        this.nodes = new BufferedWriter(Files.newBufferedWriter(nodeData, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.rels = new BufferedWriter(Files.newBufferedWriter(relData, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /** VersionNew : nodeId, content, generation */
+    public static Neo4jImportFileWriter versions(Path dir, String part) throws IOException {
+        return new Neo4jImportFileWriter(dir, "version", "VersionNew",
+                "nodeId:ID(VersionNew),content,generation:int,:LABEL", part);
+    }
+
+    /** DagVersion : nodeId, title, content, author, createdTime, generation */
+    public static Neo4jImportFileWriter dag(Path dir, String part) throws IOException {
+        return new Neo4jImportFileWriter(dir, "dag", "DagVersion",
+                "nodeId:ID(DagVersion),title,content,author,createdTime:datetime,generation:int,:LABEL", part);
+    }
+
+    /** 헤더 순서대로 값 (마지막 :LABEL 은 자동) */
+    public void node(Object... fields) {
+        try {
+            for (Object field : fields) {
+                writeField(nodes, field);
+                nodes.write(',');
+            }
+            nodes.write(label);
+            nodes.write('\n');
+            nodeCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** (parent)-[:PARENT_OF]->(child) */
+    public void parentOf(String parentId, String childId) {
+        try {
+            writeField(rels, parentId);
+            rels.write(',');
+            writeField(rels, childId);
+            rels.write(",PARENT_OF\n");
+            relCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** null 은 빈 칸(속성 없음), 문자열은 항상 큰따옴표로 감싸고 내부 " 는 "" */
+    private static void writeField(Writer out, Object value) throws IOException {
+        if (value == null) return;
+        if (value instanceof Number) {
+            out.write(value.toString());
+            return;
+        }
+        String s = value.toString();
+        out.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    public long nodeCount() {
+        return nodeCount;
+    }
+
+    public long relationshipCount() {
+        return relCount;
+    }
+
+    /** neo4j-admin database import 인자 (--nodes / --relationships) */
+    public String importArguments() {
+        return "--nodes=" + nodeHeader + "," + nodeData
+                + " --relationships=" + relHeader + "," + relData;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            nodes.close();
+        } finally {
+            rels.close();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.entity.mysql.ReplicationCheckpointEntity;
+import com.gdbrdb.test.entity.mysql.VersionOutboxEntity;
+import com.gdbrdb.test.repository.mysql.ReplicationCheckpointRepository;
+import com.gdbrdb.test.repository.mysql.VersionOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * OutboxReplicator
+ * - version_outbox 를 id 키셋으로 뒤따라가며 Neo4j 에 반영 (Neo4j = MySQL 의 파생 읽기 모델)
+ * - 순서: outbox 배치 조회 -> 같은 라벨끼리 연속 구간으로 Neo4j 반영 -> 체크포인트 저장
+ *   체크포인트 저장 전에 죽으면 그 배치를 다시 반영하지만, 전부 MERGE 라서 결과는 같음
+ * - id 는 INSERT 시점에 정해지고 커밋 순서는 다를 수 있으므로 빈 id(gap)는 나중에 채워질 수 있음
+ *   gap 뒤의 행은 바로 반영하고(MERGE 라 순서 무관), 빈 id 는 gaps 에 두고 매 주기 다시 조회
+ *   체크포인트는 가장 작은 미해결 gap 아래에서 멈춤 -> 재시작해도 gap 이후는 다시 읽음
+ * - gap 을 롤백으로 확정하는 기준은 앱 시계(createdAt)가 아니라 DB 의 트랜잭션 목록:
+ *   gap 을 처음 본 시각 이전에 시작한 트랜잭션이 하나도 안 남았는데도 비어 있으면 롤백된 id
+ *   (그 id 를 잡은 트랜잭션은 gap 뒤의 행이 보이기 전에 시작했으므로)
+ * - outbox.replicator.enabled=true 일 때만 주기 실행
+ */
+@Component
+public class OutboxReplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxReplicator.class);
+
+    static final String CHECKPOINT_NAME = "neo4j";
+
+    private static final int PURGE_BATCH = 10_000;
+
+    private final VersionOutboxRepository outboxRepo;
+    private final ReplicationCheckpointRepository checkpointRepo;
+    private final VersionOutboxService outboxService;
+    private final Neo4jChunkedLoader neo4jLoader;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final boolean purgeApplied;
+
+    /** 여기까지 읽음 (체크포인트 이상, gap 이 없으면 체크포인트와 같음) */
+    private long scanned = -1;
+
+    /** 미해결 빈 id -> 처음 본 DB 시각(epoch 마이크로초) */
+    private final NavigableMap<Long, Long> gaps = new TreeMap<>();
+
+    public OutboxReplicator(VersionOutboxRepository outboxRepo,
+                            ReplicationCheckpointRepository checkpointRepo,
+                            VersionOutboxService outboxService,
+                            Neo4jChunkedLoader neo4jLoader,
+                            @Value("${outbox.replicator.enabled:false}") boolean enabled,
+                            @Value("${outbox.replicator.batch-size:1000}") int batchSize,
+                            @Value("${outbox.replicator.purge-applied:true}") boolean purgeApplied) {
+        this.outboxRepo = outboxRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.outboxService = outboxService;
+        this.neo4jLoader = neo4jLoader;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.purgeApplied = purgeApplied;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.replicator.interval-ms:1000}")
+    public void poll() {
+        if (!enabled) return;
+        try {
+            replicateAll();
+        } catch (RuntimeException e) {
+            // 체크포인트는 그대로이므로 다음 주기에 같은 위치부터 다시 시도
+            log.warn("[Outbox] replication failed, will retry from checkpoint {}: {}", checkpoint(), e.getMessage());
+        }
+    }
+
+    /**
+     * 더 읽을 행이 없을 때까지 반복
+     *
+     * @return 이번 호출에서 반영한 행 수
+     */
+    public synchronized long replicateAll() {
+        long total = 0;
+        while (true) {
+            int applied = replicateOnce();
+            total += applied;
+            if (applied == 0) break;
+        }
+        if (purgeApplied) {
+            long upTo = checkpoint();
+            int deleted;
+            do {
+                deleted = outboxRepo.deleteAppliedUpTo(upTo, PURGE_BATCH);
+            } while (deleted == PURGE_BATCH);
+        }
+        return total;
+    }
+
+    /**
+     * 한 주기: gap 재조회 -> 다음 배치 반영 -> 체크포인트 전진
+     *
+     * @return 반영한 행 수 (gap 이 채워져 반영한 행 포함)
+     */
+    public synchronized int replicateOnce() {
+        long last = checkpoint();
+        if (scanned < last) {
+            // 첫 호출 / 재시작: 체크포인트 위는 전부 다시 읽음
+            scanned = last;
+            gaps.clear();
+        }
+        long start = System.currentTimeMillis();
+
+        // 1) 이전 주기의 gap: 트랜잭션 목록을 먼저 보고 다시 조회해야,
+        //    그 사이에 커밋된 행을 놓치고 롤백으로 판정하는 일이 없음
+        int applied = 0;
+        if (!gaps.isEmpty()) {
+            Long oldestTrx = outboxRepo.oldestActiveTransactionMicros();
+            List<VersionOutboxEntity> filled = new ArrayList<>(outboxRepo.findAllById(gaps.keySet()));
+            filled.sort((x, y) -> Long.compare(x.getId(), y.getId()));
+            applyInOrder(filled);
+            filled.forEach(e -> gaps.remove(e.getId()));
+            applied += filled.size();
+            dropRolledBack(oldestTrx);
+        }
+
+        // 2) 다음 배치: 빈 id 는 gaps 에 기록하고 나머지는 바로 반영
+        List<VersionOutboxEntity> batch = outboxRepo.findBatchAfter(scanned, batchSize);
+        if (!batch.isEmpty()) {
+            long observedAt = outboxRepo.currentDbMicros();
+            long expected = scanned + 1;
+            for (VersionOutboxEntity e : batch) {
+                for (long id = expected; id < e.getId(); id++) {
+                    gaps.put(id, observedAt);
+                }
+                expected = e.getId() + 1;
+            }
+            applyInOrder(batch);
+            scanned = batch.get(batch.size() - 1).getId();
+            applied += batch.size();
+        }
+
+        // 3) 체크포인트 = 가장 작은 미해결 gap 바로 아래
+        long newCheckpoint = gaps.isEmpty() ? scanned : gaps.firstKey() - 1;
+        if (newCheckpoint > last) {
+            checkpointRepo.save(new ReplicationCheckpointEntity(CHECKPOINT_NAME, newCheckpoint, LocalDateTime.now()));
+        }
+        if (applied > 0) {
+            log.debug("[Outbox] applied {} rows, checkpoint {} -> {}, open gaps={} in {}ms",
+                    applied, last, Math.max(last, newCheckpoint), gaps.size(), System.currentTimeMillis() - start);
+        }
+        return applied;
+    }
+
+    /**
+     * 처음 본 시각 이전에 시작한 트랜잭션이 모두 끝났는데 아직 빈 id = 롤백 (다시 채워질 수 없음)
+     *
+     * @param oldestTrx 재조회 직전에 읽은 가장 오래된 활성 트랜잭션 시작 시각, 없으면 null
+     */
+    private void dropRolledBack(Long oldestTrx) {
+        Iterator<Map.Entry<Long, Long>> it = gaps.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Long> gap = it.next();
+            if (oldestTrx == null || oldestTrx > gap.getValue()) {
+                log.debug("[Outbox] outbox id {} treated as rolled back", gap.getKey());
+                it.remove();
+            }
+        }
+    }
+
+    /** 라벨이 바뀌는 지점마다 끊어서 id 순서대로 반영 */
+    private void applyInOrder(List<VersionOutboxEntity> entries) {
+        int from = 0;
+        for (int i = 1; i <= entries.size(); i++) {
+            if (i == entries.size() || !entries.get(i).getAggregateType().equals(entries.get(from).getAggregateType())) {
+                apply(entries.subList(from, i));
+                from = i;
+            }
+        }
+    }
+
+    private void apply(List<VersionOutboxEntity> entries) {
+        Neo4jChunkedLoader.Label label = Neo4jChunkedLoader.Label.valueOf(entries.get(0).getAggregateType());
+        List<Map<String, Object>> rows = new ArrayList<>(entries.size());
+        for (VersionOutboxEntity e : entries) {
+            rows.add(outboxService.toRow(e));
+        }
+        neo4jLoader.applyBatch(label, rows);
+    }
+
+    /** 마지막으로 반영이 끝난 outbox id (처음이면 0) */
+    public long checkpoint() {
+        return checkpointRepo.findById(CHECKPOINT_NAME)
+                .map(ReplicationCheckpointEntity::getLastOutboxId)
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,166 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.repository.neo4j.VersionNodeNewRepository;
+import jakarta.annotation.PreDestroy;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.reactivestreams.ReactiveSession;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * ReactiveTraversalService
+ * - 조상 / 자손 / LCA / 시나리오 A,B,C,E 를 Flux / Mono 로 (결과는 ID 만)
+ * - Neo4j: 리액티브 드라이버 세션, 구독자가 request(n) 한 만큼만 서버에서 PULL
+ *   세션은 Flux.usingWhen 으로 완료 / 에러 / 취소 시 모두 닫힘
+ * - MySQL: 블로킹 JDBC 를 가상 스레드 스케줄러로 넘김 (요청 스레드를 막지 않음)
+ *   스트림 쿼리(MySqlRowStreamer)는 Flux.fromStream 으로 감싸 request 한 만큼만 ResultSet 을 읽음
+ *   동시 실행 수의 상한은 Hikari 풀 크기 (풀이 차면 가상 스레드가 대기)
+ * - 쿼리 / 결과는 블로킹 경로(VersionService, DagScenarioService)와 같음
+ */
+@Service
+public class ReactiveTraversalService {
+
+    /** 시나리오 E, DagVersionNodeRepository.findUpTo3StepsByAuthorTitle 과 같은 패턴 */
+    private static final String DAG_UP_TO_3_STEPS_IDS = """
+            MATCH (start:DagVersion { nodeId: $startId })-[:PARENT_OF*0..3]->(n:DagVersion)
+            WITH DISTINCT n
+            WHERE n.author = $author
+              AND n.title CONTAINS $titlePart
+            RETURN n.nodeId AS id
+            """;
+
+    private final Driver driver;
+    private final Neo4jGraphReader neo4jReader;
+    private final VersionService versionService;
+    private final DagScenarioService scenarioService;
+    private final Scheduler mysqlScheduler;
+
+    public ReactiveTraversalService(Driver driver,
+                                    Neo4jGraphReader neo4jReader,
+                                    VersionService versionService,
+                                    DagScenarioService scenarioService) {
+        this.driver = driver;
+        this.neo4jReader = neo4jReader;
+        this.versionService = versionService;
+        this.scenarioService = scenarioService;
+        this.mysqlScheduler = Schedulers.fromExecutorService(
+                Executors.newVirtualThreadPerTaskExecutor(), "mysql-vthread");
+    }
+
+    @PreDestroy
+    public void stop() {
+        mysqlScheduler.dispose();
+    }
+
+    /* ======================= */
+    /*    VersionNew / versions */
+    /* ======================= */
+
+    public Flux<Long> mySqlAncestorIds(Long versionId) {
+        return mySqlFlux(() -> versionService.streamMySQLAllAncestorIds(versionId));
+    }
+
+    public Flux<Long> mySqlDescendantIds(Long versionId) {
+        return mySqlFlux(() -> versionService.streamMySQLAllDescendantIds(versionId));
+    }
+
+    public Mono<Long> mySqlLowestCommonAncestorId(Long idA, Long idB) {
+        return mySqlMono(() -> versionService.getMysqlRepo().findLowestCommonAncestorIdByClosure(idA, idB));
+    }
+
+    public Flux<String> neo4jAncestorIds(String nodeId) {
+        return neo4jFlux(Neo4jGraphReader.VERSION_ANCESTOR_IDS, Map.of("startId", nodeId));
+    }
+
+    public Flux<String> neo4jDescendantIds(String nodeId) {
+        return neo4jFlux(Neo4jGraphReader.VERSION_DESCENDANT_IDS, Map.of("startId", nodeId));
+    }
+
+    public Mono<String> neo4jLowestCommonAncestorId(String idA, String idB) {
+        return neo4jFlux(VersionNodeNewRepository.LOWEST_COMMON_ANCESTOR, Map.of("idA", idA, "idB", idB),
+                r -> r.get("x").get("nodeId").asString()).next();
+    }
+
+    /* ======================= */
+    /*   DagVersion 시나리오     */
+    /* ======================= */
+
+    /** 시나리오 A) 조상 중 author & title */
+    public Flux<Long> mySqlAncestorIdsByAuthorTitle(Long startId, String author, String titlePart) {
+        return mySqlFlux(() -> scenarioService.streamMySqlAncestorIdsByAuthorTitle(startId, author, titlePart));
+    }
+
+    public Flux<String> neo4jAncestorIdsByAuthorTitle(String startId, String author, String titlePart) {
+        return neo4jFlux(Neo4jGraphReader.DAG_ANCESTOR_IDS_BY_AUTHOR_TITLE,
+                Map.of("startId", startId, "author", author, "titlePart", titlePart));
+    }
+
+    /** 시나리오 B) 자손 중 createdTime >= threshold */
+    public Flux<Long> mySqlDescendantIdsCreatedAfter(Long startId, LocalDateTime threshold) {
+        return mySqlFlux(() -> scenarioService.streamMySqlDescendantIdsCreatedAfter(startId, threshold));
+    }
+
+    public Flux<String> neo4jDescendantIdsCreatedAfter(String startId, LocalDateTime threshold) {
+        return neo4jFlux(Neo4jGraphReader.DAG_DESCENDANT_IDS_CREATED_AFTER,
+                Map.of("startId", startId, "timeThreshold", threshold));
+    }
+
+    /** 시나리오 C) 가장 최신 공통 조상 */
+    public Mono<Long> mySqlLatestCommonAncestorId(Long idA, Long idB) {
+        return mySqlMono(() -> scenarioService.findMySqlLatestCommonAncestorId(idA, idB));
+    }
+
+    public Mono<String> neo4jLatestCommonAncestorId(String idA, String idB) {
+        return neo4jFlux(Neo4jGraphReader.DAG_LATEST_COMMON_ANCESTOR_ID, Map.of("idA", idA, "idB", idB)).next();
+    }
+
+    /** 시나리오 E) 3단계 이내 author & title (결과가 작아 한 번에 읽음) */
+    public Flux<Long> mySqlUpTo3StepsIdsByAuthorTitle(Long startId, String author, String titlePart) {
+        return Flux.defer(() -> Flux.fromIterable(
+                        scenarioService.findMySqlUpTo3StepsIdsByAuthorTitleViaClosure(startId, author, titlePart)))
+                .subscribeOn(mysqlScheduler);
+    }
+
+    public Flux<String> neo4jUpTo3StepsIdsByAuthorTitle(String startId, String author, String titlePart) {
+        return neo4jFlux(DAG_UP_TO_3_STEPS_IDS, Map.of("startId", startId, "author", author, "titlePart", titlePart));
+    }
+
+    /* ======================= */
+    /*        공통              */
+    /* ======================= */
+
+    /** 구독 시 가상 스레드에서 스트림을 열고, 완료 / 에러 / 취소 시 닫음 (취소 = 서버 쿼리 취소) */
+    private <T> Flux<T> mySqlFlux(Supplier<Stream<T>> query) {
+        return Flux.using(query::get, stream -> Flux.fromStream(stream), Stream::close)
+                .subscribeOn(mysqlScheduler);
+    }
+
+    /** null 이면 빈 Mono */
+    private <T> Mono<T> mySqlMono(Supplier<T> query) {
+        return Mono.fromSupplier(query).subscribeOn(mysqlScheduler);
+    }
+
+    private Flux<String> neo4jFlux(String query, Map<String, Object> params) {
+        return neo4jFlux(query, params, r -> r.get(0).asString());
+    }
+
+    private <T> Flux<T> neo4jFlux(String query, Map<String, Object> params, Function<Record, T> mapper) {
+        return Flux.usingWhen(
+                Mono.fromSupplier(() -> driver.session(ReactiveSession.class, neo4jReader.readConfig())),
+                session -> Flux.from(session.run(query, params))
+                        .concatMap(result -> Flux.from(result.records()))
+                        .map(mapper),
+                session -> Mono.from(session.close()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.gdbrdb.test.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdbrdb.test.entity.mysql.DagVersionEntity;
+import com.gdbrdb.test.entity.mysql.VersionEntity;
+import com.gdbrdb.test.entity.mysql.VersionOutboxEntity;
+import com.gdbrdb.test.repository.mysql.VersionOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * VersionOutboxService
+ * - 버전 삽입과 같은 JPA 트랜잭션 안에서 version_outbox 행을 기록 (MANDATORY: 트랜잭션 밖 호출은 예외)
+ * - payload 는 Neo4jChunkedLoader 행 형식 그대로 JSON 으로 저장
+ *   (datetime 은 문자열로 저장했다가 toRow 에서 OffsetDateTime 으로 되돌림)
+ */
+@Service
+@RequiredArgsConstructor
+public class VersionOutboxService {
+
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {
+    };
+
+    private final VersionOutboxRepository outboxRepo;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(transactionManager = "transactionManager", propagation = Propagation.MANDATORY)
+    public void versionCreated(VersionEntity version, List<Long> parentIds) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("nodeId", String.valueOf(version.getId()));
+        row.put("content", version.getContent());
+        row.put("generation", version.getGeneration());
+        row.put("parents", parentIds.stream().map(String::valueOf).toList());
+        append(VersionOutboxEntity.VERSION, version.getId(), row);
+    }
+
+    @Transactional(transactionManager = "transactionManager", propagation = Propagation.MANDATORY)
+    public void dagVersionCreated(DagVersionEntity version, List<Long> parentIds) {
+        Map<String, Object> row = dagRow(version, parentIds);
+        row.put("createdTime", row.get("createdTime").toString());
+        append(VersionOutboxEntity.DAG, version.getId(), row);
+    }
+
+    private void append(String aggregateType, Long nodeId, Map<String, Object> row) {
+        try {
+            outboxRepo.save(new VersionOutboxEntity(null, aggregateType, nodeId,
+                    objectMapper.writeValueAsString(row), LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("failed to serialize outbox payload for node " + nodeId, e);
+        }
+    }
+
+    /** DagVersion 노드 행 (Neo4jChunkedLoader 형식) */
+    public static Map<String, Object> dagRow(DagVersionEntity e, List<Long> parentIds) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("nodeId", String.valueOf(e.getId()));
+        row.put("title", e.getTitle());
+        row.put("content", e.getContent());
+        row.put("author", e.getAuthor());
+        row.put("createdTime", e.getCreatedTime().atOffset(ZoneOffset.UTC));
+        row.put("generation", e.getGeneration());
+        row.put("parents", parentIds.stream().map(String::valueOf).toList());
+        return row;
+    }
+
+    /** 아웃박스 행 -> Neo4jChunkedLoader 행 */
+    public Map<String, Object> toRow(VersionOutboxEntity entry) {
+        try {
+            Map<String, Object> row = objectMapper.readValue(entry.getPayload(), ROW_TYPE);
+            if (row.get("createdTime") instanceof String time) {
+                row.put("createdTime", OffsetDateTime.parse(time));
+            }
+            return row;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("broken outbox payload id=" + entry.getId(), e);
+        }
+    }
+}
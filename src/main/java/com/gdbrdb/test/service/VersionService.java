@@ -1,17 +1,36 @@
 package com.gdbrdb.test.service;
 
+import com.gdbrdb.test.entity.mysql.ClosureDepthRow;
+import com.gdbrdb.test.entity.mysql.VersionClosureId;
 import com.gdbrdb.test.entity.mysql.VersionEntity;
 import com.gdbrdb.test.entity.neo4j.VersionNodeBatchDTO;
 import com.gdbrdb.test.entity.neo4j.VersionNodeNew;
+import com.gdbrdb.test.generator.GraphShapes;
+import com.gdbrdb.test.generator.SyntheticHistoryGenerator;
+import com.gdbrdb.test.graph.DepthCursor;
+import com.gdbrdb.test.graph.GenerationNumbers;
+import com.gdbrdb.test.graph.TraversalPage;
+import com.gdbrdb.test.graph.TreeLcaIndex;
+import com.gdbrdb.test.repository.mysql.VersionClosureRepository;
 import com.gdbrdb.test.repository.mysql.VersionRepository;
 import com.gdbrdb.test.repository.neo4j.VersionNodeNewRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * VersionService
@@ -19,7 +38,7 @@ import java.util.stream.Collectors;
  *   [1..scale], [scale+1..2*scale], [2*scale+1..3*scale] 범위로 생성
  * - 체인, 이진은 이미 MySQL/Neo4j 동일 구조가 자동으로 보장됨
  * - 복합(Complex)은 난수로 parent를 결정 ->
- *   두 DB에서 동일한 난수를 쓰도록 아래 generateComplexTreeData()를 통해 한 번만 계산 후 삽입
+ *   두 DB에서 동일한 구조가 되도록 시드 고정 생성기(SyntheticHistoryGenerator)로 부모를 결정
  */
 @Service
 @RequiredArgsConstructor
@@ -44,7 +63,21 @@ public class VersionService {
 
     // MySQL / Neo4j 리포지토리
     private final VersionRepository mysqlRepo;
+    private final VersionClosureRepository closureRepo;
     private final VersionNodeNewRepository neo4jNewRepo;
+    private final GraphEngineService graphEngineService;
+    private final MySqlVersionBulkLoader bulkLoader;
+    private final Neo4jChunkedLoader neo4jLoader;
+    private final VersionOutboxService outboxService;
+    private final Neo4jGraphReader neo4jReader;
+    private final MySqlRowStreamer rowStreamer;
+
+    /** 복합 트리 생성 시드 (같은 시드 = 두 DB 에 같은 트리) */
+    @Value("${generator.seed:42}")
+    private long seed;
+
+    /** 단일 부모 구간 LCA 인덱스 (createMySQLVersion 커밋 시 증분 추가) */
+    private volatile TreeLcaIndex lcaIndex = new TreeLcaIndex();
 
     /* ======================= */
     /*       MySQL PART        */
@@ -56,17 +89,63 @@ public class VersionService {
 
     /**
      * MySQL 버전 단건 생성 (다중 부모 지원)
+     * - 같은 트랜잭션에서 version_closure 행, version_outbox 행도 함께 추가
      */
+    @Transactional(transactionManager = "transactionManager")
     public VersionEntity createMySQLVersion(String content, List<Long> parentIds) {
         VersionEntity newVersion = new VersionEntity();
         newVersion.setContent(content);
+        List<Long> savedParentIds = new ArrayList<>();
         if (parentIds != null && !parentIds.isEmpty()) {
             List<VersionEntity> parents = mysqlRepo.findAllById(parentIds);
             for (VersionEntity p : parents) {
                 newVersion.addParent(p);
+                savedParentIds.add(p.getId());
             }
+            newVersion.setGeneration(GenerationNumbers.next(parents.stream().map(VersionEntity::getGeneration).toList()));
+        } else {
+            newVersion.setGeneration(1);
+        }
+        VersionEntity saved = mysqlRepo.save(newVersion);
+
+        // 클로저 테이블: 자기 자신 + 부모들의 조상 행을 한 단계 내려 복사
+        closureRepo.insertSelf(saved.getId());
+        if (!savedParentIds.isEmpty()) {
+            closureRepo.insertFromParents(saved.getId(), savedParentIds);
+        }
+
+        // Neo4j 복제용 아웃박스 (OutboxReplicator 가 읽음)
+        outboxService.versionCreated(saved, savedParentIds);
+
+        // LCA 인덱스는 커밋이 확정된 뒤에만 반영 (롤백된 노드가 남지 않도록)
+        appendToLcaIndexAfterCommit(saved.getId(), savedParentIds);
+        return saved;
+    }
+
+    private void appendToLcaIndexAfterCommit(Long id, List<Long> parentIds) {
+        Runnable append = () -> appendToLcaIndex(this.lcaIndex, id,
+                parentIds.stream().mapToLong(Long::longValue).toArray());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append.run();
+                }
+            });
+        } else {
+            append.run();
+        }
+    }
+
+    private static void appendToLcaIndex(TreeLcaIndex index, long id, long[] parentIds) {
+        int child = Math.toIntExact(id);
+        if (parentIds == null || parentIds.length == 0) {
+            index.appendRoot(child);
+        } else if (parentIds.length == 1) {
+            index.append(child, Math.toIntExact(parentIds[0]));
+        } else {
+            index.markNonTree(child);
         }
-        return mysqlRepo.save(newVersion);
     }
 
     /** MySQL: 모든 조상 **엔티티** 조회 */
@@ -81,34 +160,23 @@ public class VersionService {
      *   다른 기준(날짜가 최신 등)을 쓸 수도 있습니다.
      */
     public VersionEntity getMySQLLowestCommonAncestorEntity(Long idA, Long idB) {
-        // A의 조상
-        List<VersionEntity> ancestorsA = getMySQLAllAncestorEntities(idA);
-        // A 자신도 포함
-        ancestorsA.add(mysqlRepo.findById(idA).orElse(null));
-        // Map으로 (id -> entity) 빠른 조회
-        Map<Long, VersionEntity> mapA = new HashMap<>();
-        for (VersionEntity a : ancestorsA) {
-            if (a != null) {
-                mapA.put(a.getId(), a);
+        // 양쪽 조상은 ID 만 (엔티티 수천 개를 영속성 컨텍스트에 올리지 않음)
+        long[] ancestorsA = getMySQLAllAncestorIds(idA);
+        Arrays.sort(ancestorsA);
+
+        // B의 조상 + B 자신 중, A의 조상 + A 자신에 있는 것 가운데 ID 최대
+        long lcaId = -1;
+        for (long b : getMySQLAllAncestorIds(idB)) {
+            if (b > lcaId && (b == idA || Arrays.binarySearch(ancestorsA, b) >= 0)) {
+                lcaId = b;
             }
         }
-
-        // B의 조상
-        List<VersionEntity> ancestorsB = getMySQLAllAncestorEntities(idB);
-        // B 자신도 포함
-        ancestorsB.add(mysqlRepo.findById(idB).orElse(null));
-
-        // 교집합 중 ID가 가장 큰 것을 찾음
-        VersionEntity lca = null;
-        for (VersionEntity b : ancestorsB) {
-            if (b != null && mapA.containsKey(b.getId())) {
-                // 교집합 노드
-                if (lca == null || b.getId() > lca.getId()) {
-                    lca = b;
-                }
-            }
+        if (idB > lcaId && (idB.equals(idA) || Arrays.binarySearch(ancestorsA, idB) >= 0)) {
+            lcaId = idB;
         }
-        return lca;
+
+        // 엔티티는 결과 하나만 로딩
+        return lcaId < 0 ? null : mysqlRepo.findById(lcaId).orElse(null);
     }
 
     /**
@@ -118,6 +186,155 @@ public class VersionService {
         return mysqlRepo.findAllDescendantEntities(versionId);
     }
 
+    /* ---------- ID 프로젝션 (개수 / 교집합용, VersionRepositoryCustom) ---------- */
+
+    /** MySQL: 모든 조상 ID (재귀 CTE, versions 행은 읽지 않음) */
+    public long[] getMySQLAllAncestorIds(Long versionId) {
+        return mysqlRepo.findAllAncestorIds(versionId);
+    }
+
+    /** MySQL: 모든 자손 ID (재귀 CTE) */
+    public long[] getMySQLAllDescendantIds(Long versionId) {
+        return mysqlRepo.findAllDescendantIds(versionId);
+    }
+
+    /** MySQL: 모든 조상 ID (클로저 테이블 인덱스만) */
+    public long[] getMySQLAllAncestorIdsByClosure(Long versionId) {
+        return mysqlRepo.findAllAncestorIdsByClosure(versionId);
+    }
+
+    /** MySQL: 모든 자손 ID (클로저 테이블 PK 만) */
+    public long[] getMySQLAllDescendantIdsByClosure(Long versionId) {
+        return mysqlRepo.findAllDescendantIdsByClosure(versionId);
+    }
+
+    /*
+       스트림 버전: 클로저 테이블 인덱스 범위 스캔을 행 단위로 흘려보냄
+       (재귀 CTE 는 서버에서 결과를 다 만든 뒤 보내므로 첫 행이 늦음)
+       반드시 try-with-resources 로 닫을 것 -> 중간에 닫으면 서버 쿼리 취소
+     */
+
+    /** MySQL: 모든 조상 ID 스트림 (가까운 조상부터) */
+    public Stream<Long> streamMySQLAllAncestorIds(Long versionId) {
+        return rowStreamer.stream("""
+                SELECT c.ancestor_id
+                FROM version_closure c
+                WHERE c.descendant_id = ?
+                  AND c.depth > 0
+                ORDER BY c.depth
+                """, rs -> rs.getLong(1), versionId);
+    }
+
+    /** MySQL: 모든 자손 ID 스트림 (ID 순) */
+    public Stream<Long> streamMySQLAllDescendantIds(Long versionId) {
+        return rowStreamer.stream("""
+                SELECT c.descendant_id
+                FROM version_closure c
+                WHERE c.ancestor_id = ?
+                  AND c.depth > 0
+                ORDER BY c.descendant_id
+                """, rs -> rs.getLong(1), versionId);
+    }
+
+    /*
+       페이지 버전: (depth, id) 키셋. pageToken 은 이전 페이지의 nextPageToken (null = 첫 페이지)
+     */
+
+    /** MySQL: 자손 한 페이지 (클로저 (ancestor_id, depth, descendant_id) 인덱스) */
+    public TraversalPage getMySQLDescendantPage(Long versionId, String pageToken, int pageSize) {
+        DepthCursor after = DepthCursor.decode(pageToken);
+        List<ClosureDepthRow> rows = mysqlRepo.findDescendantPageByClosure(
+                versionId, after.depth(), after.id(), TraversalPage.fetchLimit(pageSize));
+        return TraversalPage.of(rows.stream().map(ClosureDepthRow::toCursor).toList(), pageSize);
+    }
+
+    /** MySQL: 조상 한 페이지 (클로저 (descendant_id, depth) 인덱스) */
+    public TraversalPage getMySQLAncestorPage(Long versionId, String pageToken, int pageSize) {
+        DepthCursor after = DepthCursor.decode(pageToken);
+        List<ClosureDepthRow> rows = mysqlRepo.findAncestorPageByClosure(
+                versionId, after.depth(), after.id(), TraversalPage.fetchLimit(pageSize));
+        return TraversalPage.of(rows.stream().map(ClosureDepthRow::toCursor).toList(), pageSize);
+    }
+
+    /* ---------- 클로저 테이블 기반 ---------- */
+
+    /** MySQL: 모든 조상 엔티티 (클로저 테이블) */
+    public List<VersionEntity> getMySQLAllAncestorEntitiesByClosure(Long versionId) {
+        return mysqlRepo.findAllAncestorEntitiesByClosure(versionId);
+    }
+
+    /** MySQL: 모든 자손 엔티티 (클로저 테이블) */
+    public List<VersionEntity> getMySQLAllDescendantEntitiesByClosure(Long versionId) {
+        return mysqlRepo.findAllDescendantEntitiesByClosure(versionId);
+    }
+
+    /**
+     * MySQL: LCA (클로저 테이블)
+     * - 공통 조상 ID 한 개만 인덱스로 찾고, 엔티티는 그 하나만 로딩
+     */
+    public VersionEntity getMySQLLowestCommonAncestorByClosure(Long idA, Long idB) {
+        Long lcaId = mysqlRepo.findLowestCommonAncestorIdByClosure(idA, idB);
+        if (lcaId == null) return null;
+        return mysqlRepo.findById(lcaId).orElse(null);
+    }
+
+    /**
+     * MySQL: 이미 적재된 데이터에 대해 클로저 테이블을 채움
+     * (클로저 테이블 도입 이전 데이터 / 대량 적재 후처리용)
+     */
+    public int rebuildMySQLClosure(Long fromId) {
+        int inserted = closureRepo.backfillFrom(fromId);
+        log.info("[MySQL Closure] backfill from id {}, inserted rows={}", fromId, inserted);
+        return inserted;
+    }
+
+    /* ---------- LCA 인덱스 (binary lifting) ---------- */
+
+    /**
+     * version_parents 전체로부터 LCA 인덱스를 다시 만듦
+     * (기동 직후 / 대량 적재 이후 1회)
+     */
+    public void rebuildLcaIndex() {
+        long start = System.currentTimeMillis();
+        TreeLcaIndex rebuilt = TreeLcaIndex.build(graphEngineService.loadVersionGraph());
+        this.lcaIndex = rebuilt;
+        log.info("[LCA Index] rebuilt, memory={} bytes, time={}ms",
+                rebuilt.memoryBytes(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * MySQL: LCA ID (인덱스)
+     * - 단일 부모 구간이면 DB 접근 없이 O(log n)
+     * - 인덱스가 답하지 못하는 경우(머지 노드, 인덱스에 없는 노드)만 클로저 테이블로 fallback
+     */
+    public Long getMySQLLowestCommonAncestorId(Long idA, Long idB) {
+        int lca = lcaIndex.lca(Math.toIntExact(idA), Math.toIntExact(idB));
+        if (lca >= 0) {
+            return (long) lca;
+        }
+        return mysqlRepo.findLowestCommonAncestorIdByClosure(idA, idB);
+    }
+
+    /* ---------- generation 기반 도달성 ---------- */
+
+    /**
+     * MySQL: ancestorId 가 descendantId 의 조상(또는 자기 자신)인가
+     * - generation(ancestor) >= generation(descendant) 이면 탐색 없이 false
+     * - 그 외에는 generation 으로 가지치기한 재귀 CTE
+     * - generation 이 없는(도입 이전) 노드는 클로저 테이블 PK 조회로 판단
+     */
+    public boolean isMySQLAncestor(Long ancestorId, Long descendantId) {
+        if (ancestorId.equals(descendantId)) return true;
+        Integer ancestorGen = mysqlRepo.findGenerationById(ancestorId);
+        Integer descendantGen = mysqlRepo.findGenerationById(descendantId);
+        if (ancestorGen == null || descendantGen == null) {
+            return closureRepo.existsById(new VersionClosureId(ancestorId, descendantId));
+        }
+        if (ancestorGen >= descendantGen) return false;
+        Long hits = mysqlRepo.countReachableWithGenerationPruning(ancestorId, descendantId, ancestorGen);
+        return hits != null && hits > 0;
+    }
+
     /** MySQL: EXPLAIN */
     public List<Object[]> logAndGetMySQLExplainPlan(Long id) {
         List<Object[]> plan = mysqlRepo.explainSelectById(id);
@@ -139,6 +356,9 @@ public class VersionService {
         if (parentNodeIds != null && !parentNodeIds.isEmpty()) {
             List<VersionNodeNew> parents = neo4jNewRepo.findAllById(parentNodeIds);
             parents.forEach(newNode::addParent);
+            newNode.setGeneration(GenerationNumbers.next(parents.stream().map(VersionNodeNew::getGeneration).toList()));
+        } else {
+            newNode.setGeneration(1);
         }
         return neo4jNewRepo.save(newNode);
     }
@@ -153,35 +373,52 @@ public class VersionService {
         return neo4jNewRepo.findAllAncestors(nodeId);
     }
 
-    /** LCA */
-    public VersionNodeNew getNeo4jLowestCommonAncestor(String idA, String idB) {
-        // 1) 조상 조회 (이제는 INCOMING 방향이므로 정상)
-        List<VersionNodeNew> ancestorsA = getNeo4jAllAncestors(idA);
-        // nodeA 자체도 조상 후보에 넣고 싶으면 ID만 추가
-        // (엔티티 풀로딩 방지 목적)
-        // ancestorsA.add(new VersionNodeNew(idA, null));
+    /** 모든 조상의 nodeId 만 (SDN 매핑 없이 Driver 로) */
+    public List<String> getNeo4jAllAncestorIds(String nodeId) {
+        return neo4jReader.findVersionAncestorIds(nodeId);
+    }
 
-        List<VersionNodeNew> ancestorsB = getNeo4jAllAncestors(idB);
-        // ancestorsB.add(new VersionNodeNew(idB, null));
+    /** 모든 자손의 nodeId 만 (SDN 매핑 없이 Driver 로) */
+    public List<String> getNeo4jAllDescendantIds(String nodeId) {
+        return neo4jReader.findVersionDescendantIds(nodeId);
+    }
 
-        // 2) 교집합
-        Set<String> aIds = ancestorsA.stream().map(VersionNodeNew::getNodeId).collect(Collectors.toSet());
-        aIds.add(idA);
+    /** 조상 nodeId 스트림 (소비하는 만큼 당겨옴, try-with-resources 로 닫을 것) */
+    public Stream<String> streamNeo4jAllAncestorIds(String nodeId) {
+        return neo4jReader.streamVersionAncestorIds(nodeId);
+    }
 
-        Set<String> bIds = ancestorsB.stream().map(VersionNodeNew::getNodeId).collect(Collectors.toSet());
-        bIds.add(idB);
+    /** 자손 nodeId 스트림 (소비하는 만큼 당겨옴, try-with-resources 로 닫을 것) */
+    public Stream<String> streamNeo4jAllDescendantIds(String nodeId) {
+        return neo4jReader.streamVersionDescendantIds(nodeId);
+    }
 
-        aIds.retainAll(bIds);
-        if (aIds.isEmpty()) return null;
+    /** 자손 한 페이지 ((depth, id) 키셋, 깊이별 조회) */
+    public TraversalPage getNeo4jDescendantPage(String nodeId, String pageToken, int pageSize) {
+        return neo4jReader.findVersionDescendantPage(nodeId, DepthCursor.decode(pageToken), pageSize);
+    }
 
-        // 3) "가장 큰 ID" 선택
-        String candidateId = aIds.stream().max(String::compareTo).orElse(null);
-        if (candidateId == null) return null;
+    /** 조상 한 페이지 ((depth, id) 키셋, 깊이별 조회) */
+    public TraversalPage getNeo4jAncestorPage(String nodeId, String pageToken, int pageSize) {
+        return neo4jReader.findVersionAncestorPage(nodeId, DepthCursor.decode(pageToken), pageSize);
+    }
 
-        // 4) 무한 로딩 방지를 위해, 바로 stub 리턴 (or shallow query)
-        return new VersionNodeNew(candidateId, "LCA-stub");
+    /**
+     * LCA
+     * - Cypher 한 번으로 서버에서 계산하고 실제 노드 1개만 받음
+     *   (예전: 양쪽 조상 전체를 매핑해서 Java 에서 교집합 + 문자열 비교 -> "LCA-stub")
+     */
+    public VersionNodeNew getNeo4jLowestCommonAncestor(String idA, String idB) {
+        return neo4jNewRepo.findLowestCommonAncestor(idA, idB);
     }
 
+    /**
+     * Neo4j: ancestorId 가 descendantId 의 조상(또는 자기 자신)인가 (generation 가지치기)
+     */
+    public boolean isNeo4jAncestor(String ancestorId, String descendantId) {
+        if (ancestorId.equals(descendantId)) return true;
+        return Boolean.TRUE.equals(neo4jNewRepo.isAncestor(ancestorId, descendantId));
+    }
 
     /** EXPLAIN */
     public String logAndGetNeo4jExplainPlan(String nodeId) {
@@ -196,17 +433,33 @@ public class VersionService {
         return runtime.totalMemory() - runtime.freeMemory();
     }
 
-    /** Neo4j Batch Insert (UNWIND) */
+    /**
+     * Neo4j Batch Insert (UNWIND)
+     * - generation 은 배치 안에서 부모 -> 자식 순서로 계산,
+     *   배치 밖 부모는 DB 에서 한 번씩 조회
+     * - 적재는 Neo4jChunkedLoader (노드/간선 단계, 청크 병렬 커밋)
+     */
     public Integer bulkInsertNeo4jNodes(List<VersionNodeBatchDTO> dtos) {
+        Map<String, Integer> generations = new HashMap<>();
         List<Map<String, Object>> batch = dtos.stream().map(dto -> {
+            List<Integer> parentGenerations = new ArrayList<>();
+            if (dto.getParentNodeIds() != null) {
+                for (String parentId : dto.getParentNodeIds()) {
+                    parentGenerations.add(generations.computeIfAbsent(parentId, neo4jNewRepo::findGenerationByNodeId));
+                }
+            }
+            Integer generation = GenerationNumbers.next(parentGenerations);
+            generations.put(dto.getNodeId(), generation);
+
             Map<String, Object> map = new HashMap<>();
             map.put("nodeId", dto.getNodeId());
             map.put("content", dto.getContent());
             map.put("parents", dto.getParentNodeIds());
+            map.put("generation", generation);
             return map;
         }).collect(Collectors.toList());
 
-        Integer count = neo4jNewRepo.bulkInsertNodes(batch);
+        int count = Math.toIntExact(neo4jLoader.load(Neo4jChunkedLoader.Label.VERSION, batch).nodes());
         log.info("[Neo4j Bulk Insert] Inserted {} nodes", count);
         return count;
     }
@@ -217,117 +470,174 @@ public class VersionService {
 
     // ------------------- MySQL 체인: [1..scale] -------------------
     public void generateMySQLChainData() {
-        createMySQLVersion("mysql_root_chain_" + CHAIN_START, null);
-        for (long i = CHAIN_START + 1; i <= CHAIN_END; i++) {
-            createMySQLVersion("mysql_v_chain_" + i, Collections.singletonList(i - 1));
-        }
+        LongFunction<long[]> parentsOf = chainGenerator()::parents;
+        bulkLoader.load(CHAIN_START, CHAIN_END,
+                i -> i == CHAIN_START ? "mysql_root_chain_" + i : "mysql_v_chain_" + i,
+                parentsOf);
+        finishMySQLBulkLoad(CHAIN_START, CHAIN_END, parentsOf);
         log.info("[MySQL-Chain] range {}..{}, count={}", CHAIN_START, CHAIN_END, (CHAIN_END - CHAIN_START + 1));
     }
 
     // ------------------- MySQL 이진 트리: [scale+1..2*scale] -------------------
     public void generateMySQLBinaryTreeData() {
-        createMySQLVersion("mysql_root_tree_" + BINARY_START, null);
-        for (long i = BINARY_START + 1; i <= BINARY_END; i++) {
-            long offset = i - BINARY_START;
-            long parentOffset = offset / 2;
-            long parentId = BINARY_START + parentOffset;
-            createMySQLVersion("mysql_node_tree_" + i, Collections.singletonList(parentId));
-        }
+        LongFunction<long[]> parentsOf = binaryGenerator()::parents;
+        bulkLoader.load(BINARY_START, BINARY_END,
+                i -> i == BINARY_START ? "mysql_root_tree_" + i : "mysql_node_tree_" + i,
+                parentsOf);
+        finishMySQLBulkLoad(BINARY_START, BINARY_END, parentsOf);
         log.info("[MySQL-Tree] range {}..{}, count={}", BINARY_START, BINARY_END, (BINARY_END - BINARY_START + 1));
     }
 
+    /**
+     * 대량 적재 후처리: [fromId..toId] 구간의 클로저 행을 채우고 LCA 인덱스에 구간 노드만 이어 붙임
+     * (createMySQLVersion 이 노드마다 하던 일을 한 번에)
+     * - 구간마다 전체 backfill / 인덱스 재구축을 하지 않으므로 구간 수에 비례해 느려지지 않음
+     * - id 오름차순 = 부모가 먼저 (bulkLoader 가 parent < child 를 보장)
+     */
+    private void finishMySQLBulkLoad(long fromId, long toId, LongFunction<long[]> parentsOf) {
+        int inserted = closureRepo.backfillRange(fromId, toId);
+        log.info("[MySQL Closure] backfill {}..{}, inserted rows={}", fromId, toId, inserted);
+
+        TreeLcaIndex index = this.lcaIndex;
+        for (long id = fromId; id <= toId; id++) {
+            appendToLcaIndex(index, id, parentsOf.apply(id));
+        }
+    }
+
     /* ================================================================= */
     /*   "공통 로직"을 사용해 MySQL, Neo4j 복합 트리를 동시 생성하는 메서드 */
     /* ================================================================= */
 
     public void generateComplexTreeData() {
-        // 1) 먼저 "child->parent" 관계를 랜덤 생성 (공용)
-        Random rand = new Random();
-        Map<Long, Long> childToParent = new HashMap<>();
-
-        // 루트 (COMPLEX_START) => 부모 없음
-        for (long i = COMPLEX_START + 1; i <= COMPLEX_END; i++) {
-            long rangeSize = (i - 1) - COMPLEX_START + 1;
-            if (rangeSize < 1) rangeSize = 1;
-            long parent = COMPLEX_START + rand.nextInt((int) rangeSize);
-            childToParent.put(i, parent);
-        }
+        // 1) "child->parent" 관계는 시드 고정 생성기로 (맵에 담지 않고 id 마다 다시 계산해도 같은 값)
+        SyntheticHistoryGenerator generator = complexGenerator();
 
         // 2) MySQL에 삽입
-        createMySQLVersion("mysql_root_complex_" + COMPLEX_START, null);
-        for (long i = COMPLEX_START + 1; i <= COMPLEX_END; i++) {
-            long p = childToParent.get(i);
-            createMySQLVersion("mysql_node_complex_" + i, Collections.singletonList(p));
-        }
+        LongFunction<long[]> parentsOf = generator::parents;
+        bulkLoader.load(COMPLEX_START, COMPLEX_END,
+                i -> i == COMPLEX_START ? "mysql_root_complex_" + i : "mysql_node_complex_" + i,
+                parentsOf);
+        finishMySQLBulkLoad(COMPLEX_START, COMPLEX_END, parentsOf);
         log.info("[MySQL-Complex] Inserted range {}..{}, count={}",
                 COMPLEX_START, COMPLEX_END, (COMPLEX_END - COMPLEX_START + 1));
 
         // 3) Neo4j에 삽입 (동일 parent)
-        List<VersionNodeBatchDTO> dtos = new ArrayList<>();
-        // 루트
-        dtos.add(new VersionNodeBatchDTO(
-                String.valueOf(COMPLEX_START),
-                "neo4j_root_complex_" + COMPLEX_START,
-                Collections.emptyList()
-        ));
-
-        for (long i = COMPLEX_START + 1; i <= COMPLEX_END; i++) {
-            long p = childToParent.get(i);
-            dtos.add(new VersionNodeBatchDTO(
-                    String.valueOf(i),
-                    "neo4j_node_complex_" + i,
-                    Collections.singletonList(String.valueOf(p))
-            ));
-        }
-
-        int insertedNeo = bulkInsertNeo4jNodes(dtos);
+        int[] generations = generator.computeGenerations(COMPLEX_END);
+        Iterator<Map<String, Object>> rows = generator.stream(COMPLEX_START, COMPLEX_END, generations)
+                .map(n -> {
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("nodeId", String.valueOf(n.id()));
+                    row.put("content", n.id() == COMPLEX_START
+                            ? "neo4j_root_complex_" + n.id()
+                            : "neo4j_node_complex_" + n.id());
+                    row.put("parents", Arrays.stream(n.parentIds()).mapToObj(String::valueOf).toList());
+                    row.put("generation", n.generationOrNull());
+                    return row;
+                })
+                .iterator();
+        long insertedNeo = neo4jLoader.loadStreaming(Neo4jChunkedLoader.Label.VERSION, rows).nodes();
         log.info("[Neo4j-Complex] Inserted range {}..{}, count={}",
                 COMPLEX_START, COMPLEX_END, insertedNeo);
     }
 
+    /* 세 구간의 모양 (MySQL / Neo4j / import CSV 가 모두 같은 GraphShape 로 부모를 정함) */
+
+    /** 체인: 부모 = i - 1 */
+    private SyntheticHistoryGenerator chainGenerator() {
+        return new SyntheticHistoryGenerator(seed, CHAIN_START, GraphShapes.chain());
+    }
+
+    /** 이진 트리: 부모 = BINARY_START + (i - BINARY_START) / 2 */
+    private SyntheticHistoryGenerator binaryGenerator() {
+        return new SyntheticHistoryGenerator(seed, BINARY_START, GraphShapes.heapTree(2));
+    }
+
+    /** 복합 트리: [COMPLEX_START, i-1] 에서 균등하게 부모 1개 */
+    private SyntheticHistoryGenerator complexGenerator() {
+        return new SyntheticHistoryGenerator(seed, COMPLEX_START, GraphShapes.randomTree());
+    }
+
+    /** 단일 부모 구간용: 첫 번째 부모, 루트면 -1 */
+    private static LongUnaryOperator firstParentOf(SyntheticHistoryGenerator generator) {
+        return i -> {
+            long[] parents = generator.parents(i);
+            return parents.length == 0 ? -1 : parents[0];
+        };
+    }
+
+    /* ================================================================= */
+    /*   neo4j-admin 오프라인 import 용 CSV (체인 / 이진 / 복합)          */
+    /* ================================================================= */
+
+    /**
+     * VersionNew 세 구간을 neo4j-admin database import 용 CSV 로 내보냄 (빈 DB 초기 적재용).
+     * - 구간마다 데이터 파일 하나, 헤더는 공유
+     * - generation 은 구간별 int[] 로 계산 (노드당 4 byte 외에 행을 들고 있지 않음)
+     * - 복합 트리는 generateComplexTreeData 와 같은 생성기 (같은 seed 면 같은 구조)
+     */
+    public void exportNeo4jImportFiles(Path dir) {
+        List<String> args = new ArrayList<>();
+        args.add(exportNeo4jImportRange(dir, "chain", CHAIN_START, CHAIN_END,
+                i -> i == CHAIN_START ? "neo4j_root_chain_" + i : "neo4j_v_chain_" + i,
+                firstParentOf(chainGenerator())));
+        args.add(exportNeo4jImportRange(dir, "tree", BINARY_START, BINARY_END,
+                i -> i == BINARY_START ? "neo4j_root_tree_" + i : "neo4j_node_tree_" + i,
+                firstParentOf(binaryGenerator())));
+        args.add(exportNeo4jImportRange(dir, "complex", COMPLEX_START, COMPLEX_END,
+                i -> i == COMPLEX_START ? "neo4j_root_complex_" + i : "neo4j_node_complex_" + i,
+                firstParentOf(complexGenerator())));
+        log.info("[Neo4j Import Files] neo4j-admin database import full <db> {}", String.join(" ", args));
+    }
+
+    /** 단일 부모 구간 하나 (parentOf 가 -1 이면 루트) */
+    private String exportNeo4jImportRange(Path dir, String part, long fromId, long toId,
+                                          LongFunction<String> contentOf, LongUnaryOperator parentOf) {
+        int[] generations = new int[Math.toIntExact(toId - fromId + 1)];
+        try (Neo4jImportFileWriter writer = Neo4jImportFileWriter.versions(dir, part)) {
+            for (long i = fromId; i <= toId; i++) {
+                long parent = parentOf.applyAsLong(i);
+                int generation = parent < 0 ? 1 : generations[(int) (parent - fromId)] + 1;
+                generations[(int) (i - fromId)] = generation;
+
+                writer.node(String.valueOf(i), contentOf.apply(i), generation);
+                if (parent >= 0) {
+                    writer.parentOf(String.valueOf(parent), String.valueOf(i));
+                }
+            }
+            log.info("[Neo4j Import Files] {} : nodes={}, relationships={}",
+                    part, writer.nodeCount(), writer.relationshipCount());
+            return writer.importArguments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write neo4j import files: " + dir, e);
+        }
+    }
+
     /* ================================================================= */
     /*   Neo4j 체인, 이진 (별도)                                        */
     /* ================================================================= */
 
     // ------------------- Neo4j 체인: [1..scale] -------------------
     public void generateNeo4jChainData() {
-        List<VersionNodeBatchDTO> dtos = new ArrayList<>();
-        // 루트
-        dtos.add(new VersionNodeBatchDTO(String.valueOf(CHAIN_START),
-                "neo4j_root_chain_" + CHAIN_START,
-                Collections.emptyList()));
-
-        for (long i = CHAIN_START + 1; i <= CHAIN_END; i++) {
-            String nodeId = String.valueOf(i);
-            String parentId = String.valueOf(i - 1);
-            dtos.add(new VersionNodeBatchDTO(
-                    nodeId,
-                    "neo4j_v_chain_" + i,
-                    Collections.singletonList(parentId)));
-        }
-        int inserted = bulkInsertNeo4jNodes(dtos);
+        int inserted = bulkInsertNeo4jNodes(neo4jBatch(chainGenerator(), CHAIN_END,
+                i -> i == CHAIN_START ? "neo4j_root_chain_" + i : "neo4j_v_chain_" + i));
         log.info("[Neo4j-Chain] range {}..{}, count={}", CHAIN_START, CHAIN_END, inserted);
     }
 
     // ------------------- Neo4j 이진 트리: [scale+1..2*scale] -------------------
     public void generateNeo4jBinaryTreeData() {
+        int inserted = bulkInsertNeo4jNodes(neo4jBatch(binaryGenerator(), BINARY_END,
+                i -> i == BINARY_START ? "neo4j_root_tree_" + i : "neo4j_node_tree_" + i));
+        log.info("[Neo4j-Tree] range {}..{}, count={}", BINARY_START, BINARY_END, inserted);
+    }
+
+    /** [firstId..toId] 를 generator 의 부모로 DTO 목록으로 */
+    private static List<VersionNodeBatchDTO> neo4jBatch(SyntheticHistoryGenerator generator, long toId,
+                                                        LongFunction<String> contentOf) {
         List<VersionNodeBatchDTO> dtos = new ArrayList<>();
-        dtos.add(new VersionNodeBatchDTO(String.valueOf(BINARY_START),
-                "neo4j_root_tree_" + BINARY_START,
-                Collections.emptyList()));
-
-        for (long i = BINARY_START + 1; i <= BINARY_END; i++) {
-            long offset = i - BINARY_START;
-            long parentOffset = offset / 2;
-            long parentIdLong = BINARY_START + parentOffset;
-
-            dtos.add(new VersionNodeBatchDTO(
-                    String.valueOf(i),
-                    "neo4j_node_tree_" + i,
-                    Collections.singletonList(String.valueOf(parentIdLong))));
+        for (long i = generator.firstId(); i <= toId; i++) {
+            List<String> parentIds = Arrays.stream(generator.parents(i)).mapToObj(String::valueOf).toList();
+            dtos.add(new VersionNodeBatchDTO(String.valueOf(i), contentOf.apply(i), parentIds));
         }
-
-        int inserted = bulkInsertNeo4jNodes(dtos);
-        log.info("[Neo4j-Tree] range {}..{}, count={}", BINARY_START, BINARY_END, inserted);
+        return dtos;
     }
 }
@@ -0,0 +1,163 @@
+package com.gdbrdb.test.generator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * GraphShapes 모양별 단위 테스트 (DB 없음).
+ * - 모든 모양: 부모 수가 1..maxParents, 부모는 [firstId, id) 안 (앞 참조 없음), 중복 없음
+ * - 모양별: 부모 규칙 / 자식 수 상한
+ */
+public class GraphShapesTest {
+
+    private static final long SEED = 42L;
+    private static final long FIRST_ID = 10001;
+    private static final long LAST_ID = 12000;
+
+    @Test
+    @DisplayName("chain: parent = id - 1")
+    void chainTest() {
+        SyntheticHistoryGenerator generator = checked("chain");
+        for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+            Assertions.assertArrayEquals(new long[]{id - 1}, generator.parents(id));
+        }
+    }
+
+    @Test
+    @DisplayName("kary:3: BFS numbering, at most 3 children")
+    void karyTreeTest() {
+        SyntheticHistoryGenerator generator = checked("kary:3");
+        for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+            Assertions.assertEquals(FIRST_ID + (id - FIRST_ID - 1) / 3, generator.parents(id)[0]);
+        }
+        assertMaxChildren(generator, 3);
+    }
+
+    @Test
+    @DisplayName("heap:2: same parents as the versions binary range, root has one child")
+    void heapTreeTest() {
+        SyntheticHistoryGenerator generator = checked("heap:2");
+        for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+            Assertions.assertEquals(FIRST_ID + (id - FIRST_ID) / 2, generator.parents(id)[0]);
+        }
+        Map<Long, Integer> children = childCounts(generator);
+        Assertions.assertEquals(1, children.get(FIRST_ID));
+        assertMaxChildren(generator, 2);
+    }
+
+    @Test
+    @DisplayName("random-tree / preferential: exactly one parent")
+    void singleParentShapesTest() {
+        for (String spec : new String[]{"random-tree", "preferential:0.5"}) {
+            SyntheticHistoryGenerator generator = checked(spec);
+            for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+                Assertions.assertEquals(1, generator.parents(id).length, spec);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("uniform-dag:3: 1..3 parents, some nodes have more than one")
+    void uniformDagTest() {
+        SyntheticHistoryGenerator generator = checked("uniform-dag:3");
+        boolean merge = false;
+        for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+            merge |= generator.parents(id).length > 1;
+        }
+        Assertions.assertTrue(merge);
+    }
+
+    @Test
+    @DisplayName("fanout:5: hubs form a chain, each hub has 5 leaves + next hub")
+    void fanOutTest() {
+        SyntheticHistoryGenerator generator = checked("fanout:5");
+        for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+            long parentOffset = generator.parents(id)[0] - FIRST_ID;
+            Assertions.assertEquals(0, parentOffset % 6, "parent must be a hub: " + id);
+        }
+        assertMaxChildren(generator, 6);
+    }
+
+    @Test
+    @DisplayName("branches:4:3: merges only on main, every 3rd main commit")
+    void longLivedBranchesTest() {
+        SyntheticHistoryGenerator generator = checked("branches:4:3");
+        for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+            long offset = id - FIRST_ID;
+            long[] parents = generator.parents(id);
+            Assertions.assertEquals(Math.max(FIRST_ID, id - 4), parents[0]);
+            if (parents.length == 2) {
+                Assertions.assertEquals(0, offset % 4, "merge off main: " + id);
+                Assertions.assertEquals(0, offset / 4 % 3, "merge off schedule: " + id);
+                Assertions.assertNotEquals(0, (parents[1] - FIRST_ID) % 4, "merged main into main: " + id);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("octopus:4:10:20: 4 parents every 10th node, all within the window")
+    void octopusTest() {
+        SyntheticHistoryGenerator generator = checked("octopus:4:10:20");
+        for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+            long offset = id - FIRST_ID;
+            long[] parents = generator.parents(id);
+            if (offset % 10 != 0) {
+                Assertions.assertEquals(1, parents.length, "non-merge node: " + id);
+            } else if (offset >= 4) {
+                Assertions.assertTrue(parents.length > 1, "octopus merge: " + id);
+            }
+            for (long p : parents) {
+                Assertions.assertTrue(p >= id - 20, "outside window: " + id + " <- " + p);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("parse(name()) round-trips")
+    void parseRoundTripTest() {
+        for (String spec : new String[]{"chain", "kary:3", "heap:2", "random-tree", "uniform-dag:3", "fanout:5",
+                "branches:4:3", "octopus:4:10:20", "preferential:0.5"}) {
+            Assertions.assertEquals(spec, GraphShapes.parse(spec).name());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GraphShapes.parse("heap:1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GraphShapes.parse("nope"));
+    }
+
+    /** 공통 검사: 부모 수 범위, 앞 참조 없음, 중복 없음, 루트는 부모 없음 */
+    private static SyntheticHistoryGenerator checked(String spec) {
+        GraphShape shape = GraphShapes.parse(spec);
+        SyntheticHistoryGenerator generator = new SyntheticHistoryGenerator(SEED, FIRST_ID, shape);
+        Assertions.assertEquals(0, generator.parents(FIRST_ID).length, spec);
+        for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+            long[] parents = generator.parents(id);
+            Assertions.assertTrue(parents.length >= 1 && parents.length <= shape.maxParents(),
+                    spec + " parent count " + parents.length + " at " + id);
+            Assertions.assertEquals(parents.length, Arrays.stream(parents).distinct().count(), spec + " duplicate at " + id);
+            for (long p : parents) {
+                Assertions.assertTrue(p >= FIRST_ID && p < id, spec + " forward reference " + id + " <- " + p);
+            }
+            Assertions.assertArrayEquals(parents, generator.node(id, null).parentIds(), spec + " parents != node() at " + id);
+        }
+        return generator;
+    }
+
+    private static Map<Long, Integer> childCounts(SyntheticHistoryGenerator generator) {
+        Map<Long, Integer> children = new HashMap<>();
+        for (long id = FIRST_ID + 1; id <= LAST_ID; id++) {
+            for (long p : generator.parents(id)) {
+                children.merge(p, 1, Integer::sum);
+            }
+        }
+        return children;
+    }
+
+    private static void assertMaxChildren(SyntheticHistoryGenerator generator, int max) {
+        childCounts(generator).forEach((p, count) ->
+                Assertions.assertTrue(count <= max, p + " has " + count + " children"));
+    }
+}
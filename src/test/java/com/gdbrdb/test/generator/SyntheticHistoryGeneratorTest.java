@@ -0,0 +1,110 @@
+package com.gdbrdb.test.generator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SyntheticHistoryGenerator 단위 테스트 (DB 없음).
+ * - 같은 seed 면 구간을 나눠 병렬로 만든 결과가 순차 생성과 같은지
+ * - 모든 모양에서 부모 ID 가 자식 ID 보다 작은지 (ID 순서 = 위상 순서)
+ */
+public class SyntheticHistoryGeneratorTest {
+
+    private static final long SEED = 42L;
+    private static final long FIRST_ID = 1001;
+    private static final long LAST_ID = 4000;
+
+    private static final List<String> SHAPES = List.of(
+            "chain", "kary:3", "random-tree", "uniform-dag:3", "fanout:5",
+            "branches:4:3", "octopus:4:10:20", "preferential:0.5"
+    );
+
+    @Test
+    @DisplayName("Partitioned parallel run == sequential run (same seed)")
+    void partitionedEqualsSequentialTest() {
+        for (String spec : SHAPES) {
+            SyntheticHistoryGenerator generator = new SyntheticHistoryGenerator(SEED, FIRST_ID, GraphShapes.parse(spec));
+            int[] generations = generator.computeGenerations(LAST_ID);
+
+            List<String> sequential = generator.stream(FIRST_ID, LAST_ID, generations)
+                    .map(SyntheticHistoryGeneratorTest::signature)
+                    .toList();
+
+            // 다른 인스턴스(같은 seed)로, 구간마다 따로
+            SyntheticHistoryGenerator other = new SyntheticHistoryGenerator(SEED, FIRST_ID, GraphShapes.parse(spec));
+            List<String> partitioned = SyntheticHistoryGenerator.partitions(FIRST_ID, LAST_ID, 7).parallelStream()
+                    .flatMap(range -> other.stream(range[0], range[1], generations))
+                    .map(SyntheticHistoryGeneratorTest::signature)
+                    .toList();
+
+            Assertions.assertEquals(sequential, partitioned, spec);
+        }
+    }
+
+    @Test
+    @DisplayName("Different seeds give different graphs")
+    void seedChangesGraphTest() {
+        GraphShape shape = GraphShapes.uniformDag(3);
+        List<String> a = new SyntheticHistoryGenerator(SEED, FIRST_ID, shape).stream(FIRST_ID, LAST_ID, null)
+                .map(SyntheticHistoryGeneratorTest::signature).toList();
+        List<String> b = new SyntheticHistoryGenerator(SEED + 1, FIRST_ID, shape).stream(FIRST_ID, LAST_ID, null)
+                .map(SyntheticHistoryGeneratorTest::signature).toList();
+        Assertions.assertNotEquals(a, b);
+    }
+
+    @Test
+    @DisplayName("Parents are older than the child for every shape")
+    void parentsBeforeChildTest() {
+        for (String spec : SHAPES) {
+            GraphShape shape = GraphShapes.parse(spec);
+            SyntheticHistoryGenerator generator = new SyntheticHistoryGenerator(SEED, FIRST_ID, shape);
+            int[] generations = generator.computeGenerations(LAST_ID);
+
+            generator.stream(FIRST_ID, LAST_ID, generations).forEach(n -> {
+                long[] parents = n.parentIds();
+                if (n.id() == FIRST_ID) {
+                    Assertions.assertEquals(0, parents.length, spec + " root");
+                    Assertions.assertEquals(1, n.generation(), spec + " root generation");
+                    return;
+                }
+                Assertions.assertTrue(parents.length >= 1 && parents.length <= shape.maxParents(),
+                        spec + " id=" + n.id() + " parents=" + Arrays.toString(parents));
+                Assertions.assertEquals(parents.length, Arrays.stream(parents).distinct().count(),
+                        spec + " id=" + n.id() + " duplicate parents");
+                int maxParentGeneration = 0;
+                for (long p : parents) {
+                    Assertions.assertTrue(p >= FIRST_ID && p < n.id(), spec + " id=" + n.id() + " parent=" + p);
+                    maxParentGeneration = Math.max(maxParentGeneration, generations[(int) (p - FIRST_ID)]);
+                }
+                Assertions.assertEquals(maxParentGeneration + 1, n.generation(), spec + " id=" + n.id() + " generation");
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("partitions() covers the range exactly once")
+    void partitionsCoverRangeTest() {
+        List<long[]> ranges = SyntheticHistoryGenerator.partitions(FIRST_ID, LAST_ID, 7);
+        Assertions.assertEquals(7, ranges.size());
+        long expected = FIRST_ID;
+        for (long[] range : ranges) {
+            Assertions.assertEquals(expected, range[0]);
+            Assertions.assertTrue(range[1] >= range[0]);
+            expected = range[1] + 1;
+        }
+        Assertions.assertEquals(LAST_ID + 1, expected);
+
+        // 노드보다 구간이 많으면 노드 수만큼
+        Assertions.assertEquals(3, SyntheticHistoryGenerator.partitions(1, 3, 8).size());
+        Assertions.assertTrue(SyntheticHistoryGenerator.partitions(5, 4, 8).isEmpty());
+    }
+
+    private static String signature(SyntheticNode n) {
+        return n.id() + " " + Arrays.toString(n.parentIds()) + " " + n.titleIndex() + " " + n.authorIndex()
+                + " " + n.createdEpochSecond() + " " + n.generation();
+    }
+}
@@ -0,0 +1,86 @@
+package com.gdbrdb.test.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 스냅샷(base) + delta overlay 단위 테스트 (DB 없음).
+ * - overlay 의 generation 이 전체 그래프로 계산한 값과 같은지
+ * - overlay 를 그대로 다시 쓴 스냅샷이 전체 그래프와 같은지
+ */
+public class OverlayGraphTest {
+
+    // 1 <- 2 <- 3, 1 <- 4, {3, 4} <- 5 | delta: 5 <- 6, {2, 6} <- 7, 8(루트)
+    private static final long[][] BASE_EDGES = { {2, 1}, {3, 2}, {4, 1}, {5, 3}, {5, 4} };
+    private static final long[][] DELTA_EDGES = { {6, 5}, {7, 2}, {7, 6} };
+    private static final int BASE_MAX_ID = 5;
+    private static final int MAX_ID = 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Overlay carries generations of delta nodes")
+    void overlayGenerationTest() throws IOException {
+        GraphSnapshot.MappedGraph snapshot = writeAndOpen(build(BASE_MAX_ID, BASE_EDGES), "base.snap");
+        OverlayGraph overlay = new OverlayGraph(snapshot, snapshot::generation, build(MAX_ID, DELTA_EDGES));
+
+        int[] expected = GenerationNumbers.compute(build(MAX_ID, BASE_EDGES, DELTA_EDGES));
+        for (int id = 0; id <= MAX_ID; id++) {
+            Assertions.assertEquals(expected[id], overlay.generation(id), "generation of " + id);
+        }
+        Assertions.assertEquals(6, overlay.generation(7));
+        Assertions.assertEquals(1, overlay.generation(8));
+    }
+
+    @Test
+    @DisplayName("Snapshot of (mapped base + overlay) == snapshot of full graph")
+    void rewriteOverlaySnapshotTest() throws IOException {
+        GraphSnapshot.MappedGraph snapshot = writeAndOpen(build(BASE_MAX_ID, BASE_EDGES), "base.snap");
+        OverlayGraph overlay = new OverlayGraph(snapshot, snapshot::generation, build(MAX_ID, DELTA_EDGES));
+
+        Path path = dir.resolve("overlay.snap");
+        GraphSnapshot.write(overlay, overlay::generation, MAX_ID, path);
+        GraphSnapshot.MappedGraph rewritten = GraphSnapshot.open(path);
+
+        CsrGraph full = build(MAX_ID, BASE_EDGES, DELTA_EDGES);
+        int[] generations = GenerationNumbers.compute(full);
+        Assertions.assertEquals(full.capacity(), rewritten.capacity());
+        Assertions.assertEquals(full.edgeCount(), rewritten.edgeCount());
+        Assertions.assertEquals(MAX_ID, rewritten.highWaterId());
+        for (int id = 0; id < full.capacity(); id++) {
+            Assertions.assertArrayEquals(sorted(GraphTraversal.ancestors(full, id)), sorted(GraphTraversal.ancestors(rewritten, id)));
+            Assertions.assertArrayEquals(sorted(GraphTraversal.descendants(full, id)), sorted(GraphTraversal.descendants(rewritten, id)));
+            Assertions.assertEquals(generations[id], rewritten.generation(id));
+        }
+    }
+
+    private GraphSnapshot.MappedGraph writeAndOpen(CsrGraph graph, String name) throws IOException {
+        Path path = dir.resolve(name);
+        int[] generations = GenerationNumbers.compute(graph);
+        GraphSnapshot.write(graph, id -> generations[id], graph.capacity() - 1L, path);
+        return GraphSnapshot.open(path);
+    }
+
+    private static int[] sorted(int[] ids) {
+        int[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static CsrGraph build(int maxId, long[][]... edgeSets) {
+        CsrGraph.Builder builder = CsrGraph.builder().addNode(maxId);
+        for (long[][] edges : edgeSets) {
+            for (long[] e : edges) {
+                builder.addEdge(e[0], e[1]);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.gdbrdb.test.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * 2-hop 라벨링 단위 테스트 (DB 없음).
+ * - 모든 (u, v) 쌍에서 reach 가 BFS 자손 집합과 같은지 (순차 / 병렬 구성 모두)
+ * - 파일로 쓰고 다시 읽어도 같은 답인지
+ */
+public class PrunedLandmarkLabelingTest {
+
+    private static final int N = 400;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("reach == BFS for every pair (parallelism 1 and 4)")
+    void reachMatchesBfsTest() {
+        CsrGraph graph = randomDag(N, 3, 42);
+        boolean[][] expected = closure(graph);
+        for (int parallelism : new int[]{1, 4}) {
+            PrunedLandmarkLabeling labeling = PrunedLandmarkLabeling.build(graph, parallelism);
+            assertSameReach(expected, labeling, "parallelism " + parallelism);
+        }
+    }
+
+    @Test
+    @DisplayName("write + read keeps the labels")
+    void roundTripTest() throws IOException {
+        CsrGraph graph = randomDag(N, 2, 7);
+        PrunedLandmarkLabeling labeling = PrunedLandmarkLabeling.build(graph, 2);
+        Path path = dir.resolve("labels.pll");
+        labeling.write(path);
+
+        PrunedLandmarkLabeling read = PrunedLandmarkLabeling.read(path);
+        Assertions.assertEquals(labeling.labelCount(), read.labelCount());
+        assertSameReach(closure(graph), read, "read");
+    }
+
+    private static void assertSameReach(boolean[][] expected, PrunedLandmarkLabeling labeling, String message) {
+        for (int u = 0; u < expected.length; u++) {
+            for (int v = 0; v < expected.length; v++) {
+                Assertions.assertEquals(u == v || expected[u][v], labeling.reach(u, v), message + ": " + u + " -> " + v);
+            }
+        }
+    }
+
+    /** expected[u][v] = v 가 u 의 자손 */
+    private static boolean[][] closure(CsrGraph graph) {
+        boolean[][] reach = new boolean[graph.capacity()][];
+        for (int u = 0; u < graph.capacity(); u++) {
+            reach[u] = new boolean[graph.capacity()];
+            for (int v : GraphTraversal.descendants(graph, u)) {
+                reach[u][v] = true;
+            }
+        }
+        return reach;
+    }
+
+    /** 노드 1..n-1 마다 앞쪽 노드 중 부모 1..maxParents 개 (0 은 고립 노드) */
+    private static CsrGraph randomDag(int n, int maxParents, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        CsrGraph.Builder builder = CsrGraph.builder().addNode(n - 1);
+        for (int id = 2; id < n; id++) {
+            int parents = 1 + rnd.nextInt(maxParents);
+            for (int k = 0; k < parents; k++) {
+                builder.addEdge(id, 1 + rnd.nextInt(id - 1));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.gdbrdb.test.service;
+
+import com.gdbrdb.test.entity.mysql.VersionEntity;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+/**
+ * 재귀 CTE vs 클로저 테이블 (version_closure) 조회 시간 비교.
+ *
+ * 가정:
+ * - DataGenerationTest 로 체인(1..10000) / 이진(10001..20000) 데이터가 이미 생성됨
+ * - 클로저 테이블 도입 이전 데이터라면 1번 테스트에서 backfill
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ClosureTableTest {
+
+    @Autowired
+    private VersionService versionService;
+
+    private static final long CHAIN_START = 1;
+    private static final long CHAIN_END = 10000;
+    private static final long BINARY_START = 10001;
+
+    @Order(1)
+    @Test
+    @DisplayName("Backfill version_closure for existing data")
+    void backfillClosureTest() {
+        long start = System.currentTimeMillis();
+        int inserted = versionService.rebuildMySQLClosure(CHAIN_START);
+        System.out.println("[Closure backfill] inserted=" + inserted
+                + ", time=" + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Chain - Ancestors (CTE vs Closure)")
+    void compareAncestorsChainTest() {
+        compareAncestors(CHAIN_END);
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Binary - Descendants (CTE vs Closure)")
+    void compareDescendantsBinaryTest() {
+        long start = System.currentTimeMillis();
+        List<VersionEntity> cte = versionService.getMySQLAllDescendantEntities(BINARY_START);
+        long cteTime = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        List<VersionEntity> closure = versionService.getMySQLAllDescendantEntitiesByClosure(BINARY_START);
+        long closureTime = System.currentTimeMillis() - start;
+
+        System.out.println("[Descendants] CTE count=" + cte.size() + ", time=" + cteTime + "ms"
+                + " | Closure count=" + closure.size() + ", time=" + closureTime + "ms");
+        Assertions.assertEquals(cte.size(), closure.size());
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Chain - LCA (Entity intersection vs Closure)")
+    void compareLcaChainTest() {
+        long idA = 1000;
+        long idB = 9000;
+
+        long start = System.currentTimeMillis();
+        VersionEntity byEntities = versionService.getMySQLLowestCommonAncestorEntity(idA, idB);
+        long entityTime = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        VersionEntity byClosure = versionService.getMySQLLowestCommonAncestorByClosure(idA, idB);
+        long closureTime = System.currentTimeMillis() - start;
+
+        System.out.println("[LCA] entity=" + byEntities.getId() + ", time=" + entityTime + "ms"
+                + " | closure=" + byClosure.getId() + ", time=" + closureTime + "ms");
+        Assertions.assertEquals(byEntities.getId(), byClosure.getId());
+    }
+
+    private void compareAncestors(long testId) {
+        long start = System.currentTimeMillis();
+        List<VersionEntity> cte = versionService.getMySQLAllAncestorEntities(testId);
+        long cteTime = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        List<VersionEntity> closure = versionService.getMySQLAllAncestorEntitiesByClosure(testId);
+        long closureTime = System.currentTimeMillis() - start;
+
+        System.out.println("[Ancestors] node=" + testId
+                + " | CTE count=" + cte.size() + ", time=" + cteTime + "ms"
+                + " | Closure count=" + closure.size() + ", time=" + closureTime + "ms");
+        Assertions.assertEquals(cte.size(), closure.size());
+    }
+}
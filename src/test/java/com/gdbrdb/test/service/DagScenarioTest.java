@@ -1,6 +1,7 @@
 package com.gdbrdb.test.service;
 
 import com.gdbrdb.test.entity.mysql.DagVersionEntity;
+import com.gdbrdb.test.entity.mysql.DagVersionSummary;
 import com.gdbrdb.test.entity.neo4j.DagVersionNode;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -195,6 +196,102 @@ public class DagScenarioTest {
         }
     }
 
+    // ======================================
+    // 5) 시나리오 A 노드 단위 탐색 10회 반복
+    //    (각 저장소 안에서 경로 열거 버전과 결과 노드 집합이 같은지도 확인)
+    // ======================================
+    @Test
+    @Order(5)
+    @DisplayName("Scenario A (node-unique) - 10회 반복")
+    void testScenarioANodeUniqueRepeat() {
+        String scenarioName = "A-uniq";
+        for (int i = 1; i <= REPEAT_COUNT; i++) {
+            long testId = randomNodeId();
+            String author = "kanguk";
+            String titlePart = "pdf";
+
+            // MySQL
+            long msStart = System.currentTimeMillis();
+            List<DagVersionEntity> mySqlRes =
+                    scenarioService.findMySqlAncestorsByAuthorTitleNodeUnique(testId, author, titlePart);
+            long mysqlTime = System.currentTimeMillis() - msStart;
+
+            // Neo4j
+            long neoStart = System.currentTimeMillis();
+            List<DagVersionNode> neoRes =
+                    scenarioService.findNeoAncestorsByAuthorTitleNodeUnique(String.valueOf(testId), author, titlePart);
+            long neoTime = System.currentTimeMillis() - neoStart;
+
+            List<Long> pathIds = scenarioService.findMySqlAncestorsByAuthorTitle(testId, author, titlePart)
+                    .stream().map(DagVersionEntity::getId).distinct().sorted().toList();
+            List<Long> uniqueIds = mySqlRes.stream().map(DagVersionEntity::getId).sorted().toList();
+            Assertions.assertEquals(pathIds, uniqueIds, "testId=" + testId);
+
+            // Neo4j 도 같은 저장소 안에서 경로 열거 버전과 비교 (MySQL 과 Neo4j 의 데이터가 같다고 가정하지 않음)
+            List<String> neoPathIds = scenarioService.findNeoAncestorsByAuthorTitle(String.valueOf(testId), author, titlePart)
+                    .stream().map(DagVersionNode::getNodeId).distinct().sorted().toList();
+            List<String> neoUniqueIds = neoRes.stream().map(DagVersionNode::getNodeId).sorted().toList();
+            Assertions.assertEquals(neoPathIds, neoUniqueIds, "testId=" + testId);
+
+            results.add(new ResultRecord(
+                    scenarioName, i,
+                    "testId=" + testId,
+                    mysqlTime, mySqlRes.size(),
+                    neoTime, neoRes.size()
+            ));
+        }
+    }
+
+    // ======================================
+    // 6) 시나리오 A/B 프로젝션 10회 반복
+    //    (엔티티 vs 요약 프로젝션 vs 클로저 ID, 같은 결과인지 확인)
+    // ======================================
+    @Test
+    @Order(6)
+    @DisplayName("Scenario A/B (projection) - 10회 반복")
+    void testScenarioProjectionRepeat() {
+        for (int i = 1; i <= REPEAT_COUNT; i++) {
+            long testId = randomNodeId();
+            String author = "kanguk";
+            String titlePart = "pdf";
+
+            long start = System.nanoTime();
+            List<DagVersionEntity> entities = scenarioService.findMySqlAncestorsByAuthorTitle(testId, author, titlePart);
+            long entityTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<DagVersionSummary> summaries = scenarioService.findMySqlAncestorSummariesByAuthorTitle(testId, author, titlePart);
+            long summaryTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Long> closureIds = scenarioService.findMySqlAncestorIdsByAuthorTitleViaClosure(testId, author, titlePart);
+            long closureIdTime = System.nanoTime() - start;
+
+            Assertions.assertEquals(
+                    entities.stream().map(DagVersionEntity::getId).sorted().toList(),
+                    summaries.stream().map(DagVersionSummary::getId).sorted().toList(), "testId=" + testId);
+            Assertions.assertEquals(
+                    entities.stream().map(DagVersionEntity::getId).distinct().sorted().toList(),
+                    closureIds.stream().sorted().toList(), "testId=" + testId);
+
+            LocalDateTime threshold = LocalDateTime.of(2025, 3, 1, 0, 0);
+            start = System.nanoTime();
+            int descEntities = scenarioService.findMySqlDescendantsCreatedAfter(testId, threshold).size();
+            long descEntityTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int descSummaries = scenarioService.findMySqlDescendantSummariesCreatedAfter(testId, threshold).size();
+            long descSummaryTime = System.nanoTime() - start;
+            Assertions.assertEquals(descEntities, descSummaries, "testId=" + testId);
+
+            System.out.println("#" + i + " testId=" + testId
+                    + " | A entity=" + entityTime / 1000 + "us, summary=" + summaryTime / 1000
+                    + "us, closureIds=" + closureIdTime / 1000 + "us (rows=" + entities.size() + ")"
+                    + " | B entity=" + descEntityTime / 1000 + "us, summary=" + descSummaryTime / 1000
+                    + "us (rows=" + descEntities + ")");
+        }
+    }
+
     // ======================================
     // 모든 테스트가 끝난 뒤, 결과를 표로 출력
     // ======================================
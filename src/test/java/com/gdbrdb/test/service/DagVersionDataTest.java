@@ -1,8 +1,25 @@
 package com.gdbrdb.test.service;
 
+import com.gdbrdb.test.entity.mysql.DagVersionEntity;
+import com.gdbrdb.test.generator.GraphShapes;
+import com.gdbrdb.test.generator.SyntheticHistoryGenerator;
+import com.gdbrdb.test.repository.neo4j.DagVersionNodeRepository;
 import org.junit.jupiter.api.*;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * "다중 부모(DAG)" 형태의 데이터 생성 테스트
@@ -18,10 +35,201 @@ public class DagVersionDataTest {
     @Autowired
     private DagVersionService dagService;
 
+    @Autowired
+    private DagDualWriteService dualWriteService;
+
+    @Autowired
+    private OutboxReplicator outboxReplicator;
+
+    @Autowired
+    private GraphConsistencyChecker consistencyChecker;
+
+    @Autowired
+    private DagLayeredLoader layeredLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DagVersionNodeRepository dagNeoRepo;
+
+    @Autowired
+    private Driver driver;
+
+    @Value("${dualwrite.queue-capacity:10000}")
+    private int queueCapacity;
+
     @Test
     @DisplayName("Generate DAG data (MySQL + Neo4j) - 10,000 nodes")
     @Order(1)
     void testGenerateDagData() {
         dagService.generateDagData();
     }
+
+    @Test
+    @DisplayName("Dual write - MySQL 커밋 후 Neo4j 비동기 복제 (1,000 nodes)")
+    @Order(2)
+    void testDualWrite() throws InterruptedException {
+        SplittableRandom rnd = new SplittableRandom(42);
+        List<DagVersionEntity> saved = new ArrayList<>();
+        long first = maxDagId() + 1;
+
+        try {
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < 1000; i++) {
+                List<Long> parents = new ArrayList<>();
+                parents.add(1 + rnd.nextLong(10000));
+                if (rnd.nextBoolean()) parents.add(1 + rnd.nextLong(10000));
+                saved.add(dualWriteService.write(new DagDualWriteService.NewVersion(
+                        "dual-write " + i, "임의 내용.. dual-write " + i, "kanguk", null, parents)));
+            }
+            long writeMillis = System.currentTimeMillis() - start;
+            System.out.println("[DualWrite] 1000 writes (MySQL commit only) time=" + writeMillis + "ms");
+
+            assertTrue(dualWriteService.awaitReplication(60_000), "neo4j replication did not catch up");
+            System.out.println("[DualWrite] caught up after " + (System.currentTimeMillis() - start) + "ms, "
+                    + dualWriteService.metrics());
+
+            DagVersionEntity last = saved.get(saved.size() - 1);
+            assertTrue(dagNeoRepo.existsById(String.valueOf(last.getId())));
+        } finally {
+            deleteDualWritten(first);
+        }
+    }
+
+    @Test
+    @DisplayName("Outbox - 체크포인트부터 Neo4j 증분 복제 (Neo4j 에서 지운 100 nodes 복구)")
+    @Order(3)
+    void testOutboxReplication() {
+        long first = maxDagId() + 1;
+        try {
+            // dual write 로 100 건 (아웃박스 행도 같은 트랜잭션) -> Neo4j 쪽만 지워서 큐 유실을 흉내
+            List<DagDualWriteService.NewVersion> versions = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                versions.add(new DagDualWriteService.NewVersion(
+                        "outbox " + i, "임의 내용.. outbox " + i, "kanguk", null, List.of(1L + i)));
+            }
+            dualWriteService.writeAll(versions);
+            assertTrue(dualWriteService.awaitReplication(60_000), "neo4j replication did not catch up");
+            long last = maxDagId();
+            deleteNeo4jRange(first, last);
+
+            long before = outboxReplicator.checkpoint();
+            long start = System.currentTimeMillis();
+            long applied = outboxReplicator.replicateAll();
+            System.out.println("[Outbox] checkpoint " + before + " -> " + outboxReplicator.checkpoint()
+                    + ", applied=" + applied + ", time=" + (System.currentTimeMillis() - start) + "ms");
+
+            assertTrue(applied >= 100);
+            for (long id = first; id <= last; id++) {
+                assertTrue(dagNeoRepo.existsById(String.valueOf(id)), "not restored: " + id);
+            }
+
+            // 다시 돌려도 체크포인트 이후 새 행이 없으면 아무것도 하지 않음
+            assertEquals(0, outboxReplicator.replicateAll());
+        } finally {
+            deleteDualWritten(first);
+        }
+    }
+
+    @Test
+    @DisplayName("Consistency - MySQL 부모 테이블 vs Neo4j PARENT_OF (머클 트리)")
+    @Order(4)
+    void testConsistency() {
+        for (GraphConsistencyChecker.Target target : GraphConsistencyChecker.Target.values()) {
+            GraphConsistencyChecker.Report report = consistencyChecker.check(target);
+            System.out.println("[Consistency] " + target + " mysqlEdges=" + report.mySqlEdges()
+                    + ", neo4jEdges=" + report.neo4jEdges() + ", mismatchedLeaves=" + report.mismatchedLeaves()
+                    + "/" + report.leaves() + ", hash=" + report.hashMillis() + "ms, drill=" + report.drillMillis() + "ms");
+            report.missingInNeo4j().stream().limit(10).forEach(e -> System.out.println("  missing in Neo4j: " + e));
+            report.missingInMySql().stream().limit(10).forEach(e -> System.out.println("  missing in MySQL: " + e));
+        }
+
+        // dual write + outbox 복제까지 끝났으므로 DAG 는 양쪽이 같아야 함
+        assertTrue(consistencyChecker.check(GraphConsistencyChecker.Target.DAG).consistent());
+    }
+
+    @Test
+    @DisplayName("Layered load - 순차(커넥션 1개) vs 계층 병렬(가상 스레드) 20,000 nodes 씩")
+    @Order(5)
+    void testLayeredLoadSpeedup() {
+        int n = 20000;
+        // MySQL 에만 쓰는 임시 구간: 끝나면 지워서 다시 돌려도 Order(4) 일관성 검사가 깨지지 않게
+        long first = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM dag_version", Long.class) + 1;
+        long last = first + 2L * n - 1;
+        try {
+            DagLayeredLoader.LoadStat sequential = layeredLoader.load(syntheticRows(first, n), 1);
+            DagLayeredLoader.LoadStat layered = layeredLoader.load(syntheticRows(first + n, n));
+
+            System.out.println("[Layered] sequential: " + sequential.loadMillis() + "ms (" + sequential.nodesPerSecond() + " nodes/s)");
+            System.out.println("[Layered] layered x" + layered.connections() + ": " + layered.loadMillis() + "ms ("
+                    + layered.nodesPerSecond() + " nodes/s), layers=" + layered.layers());
+            System.out.printf("[Layered] speedup = %.2fx%n", (double) sequential.loadMillis() / Math.max(1, layered.loadMillis()));
+        } finally {
+            deleteDagRange(first, last);
+        }
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dag_version WHERE id BETWEEN ? AND ?", Long.class, first, last));
+    }
+
+    @Test
+    @DisplayName("Dual write - queue-capacity 보다 큰 writeAll 은 바로 거절")
+    @Order(6)
+    void testDualWriteOversizedBatch() {
+        List<DagDualWriteService.NewVersion> versions = new ArrayList<>();
+        for (int i = 0; i <= queueCapacity; i++) {
+            versions.add(new DagDualWriteService.NewVersion("oversized " + i, "oversized", "kanguk", null, List.of(1L)));
+        }
+        long first = maxDagId() + 1;
+        try {
+            long start = System.currentTimeMillis();
+            assertThrows(IllegalArgumentException.class, () -> dualWriteService.writeAll(versions));
+            // 허가를 기다리지 않고 (enqueue-timeout 없이) 바로 실패, 아무것도 쓰지 않음
+            assertTrue(System.currentTimeMillis() - start < 1000);
+            assertEquals(first - 1, maxDagId());
+        } finally {
+            deleteDualWritten(first);
+        }
+    }
+
+    /** 구간 안 노드는 구간 안 노드만 부모로 가지므로 (syntheticRows) 구간만 지우면 됨 */
+    private void deleteDagRange(long first, long last) {
+        jdbcTemplate.update("DELETE FROM dag_version_closure WHERE descendant_id BETWEEN ? AND ?", first, last);
+        jdbcTemplate.update("DELETE FROM dag_version_parents WHERE child_version_id BETWEEN ? AND ?", first, last);
+        jdbcTemplate.update("DELETE FROM dag_version WHERE id BETWEEN ? AND ?", first, last);
+    }
+
+    private long maxDagId() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM dag_version", Long.class);
+    }
+
+    /**
+     * dual write 로 넣은 id >= first 행을 양쪽에서 삭제 (Neo4j 큐가 다 비운 뒤)
+     * - 부모는 모두 기존 노드(1..10000) 라서 구간 밖에서 구간 안을 가리키는 행은 없음
+     * - 아웃박스 행도 지워야 다음 OutboxReplicator 실행이 Neo4j 에 되살리지 않음
+     */
+    private void deleteDualWritten(long first) {
+        assertTrue(dualWriteService.awaitReplication(60_000), "neo4j replication did not catch up");
+        long last = maxDagId();
+        if (last < first) return;
+        jdbcTemplate.update("DELETE FROM version_outbox WHERE aggregate_type = 'DAG' AND node_id BETWEEN ? AND ?", first, last);
+        deleteDagRange(first, last);
+        deleteNeo4jRange(first, last);
+    }
+
+    private void deleteNeo4jRange(long first, long last) {
+        try (Session session = driver.session()) {
+            session.executeWrite(tx -> tx.run("""
+                    UNWIND range($first, $last) AS id
+                    MATCH (n:DagVersion {nodeId: toString(id)})
+                    DETACH DELETE n
+                    """, Map.of("first", first, "last", last)).consume());
+        }
+    }
+
+    private static List<DagBulkImportService.NodeRow> syntheticRows(long first, int n) {
+        SyntheticHistoryGenerator generator = new SyntheticHistoryGenerator(42, first, GraphShapes.uniformDag(3));
+        int[] generations = generator.computeGenerations(first + n - 1);
+        return generator.stream(first, first + n - 1, generations).map(DagVersionService::toNodeRow).toList();
+    }
 }
@@ -3,6 +3,7 @@ package com.gdbrdb.test.service;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 /**
  * 테스트 데이터(체인, 이진트리, 복합트리) 생성 테스트
@@ -18,6 +19,12 @@ public class DataGenerationTest {
     @Autowired
     private VersionService versionService;
 
+    @Autowired
+    private MySqlVersionBulkLoader bulkLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private static final int SCALE = 10000;  // 스케일
 
     /**
@@ -133,4 +140,36 @@ public class DataGenerationTest {
                 + ", memUsed=" + memoryUsed + " bytes");
     }
 
+    /**
+     * 6) 대량 적재 FK 순서 - 간선이 INSERT 한 문장(1000 행)보다 많아도
+     *    version_parents 행은 자식 versions 행이 먼저 들어간 뒤에 실행되어야 함
+     *    (임시 구간에 적재 후 삭제)
+     */
+    @Order(6)
+    @Test
+    @DisplayName("MySQL bulk load - more edges than one INSERT statement")
+    void bulkLoadForeignKeyOrderTest() {
+        int n = 2500;
+        long first = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM versions", Long.class) + 1;
+        long last = first + n - 1;
+        try {
+            // 체인 + 7 번째마다 두 번째 부모 -> 간선 약 2850 개
+            bulkLoader.load(first, last, i -> "bulk_fk_" + i, i -> {
+                if (i == first) return null;
+                return (i - first) % 7 == 0 && i - 2 >= first ? new long[]{i - 1, i - 2} : new long[]{i - 1};
+            });
+
+            long expectedEdges = (n - 1) + (n - 1) / 7;
+            Assertions.assertEquals((long) n, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM versions WHERE id BETWEEN ? AND ?", Long.class, first, last));
+            Assertions.assertEquals(expectedEdges, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM version_parents WHERE child_version_id BETWEEN ? AND ?", Long.class, first, last));
+            Assertions.assertEquals(n, jdbcTemplate.queryForObject(
+                    "SELECT MAX(generation) FROM versions WHERE id BETWEEN ? AND ?", Integer.class, first, last));
+            System.out.println("[MySQL-BULK-FK] nodes=" + n + ", edges=" + expectedEdges);
+        } finally {
+            jdbcTemplate.update("DELETE FROM version_parents WHERE child_version_id BETWEEN ? AND ?", first, last);
+            jdbcTemplate.update("DELETE FROM versions WHERE id BETWEEN ? AND ?", first, last);
+        }
+    }
 }
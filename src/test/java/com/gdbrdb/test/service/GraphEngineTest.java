@@ -0,0 +1,122 @@
+package com.gdbrdb.test.service;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Path;
+
+/**
+ * 인메모리 CSR 그래프 엔진 vs 재귀 CTE 비교.
+ * - DataGenerationTest 로 체인/이진/복합 데이터가 이미 생성되어 있다고 가정
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class GraphEngineTest {
+
+    @Autowired
+    private GraphEngineService graphEngineService;
+
+    @Autowired
+    private VersionService versionService;
+
+    @Order(1)
+    @Test
+    @DisplayName("Load version_parents into CSR")
+    void loadVersionGraphTest() {
+        long startMemory = versionService.getUsedMemory();
+        long start = System.currentTimeMillis();
+
+        graphEngineService.loadVersionGraph();
+
+        System.out.println("[GraphEngine load] time=" + (System.currentTimeMillis() - start) + "ms"
+                + ", memUsed=" + (versionService.getUsedMemory() - startMemory) + " bytes");
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Chain - Ancestors (CTE vs CSR)")
+    void compareAncestorsChainTest() {
+        long testId = 10000;
+
+        long start = System.nanoTime();
+        int cteCount = versionService.getMySQLAllAncestorIds(testId).length;
+        long cteTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int csrCount = graphEngineService.getVersionAncestorIds(testId).length;
+        long csrTime = System.nanoTime() - start;
+
+        System.out.println("[Ancestors] CTE count=" + cteCount + ", time(ns)=" + cteTime
+                + " | CSR count=" + csrCount + ", time(ns)=" + csrTime);
+        Assertions.assertEquals(cteCount, csrCount);
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Binary - Descendants / LCA (CTE vs CSR)")
+    void compareBinaryTest() {
+        long root = 10001;
+
+        long start = System.nanoTime();
+        int cteCount = versionService.getMySQLAllDescendantIds(root).length;
+        long cteTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int csrCount = graphEngineService.getVersionDescendantIds(root).length;
+        long csrTime = System.nanoTime() - start;
+
+        System.out.println("[Descendants] CTE count=" + cteCount + ", time(ns)=" + cteTime
+                + " | CSR count=" + csrCount + ", time(ns)=" + csrTime);
+        Assertions.assertEquals(cteCount, csrCount);
+
+        long idA = 11420;
+        long idB = 19753;
+        Long entityLca = versionService.getMySQLLowestCommonAncestorEntity(idA, idB).getId();
+        Long csrLca = graphEngineService.getVersionLowestCommonAncestorId(idA, idB);
+        System.out.println("[LCA] entity=" + entityLca + " | CSR=" + csrLca);
+        Assertions.assertEquals(entityLca, csrLca);
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Snapshot write -> mmap open (cold start)")
+    void snapshotColdStartTest() {
+        Path path = Path.of("build", "graph", "version-graph-test.snap");
+        int before = graphEngineService.getVersionDescendantIds(10001).length;
+
+        long start = System.currentTimeMillis();
+        graphEngineService.writeVersionSnapshot(path);
+        long writeTime = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        graphEngineService.openVersionSnapshot(path);
+        long openTime = System.currentTimeMillis() - start;
+
+        int after = graphEngineService.getVersionDescendantIds(10001).length;
+        System.out.println("[Snapshot] write=" + writeTime + "ms, open(mmap + replay)=" + openTime + "ms");
+        Assertions.assertEquals(before, after);
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("LCA - Entity intersection vs binary-lifting index")
+    void compareLcaIndexTest() {
+        versionService.rebuildLcaIndex();
+
+        long[][] pairs = { {1000, 9000}, {11420, 19753}, {21120, 29012} };
+        for (long[] pair : pairs) {
+            long start = System.nanoTime();
+            Long byEntities = versionService.getMySQLLowestCommonAncestorEntity(pair[0], pair[1]).getId();
+            long entityTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Long byIndex = versionService.getMySQLLowestCommonAncestorId(pair[0], pair[1]);
+            long indexTime = System.nanoTime() - start;
+
+            System.out.println("[LCA] (" + pair[0] + ", " + pair[1] + ") entity=" + byEntities
+                    + ", time(ns)=" + entityTime + " | index=" + byIndex + ", time(ns)=" + indexTime);
+            Assertions.assertEquals(byEntities, byIndex);
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.gdbrdb.test.service;
 
 import com.gdbrdb.test.entity.mysql.VersionEntity;
 import com.gdbrdb.test.entity.neo4j.VersionNodeNew;
+import com.gdbrdb.test.graph.DepthCursor;
+import com.gdbrdb.test.graph.TraversalPage;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
 import java.util.Random;
+import java.util.stream.Stream;
 
 /**
  * 이미 생성된 데이터를 가지고 쿼리 성능, LCA 계산, 조상조회 등
@@ -149,6 +152,135 @@ public class PerformanceComparisonTest {
         randomMultipleQueriesTestCommon(COMPLEX_START, COMPLEX_END, 10);
     }
 
+    /*
+       ------------------------------------------------------
+         4) 조회 경로 비교 (SDN 매핑 vs Driver, 스트리밍, 페이지)
+       ------------------------------------------------------
+     */
+
+    @Order(13)
+    @Test
+    @DisplayName("Binary - Neo4j descendants SDN mapping vs raw driver (10회 반복)")
+    void compareNeo4jReadPathBinaryTest() {
+        String rootId = String.valueOf(BINARY_START);
+        int repeat = 10;
+
+        // 첫 호출은 플랜 캐시 / 커넥션 준비 몫이라 제외
+        versionService.getNeo4jNewRepo().findAllDescendants(rootId);
+        versionService.getNeo4jAllDescendantIds(rootId);
+
+        long sdnTotal = 0L;
+        long rawTotal = 0L;
+        for (int i = 0; i < repeat; i++) {
+            long start = System.nanoTime();
+            int sdnCount = versionService.getNeo4jNewRepo().findAllDescendants(rootId).size();
+            long sdnTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int rawCount = versionService.getNeo4jAllDescendantIds(rootId).size();
+            long rawTime = System.nanoTime() - start;
+
+            Assertions.assertEquals(sdnCount, rawCount);
+            sdnTotal += sdnTime;
+            rawTotal += rawTime;
+            System.out.println("#" + (i + 1) + " count=" + rawCount
+                    + " | SDN=" + sdnTime / 1_000_000 + "ms | driver=" + rawTime / 1_000_000 + "ms");
+        }
+
+        System.out.println("[Summary] SDN mapping average = " + sdnTotal / repeat / 1_000_000 + "ms");
+        System.out.println("[Summary] raw driver average  = " + rawTotal / repeat / 1_000_000 + "ms");
+    }
+
+    @Order(14)
+    @Test
+    @DisplayName("Chain - Streaming descendants (전체 소비 / 앞 100개 후 조기 종료)")
+    void streamDescendantsChainTest() {
+        long rootId = CHAIN_START;
+        int expected = versionService.getMySQLAllDescendantIdsByClosure(rootId).length;
+
+        // MySQL: 전부 소비 (모으지 않고 개수만)
+        long startMem = versionService.getUsedMemory();
+        long start = System.currentTimeMillis();
+        long mysqlCount;
+        try (Stream<Long> ids = versionService.streamMySQLAllDescendantIds(rootId)) {
+            mysqlCount = ids.count();
+        }
+        System.out.println("[MySQL stream descendants] count=" + mysqlCount
+                + ", time=" + (System.currentTimeMillis() - start) + "ms, memUsed=" + (versionService.getUsedMemory() - startMem));
+        Assertions.assertEquals(expected, mysqlCount);
+
+        // MySQL: 앞 100개만 읽고 닫기 -> 서버 쿼리 취소
+        start = System.currentTimeMillis();
+        try (Stream<Long> ids = versionService.streamMySQLAllDescendantIds(rootId)) {
+            Assertions.assertEquals(100, ids.limit(100).count());
+        }
+        System.out.println("[MySQL stream descendants] first 100 + close, time=" + (System.currentTimeMillis() - start) + "ms");
+
+        // Neo4j: 전부 소비
+        startMem = versionService.getUsedMemory();
+        start = System.currentTimeMillis();
+        long neoCount;
+        try (Stream<String> ids = versionService.streamNeo4jAllDescendantIds(String.valueOf(rootId))) {
+            neoCount = ids.count();
+        }
+        System.out.println("[Neo4j stream descendants] count=" + neoCount
+                + ", time=" + (System.currentTimeMillis() - start) + "ms, memUsed=" + (versionService.getUsedMemory() - startMem));
+        Assertions.assertEquals(expected, neoCount);
+
+        // Neo4j: 앞 100개만 읽고 닫기 -> 남은 결과는 서버에서 버림
+        start = System.currentTimeMillis();
+        try (Stream<String> ids = versionService.streamNeo4jAllDescendantIds(String.valueOf(rootId))) {
+            Assertions.assertEquals(100, ids.limit(100).count());
+        }
+        System.out.println("[Neo4j stream descendants] first 100 + close, time=" + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    @Order(15)
+    @Test
+    @DisplayName("Binary - Keyset pages of descendants (MySQL vs Neo4j, 100개씩)")
+    void pageDescendantsBinaryTest() {
+        long rootId = BINARY_START;
+        int pageSize = 100;
+        int expected = versionService.getMySQLAllDescendantIdsByClosure(rootId).length;
+
+        String mysqlToken = null;
+        String neoToken = null;
+        DepthCursor last = DepthCursor.FIRST;
+        int pages = 0;
+        int total = 0;
+        long mysqlNanos = 0L;
+        long neoNanos = 0L;
+        do {
+            long start = System.nanoTime();
+            TraversalPage mysqlPage = versionService.getMySQLDescendantPage(rootId, mysqlToken, pageSize);
+            mysqlNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            TraversalPage neoPage = versionService.getNeo4jDescendantPage(String.valueOf(rootId), neoToken, pageSize);
+            neoNanos += System.nanoTime() - start;
+
+            Assertions.assertEquals(mysqlPage.rows(), neoPage.rows(), "page=" + pages);
+            for (DepthCursor row : mysqlPage.rows()) {
+                // (depth, id) 순으로 증가 -> 페이지 사이에 겹침 / 빠짐 없음
+                Assertions.assertTrue(row.depth() > last.depth()
+                        || (row.depth() == last.depth() && row.id() > last.id()), "row=" + row);
+                last = row;
+            }
+            if (pages == 0) {
+                System.out.println("[First page] MySQL=" + mysqlNanos / 1000 + "us, Neo4j=" + neoNanos / 1000 + "us");
+            }
+            total += mysqlPage.rows().size();
+            pages++;
+            mysqlToken = mysqlPage.nextPageToken();
+            neoToken = neoPage.nextPageToken();
+        } while (mysqlToken != null);
+
+        Assertions.assertNull(neoToken);
+        Assertions.assertEquals(expected, total);
+        System.out.println("[Keyset pages] root=" + rootId + ", pages=" + pages + ", rows=" + total
+                + " | MySQL total=" + mysqlNanos / 1_000_000 + "ms, Neo4j total=" + neoNanos / 1_000_000 + "ms");
+    }
+
     /*
        ------------------------------------------------------
          아래부터는 "공통 로직" 메서드들
@@ -177,6 +309,14 @@ public class PerformanceComparisonTest {
                 + ", time=" + mysqlTime + "ms, usedMem=" + mysqlMem
                 + ", ancestorsCount=" + mysqlAncestors.size());
 
+        // MySQL (ID 프로젝션: 엔티티 로딩 없이 같은 행 수)
+        long idsStartMem = versionService.getUsedMemory();
+        long idsStart = System.currentTimeMillis();
+        long[] mysqlAncestorIds = versionService.getMySQLAllAncestorIds((long) testId);
+        System.out.println("[MySQL getAllAncestorIds] node=" + testId
+                + ", time=" + (System.currentTimeMillis() - idsStart) + "ms, usedMem=" + (versionService.getUsedMemory() - idsStartMem)
+                + ", ancestorsCount=" + mysqlAncestorIds.length);
+
         // Neo4j (동일)
         long neoStartMem = versionService.getUsedMemory();
         long neoStart = System.currentTimeMillis();
@@ -191,6 +331,14 @@ public class PerformanceComparisonTest {
         System.out.println("[Neo4j getAllAncestors] node=" + testId
                 + ", time=" + neoTime + "ms, usedMem=" + neoMem
                 + ", ancestorsCount=" + neoAncestors.size());
+
+        // Neo4j (Driver 로 nodeId 만)
+        long rawStartMem = versionService.getUsedMemory();
+        long rawStart = System.currentTimeMillis();
+        List<String> neoAncestorIds = versionService.getNeo4jAllAncestorIds(String.valueOf(testId));
+        System.out.println("[Neo4j getAllAncestorIds] node=" + testId
+                + ", time=" + (System.currentTimeMillis() - rawStart) + "ms, usedMem=" + (versionService.getUsedMemory() - rawStartMem)
+                + ", ancestorsCount=" + neoAncestorIds.size());
     }
 
 
@@ -252,6 +400,14 @@ public class PerformanceComparisonTest {
                 + ", count=" + mysqlDesc.size()
                 + ", time=" + mysqlTime + "ms, memUsed=" + mysqlMem);
 
+        // MySQL (ID 프로젝션)
+        long idsStartMem = versionService.getUsedMemory();
+        long idsStart = System.currentTimeMillis();
+        long[] mysqlDescIds = versionService.getMySQLAllDescendantIds((long) startId);
+        System.out.println("[MySQL descendantIds] startNode=" + startId
+                + ", count=" + mysqlDescIds.length
+                + ", time=" + (System.currentTimeMillis() - idsStart) + "ms, memUsed=" + (versionService.getUsedMemory() - idsStartMem));
+
         // Neo4j
         long neoStartMem = versionService.getUsedMemory();
         long neoStart = System.currentTimeMillis();
@@ -266,6 +422,14 @@ public class PerformanceComparisonTest {
         System.out.println("[Neo4j descendants] startNode=" + startId
                 + ", count=" + neoDesc.size()
                 + ", time=" + neoTime + "ms, memUsed=" + neoMem);
+
+        // Neo4j (Driver 로 nodeId 만)
+        long rawStartMem = versionService.getUsedMemory();
+        long rawStart = System.currentTimeMillis();
+        List<String> neoDescIds = versionService.getNeo4jAllDescendantIds(String.valueOf(startId));
+        System.out.println("[Neo4j descendantIds] startNode=" + startId
+                + ", count=" + neoDescIds.size()
+                + ", time=" + (System.currentTimeMillis() - rawStart) + "ms, memUsed=" + (versionService.getUsedMemory() - rawStartMem));
     }
 
 
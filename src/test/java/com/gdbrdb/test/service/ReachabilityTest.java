@@ -0,0 +1,215 @@
+package com.gdbrdb.test.service;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.gdbrdb.test.entity.mysql.DagVersionEntity;
+import com.gdbrdb.test.repository.neo4j.DagVersionNodeRepository;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.summary.ProfiledPlan;
+import org.springframework.data.neo4j.repository.query.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * DAG isAncestor(a, b) 도달성 질의 비교.
+ * - DagVersionDataTest 로 1만 개 DAG 데이터가 이미 생성되어 있다고 가정
+ * - 동일한 (a, b) 쌍을 모든 방식에 던져 결과가 같은지, 시간은 얼마인지 출력
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ReachabilityTest {
+
+    @Autowired
+    private DagScenarioService scenarioService;
+
+    @Autowired
+    private DagReachabilityService reachabilityService;
+
+    @Autowired
+    private DagLabelingService labelingService;
+
+    @Autowired
+    private Driver driver;
+
+    private static final int PAIRS = 200;
+    private static final long SEED = 42L;
+
+    private static final List<long[]> pairs = new ArrayList<>();
+    private static final List<Boolean> expected = new ArrayList<>();
+
+    private static long mySqlMillis;
+    private static long neoMillis;
+
+    @BeforeAll
+    static void preparePairs() {
+        Random rand = new Random(SEED);
+        for (int i = 0; i < PAIRS; i++) {
+            long a = 1 + rand.nextInt(10000);
+            long b = 1 + rand.nextInt(10000);
+            pairs.add(new long[]{a, b});
+        }
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("MySQL isAncestor (generation pruning)")
+    void mySqlIsAncestorTest() {
+        long start = System.currentTimeMillis();
+        int positives = 0;
+        for (long[] pair : pairs) {
+            boolean r = scenarioService.isMySqlAncestor(pair[0], pair[1]);
+            expected.add(r);
+            if (r) positives++;
+        }
+        mySqlMillis = System.currentTimeMillis() - start;
+        System.out.println("[MySQL isAncestor] pairs=" + PAIRS + ", positives=" + positives
+                + ", time=" + mySqlMillis + "ms");
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Neo4j isAncestor (generation pruning)")
+    void neoIsAncestorTest() {
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < pairs.size(); i++) {
+            long[] pair = pairs.get(i);
+            boolean r = scenarioService.isNeoAncestor(String.valueOf(pair[0]), String.valueOf(pair[1]));
+            Assertions.assertEquals(expected.get(i), r, "pair " + pair[0] + " -> " + pair[1]);
+        }
+        neoMillis = System.currentTimeMillis() - start;
+        System.out.println("[Neo4j isAncestor] pairs=" + PAIRS
+                + ", time=" + neoMillis + "ms");
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Bitmap isAncestor (in-memory)")
+    void bitmapIsAncestorTest() {
+        long buildStart = System.currentTimeMillis();
+        reachabilityService.build();
+        long buildTime = System.currentTimeMillis() - buildStart;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < pairs.size(); i++) {
+            long[] pair = pairs.get(i);
+            boolean r = scenarioService.isAncestorViaBitmap(pair[0], pair[1]);
+            Assertions.assertEquals(expected.get(i), r, "pair " + pair[0] + " -> " + pair[1]);
+        }
+        System.out.println("[Bitmap isAncestor] pairs=" + PAIRS + ", build=" + buildTime
+                + "ms, time=" + (System.nanoTime() - start) / 1_000 + "us");
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Scenario A: CTE vs Bitmap AND")
+    void bitmapScenarioATest() {
+        long startId = 9999L;
+        String author = "kanguk";
+        String titlePart = "pdf";
+
+        long start = System.currentTimeMillis();
+        List<DagVersionEntity> cte = scenarioService.findMySqlAncestorsByAuthorTitle(startId, author, titlePart);
+        long cteTime = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        List<DagVersionEntity> bitmap = scenarioService.findAncestorsByAuthorTitleViaBitmap(startId, author, titlePart);
+        long bitmapTime = System.currentTimeMillis() - start;
+
+        List<Long> cteIds = cte.stream().map(DagVersionEntity::getId).distinct().sorted(Comparator.naturalOrder()).toList();
+        List<Long> bitmapIds = bitmap.stream().map(DagVersionEntity::getId).sorted(Comparator.naturalOrder()).toList();
+        Assertions.assertEquals(cteIds, bitmapIds);
+        System.out.println("[Scenario A] rows=" + bitmapIds.size()
+                + ", CTE=" + cteTime + "ms, Bitmap=" + bitmapTime + "ms");
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("2-hop labeling isAncestor + memory/query report")
+    void labelingIsAncestorTest() {
+        long buildStart = System.currentTimeMillis();
+        var labeling = labelingService.build();
+        long buildTime = System.currentTimeMillis() - buildStart;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < pairs.size(); i++) {
+            long[] pair = pairs.get(i);
+            boolean r = scenarioService.isAncestorViaLabeling(pair[0], pair[1]);
+            Assertions.assertEquals(expected.get(i), r, "pair " + pair[0] + " -> " + pair[1]);
+        }
+        long labelingMicros = (System.nanoTime() - start) / 1_000;
+
+        System.out.println("[2-hop labeling] build=" + buildTime + "ms, labels=" + labeling.labelCount()
+                + ", avgLabel=" + String.format("%.2f", labeling.averageLabelSize())
+                + ", memory=" + labeling.memoryBytes() + " bytes");
+        System.out.println("[isAncestor x" + PAIRS + "] CTE=" + mySqlMillis + "ms, Cypher=" + neoMillis
+                + "ms, 2-hop=" + labelingMicros + "us");
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Neo4j isAncestor prunes by generation (wide DAG, unrelated pair)")
+    void neoIsAncestorPruningTest() throws NoSuchMethodException {
+        // a(gen=G) 아래로 폭 W, 깊이 D 가지 / b(gen=G+2) 위로 폭 W, 길이 G+1 가지, 서로 무관
+        // 가지치기가 없으면 어느 쪽에서 확장하든 W*D 또는 W*(G+1) 개 관계를 훑음
+        int width = 40, gen = 60, depth = 60;
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        List<Map<String, Object>> edges = new ArrayList<>();
+        nodes.add(Map.of("nodeId", "prune-a", "generation", gen));
+        nodes.add(Map.of("nodeId", "prune-b", "generation", gen + 2));
+        for (int i = 0; i < width; i++) {
+            for (int k = 1; k <= depth; k++) {
+                nodes.add(Map.of("nodeId", "prune-a-" + i + "-" + k, "generation", gen + k));
+                edges.add(Map.of("p", k == 1 ? "prune-a" : "prune-a-" + i + "-" + (k - 1), "c", "prune-a-" + i + "-" + k));
+            }
+            for (int k = 1; k <= gen + 1; k++) {
+                nodes.add(Map.of("nodeId", "prune-b-" + i + "-" + k, "generation", k));
+                if (k > 1) edges.add(Map.of("p", "prune-b-" + i + "-" + (k - 1), "c", "prune-b-" + i + "-" + k));
+            }
+            edges.add(Map.of("p", "prune-b-" + i + "-" + (gen + 1), "c", "prune-b"));
+        }
+
+        String isAncestor = DagVersionNodeRepository.class
+                .getMethod("isAncestor", String.class, String.class)
+                .getAnnotation(Query.class).value();
+        try (Session session = driver.session()) {
+            session.run("UNWIND $rows AS row CREATE (:DagVersion {nodeId: row.nodeId, generation: row.generation})",
+                    Map.of("rows", nodes)).consume();
+            session.run("""
+                    UNWIND $rows AS row
+                    MATCH (p:DagVersion {nodeId: row.p}), (c:DagVersion {nodeId: row.c})
+                    CREATE (p)-[:PARENT_OF]->(c)
+                    """, Map.of("rows", edges)).consume();
+
+            Assertions.assertFalse(scenarioService.isNeoAncestor("prune-a", "prune-b"));
+            Assertions.assertTrue(scenarioService.isNeoAncestor("prune-a", "prune-a-0-" + depth));
+            Assertions.assertTrue(scenarioService.isNeoAncestor("prune-b-0-1", "prune-b"));
+
+            ProfiledPlan plan = session.run("PROFILE " + isAncestor,
+                    Map.of("ancestorId", "prune-a", "descendantId", "prune-b")).consume().profile();
+            long dbHits = dbHits(plan);
+            System.out.println("[Neo4j isAncestor pruning] dbHits=" + dbHits
+                    + ", unpruned >= " + width * Math.min(depth, gen + 1));
+            Assertions.assertTrue(dbHits < (long) width * Math.min(depth, gen + 1),
+                    "generation 범위 밖 가지까지 확장함: dbHits=" + dbHits);
+        } finally {
+            try (Session session = driver.session()) {
+                session.run("MATCH (n:DagVersion) WHERE n.nodeId STARTS WITH 'prune-' DETACH DELETE n").consume();
+            }
+        }
+    }
+
+    private static long dbHits(ProfiledPlan plan) {
+        long sum = plan.dbHits();
+        for (ProfiledPlan child : plan.children()) {
+            sum += dbHits(child);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,132 @@
+package com.gdbrdb.test.service;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+import java.util.function.LongToIntFunction;
+
+/**
+ * 리액티브 경로(ReactiveTraversalService) vs 블로킹 경로.
+ * - 이진 트리 구간(10001~20000) 데이터가 이미 생성되어 있다고 가정
+ * - 1) 결과가 블로킹 경로와 같은지, 2) 동시 요청 1000 개 처리량 비교
+ *   블로킹 = 플랫폼 스레드 200 개 풀 (톰캣 기본 max-threads), 리액티브 = flatMap 동시성 1000
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ReactiveTraversalTest {
+
+    @Autowired
+    private ReactiveTraversalService reactiveService;
+
+    @Autowired
+    private VersionService versionService;
+
+    private static final int BINARY_START = 10001;
+    private static final int BINARY_END = 20000;
+
+    private static final int REQUESTS = 1000;
+    private static final int BLOCKING_THREADS = 200;
+    private static final long SEED = 42L;
+
+    @Order(1)
+    @Test
+    @DisplayName("Reactive == Blocking (ancestors / descendants / LCA)")
+    void reactiveMatchesBlockingTest() {
+        long id = (BINARY_START + BINARY_END + 1000) / 3;
+
+        List<Long> mysqlAnc = reactiveService.mySqlAncestorIds(id).sort().collectList().block();
+        Assertions.assertEquals(sorted(versionService.getMySQLAllAncestorIdsByClosure(id)), mysqlAnc);
+
+        List<String> neoAnc = reactiveService.neo4jAncestorIds(String.valueOf(id)).sort().collectList().block();
+        Assertions.assertEquals(versionService.getNeo4jAllAncestorIds(String.valueOf(id)).stream().sorted().toList(), neoAnc);
+
+        Long mysqlLca = reactiveService.mySqlLowestCommonAncestorId(11420L, 19753L).block();
+        String neoLca = reactiveService.neo4jLowestCommonAncestorId("11420", "19753").block();
+        Assertions.assertEquals(String.valueOf(mysqlLca), neoLca);
+
+        // take(10) -> 나머지는 취소 (MySQL 쿼리 취소 / Neo4j 세션 닫힘)
+        Assertions.assertEquals(10, reactiveService.mySqlDescendantIds((long) BINARY_START).take(10).count().block());
+        Assertions.assertEquals(10, reactiveService.neo4jDescendantIds(String.valueOf(BINARY_START)).take(10).count().block());
+        System.out.println("[Reactive] ancestors=" + mysqlAnc.size() + ", LCA=" + mysqlLca);
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Neo4j ancestors - 1000 concurrent (blocking pool vs reactive)")
+    void neo4jThroughputTest() {
+        long[] ids = randomIds();
+        long blockingRows = blocking("Neo4j", ids, id -> versionService.getNeo4jAllAncestorIds(String.valueOf(id)).size());
+        long reactiveRows = reactive("Neo4j", ids, id -> reactiveService.neo4jAncestorIds(String.valueOf(id)));
+        Assertions.assertEquals(blockingRows, reactiveRows);
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("MySQL ancestors - 1000 concurrent (blocking pool vs virtual threads)")
+    void mySqlThroughputTest() {
+        long[] ids = randomIds();
+        long blockingRows = blocking("MySQL", ids, id -> versionService.getMySQLAllAncestorIdsByClosure(id).length);
+        long reactiveRows = reactive("MySQL", ids, id -> reactiveService.mySqlAncestorIds(id));
+        Assertions.assertEquals(blockingRows, reactiveRows);
+    }
+
+    private long blocking(String label, long[] ids, LongToIntFunction call) {
+        ExecutorService pool = Executors.newFixedThreadPool(BLOCKING_THREADS);
+        try {
+            long start = System.currentTimeMillis();
+            List<Future<Integer>> futures = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                futures.add(pool.submit(() -> call.applyAsInt(id)));
+            }
+            long rows = 0;
+            for (Future<Integer> f : futures) {
+                rows += f.get();
+            }
+            print(label + " blocking(" + BLOCKING_THREADS + " threads)", ids.length, rows, System.currentTimeMillis() - start);
+            return rows;
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private long reactive(String label, long[] ids, LongFunction<Flux<?>> call) {
+        long start = System.currentTimeMillis();
+        Long rows = Flux.fromStream(Arrays.stream(ids).boxed())
+                .flatMap(id -> call.apply(id).count(), ids.length)
+                .reduce(0L, Long::sum)
+                .block();
+        print(label + " reactive", ids.length, rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private static void print(String label, int requests, long rows, long millis) {
+        System.out.println("[" + label + "] requests=" + requests + ", rows=" + rows
+                + ", time=" + millis + "ms, throughput=" + requests * 1000L / Math.max(1, millis) + " req/s");
+    }
+
+    private static long[] randomIds() {
+        Random rand = new Random(SEED);
+        long[] ids = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            ids[i] = BINARY_START + rand.nextInt(BINARY_END - BINARY_START + 1);
+        }
+        return ids;
+    }
+
+    private static List<Long> sorted(long[] ids) {
+        return Arrays.stream(ids).sorted().boxed().toList();
+    }
+}